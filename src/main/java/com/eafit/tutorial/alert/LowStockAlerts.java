@@ -0,0 +1,321 @@
+package com.eafit.tutorial.alert;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Suscripciones a alertas de stock bajo enviadas por Server-Sent Events.
+ *
+ * Cada suscripción tiene un umbral y un alcance (todos los productos, una categoría o un
+ * producto). Los umbrales se guardan ordenados por alcance, de modo que para un cambio de stock
+ * de {@code a} a {@code b} basta tomar el rango de umbrales entre ambos valores: O(log n + k) y
+ * sin consultar la base de datos. Un producto cruza el umbral {@code T} hacia abajo cuando pasa
+ * de {@code stock >= T} a {@code stock < T} (el mismo criterio de {@code /low-stock}).
+ *
+ * Los eventos se publican tras el commit y cada suscripción los envía en orden desde su propia
+ * cola acotada ({@code products.alerts.max-pending}), así que un cliente lento no retrasa las
+ * escrituras ni a los demás suscriptores. Una suscripción cuya cola se llena, o cuyo envío en
+ * curso supera {@code products.alerts.send-timeout}, se cierra y el cliente debe reconectarse.
+ */
+@Component
+public class LowStockAlerts implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockAlerts.class);
+
+    private final long timeoutMillis;
+    private final int maxPending;
+    private final long sendTimeoutNanos;
+    private final Executor sender;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final NavigableMap<Integer, Set<Subscription>> allProducts = new ConcurrentSkipListMap<>();
+    private final Map<String, NavigableMap<Integer, Set<Subscription>>> byCategory = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableMap<Integer, Set<Subscription>>> byProduct = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LowStockAlerts(@Value("${products.alerts.timeout:30m}") Duration timeout,
+                          @Value("${products.alerts.max-pending:256}") int maxPending,
+                          @Value("${products.alerts.send-timeout:10s}") Duration sendTimeout) {
+        this(timeout, maxPending, sendTimeout, Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "low-stock-alerts");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    LowStockAlerts(Duration timeout, int maxPending, Duration sendTimeout, Executor sender) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("products.alerts.max-pending debe ser mayor a 0");
+        }
+        this.timeoutMillis = timeout.toMillis();
+        this.maxPending = maxPending;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.sender = sender;
+    }
+
+    /**
+     * Registra una suscripción; {@code category} y {@code productId} son excluyentes y si ambos
+     * son nulos la suscripción cubre todos los productos.
+     */
+    public SseEmitter subscribe(int threshold, String category, Long productId) {
+        return subscribe(threshold, category, productId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(int threshold, String category, Long productId, SseEmitter emitter) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("El umbral debe ser mayor a 0");
+        }
+        if (category != null && productId != null) {
+            throw new IllegalArgumentException("Indique una categoría o un producto, no ambos");
+        }
+
+        Subscription subscription = new Subscription(UUID.randomUUID().toString(), threshold,
+                category != null ? normalize(category) : null, productId, emitter, maxPending);
+
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+
+        lock.lock();
+        try {
+            subscriptions.put(subscription.id, subscription);
+            thresholdsFor(subscription, true).computeIfAbsent(threshold, t -> ConcurrentHashMap.newKeySet()).add(subscription);
+        } finally {
+            lock.unlock();
+        }
+
+        send(subscription, SseEmitter.event().name("subscribed").data(Map.of("subscriptionId", subscription.id)));
+        logger.debug("Suscripción de stock bajo {} registrada (umbral={}, categoría={}, producto={})",
+                subscription.id, threshold, category, productId);
+        return emitter;
+    }
+
+    /**
+     * Registra el cambio de stock; se evalúa tras el commit si hay una transacción activa.
+     */
+    public void record(StockChange change) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        if (change.previousStock() != null && change.previousStock() == change.currentStock() && !movedCategory(change)) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(change);
+                }
+            });
+        } else {
+            publish(change);
+        }
+    }
+
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Un cambio de categoría se evalúa como una salida de la categoría anterior, que no notifica
+     * (igual que una eliminación), y una entrada en la nueva, que notifica como un producto nuevo
+     * a los umbrales por encima del stock actual.
+     */
+    void publish(StockChange change) {
+        publish(change, allProducts, false);
+        if (change.category() != null) {
+            publish(change, byCategory.get(normalize(change.category())), movedCategory(change));
+        }
+        publish(change, byProduct.get(change.productId()), false);
+    }
+
+    private void publish(StockChange change, NavigableMap<Integer, Set<Subscription>> thresholds, boolean entering) {
+        if (thresholds == null || thresholds.isEmpty()) {
+            return;
+        }
+
+        int current = change.currentStock();
+        Integer previous = change.previousStock();
+        LowStockEvent.Type type;
+        NavigableMap<Integer, Set<Subscription>> crossed;
+
+        if (previous == null || entering) {
+            type = LowStockEvent.Type.LOW_STOCK;
+            crossed = thresholds.tailMap(current, false);
+        } else if (current < previous) {
+            type = LowStockEvent.Type.LOW_STOCK;
+            crossed = thresholds.subMap(current, false, previous, true);
+        } else {
+            type = LowStockEvent.Type.RESTOCKED;
+            crossed = thresholds.subMap(previous, false, current, true);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        crossed.forEach((threshold, subscribers) -> {
+            LowStockEvent event = new LowStockEvent(type, change.productId(), change.name(), change.category(),
+                    previous, current, threshold, now);
+            for (Subscription subscription : subscribers) {
+                send(subscription, SseEmitter.event().name(event.eventName()).data(event));
+            }
+        });
+    }
+
+    private static boolean movedCategory(StockChange change) {
+        return change.previousCategory() != null && change.category() != null
+                && !normalize(change.previousCategory()).equals(normalize(change.category()));
+    }
+
+    /**
+     * Encola el evento y, si la suscripción no está enviando, agenda el envío de su cola.
+     */
+    private void send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        long sendingSince = subscription.sendingSince;
+        if (sendingSince != 0 && System.nanoTime() - sendingSince > sendTimeoutNanos) {
+            logger.warn("Suscripción {} cerrada: el envío en curso lleva más de {} ms",
+                    subscription.id, sendTimeoutNanos / 1_000_000);
+            close(subscription);
+            return;
+        }
+        if (!subscription.pending.offer(event)) {
+            logger.warn("Suscripción {} cerrada: superó {} eventos pendientes", subscription.id, maxPending);
+            close(subscription);
+            return;
+        }
+        if (subscription.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscription.pending.poll()) != null) {
+                subscription.sendingSince = System.nanoTime();
+                try {
+                    subscription.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Suscripción {} cerrada por el cliente", subscription.id);
+                    unsubscribe(subscription);
+                    subscription.pending.clear();
+                    return;
+                } finally {
+                    subscription.sendingSince = 0;
+                }
+            }
+            subscription.draining.set(false);
+            // Un evento pudo encolarse después del último poll y antes de liberar la marca
+        } while (!subscription.pending.isEmpty() && subscription.draining.compareAndSet(false, true));
+    }
+
+    /**
+     * Cierra la suscripción desde el servidor. El emisor se completa en otro hilo porque espera a
+     * que termine el envío en curso, que puede estar bloqueado.
+     */
+    private void close(Subscription subscription) {
+        unsubscribe(subscription);
+        subscription.pending.clear();
+        sender.execute(subscription.emitter::complete);
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        lock.lock();
+        try {
+            if (subscriptions.remove(subscription.id) == null) {
+                return;
+            }
+            NavigableMap<Integer, Set<Subscription>> thresholds = thresholdsFor(subscription, false);
+            Set<Subscription> subscribers = thresholds != null ? thresholds.get(subscription.threshold) : null;
+            if (subscribers != null) {
+                subscribers.remove(subscription);
+                if (subscribers.isEmpty()) {
+                    thresholds.remove(subscription.threshold);
+                }
+            }
+            if (thresholds != null && thresholds.isEmpty()) {
+                if (subscription.category != null) {
+                    byCategory.remove(subscription.category);
+                } else if (subscription.productId != null) {
+                    byProduct.remove(subscription.productId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        logger.debug("Suscripción de stock bajo {} eliminada", subscription.id);
+    }
+
+    private NavigableMap<Integer, Set<Subscription>> thresholdsFor(Subscription subscription, boolean create) {
+        if (subscription.category != null) {
+            return create
+                    ? byCategory.computeIfAbsent(subscription.category, c -> new ConcurrentSkipListMap<>())
+                    : byCategory.get(subscription.category);
+        }
+        if (subscription.productId != null) {
+            return create
+                    ? byProduct.computeIfAbsent(subscription.productId, p -> new ConcurrentSkipListMap<>())
+                    : byProduct.get(subscription.productId);
+        }
+        return allProducts;
+    }
+
+    private static String normalize(String category) {
+        return category.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void destroy() {
+        subscriptions.values().forEach(subscription -> subscription.emitter.complete());
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    private static final class Subscription {
+        private final String id;
+        private final int threshold;
+        private final String category;
+        private final Long productId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() al empezar el envío en curso; 0 si no hay ninguno
+        private volatile long sendingSince;
+
+        private Subscription(String id, int threshold, String category, Long productId, SseEmitter emitter,
+                             int maxPending) {
+            this.id = id;
+            this.threshold = threshold;
+            this.category = category;
+            this.productId = productId;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(maxPending);
+        }
+    }
+}
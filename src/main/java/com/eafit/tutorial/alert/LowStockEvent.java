@@ -0,0 +1,28 @@
+package com.eafit.tutorial.alert;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento enviado a un suscriptor cuando el stock de un producto cruza su umbral.
+ */
+public record LowStockEvent(
+        Type type,
+        Long productId,
+        String name,
+        String category,
+        Integer previousStock,
+        int currentStock,
+        int threshold,
+        LocalDateTime timestamp) {
+
+    public enum Type {
+        /** El stock quedó por debajo del umbral. */
+        LOW_STOCK,
+        /** El stock volvió a alcanzar el umbral. */
+        RESTOCKED
+    }
+
+    String eventName() {
+        return type == Type.LOW_STOCK ? "low-stock" : "restocked";
+    }
+}
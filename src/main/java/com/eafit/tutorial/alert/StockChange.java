@@ -0,0 +1,25 @@
+package com.eafit.tutorial.alert;
+
+import com.eafit.tutorial.model.Product;
+
+/**
+ * Cambio de stock de un producto; {@code previousStock} es nulo cuando el producto es nuevo.
+ * {@code previousCategory} es la categoría antes del cambio (nula si el producto es nuevo); si
+ * difiere de {@code category}, el producto salió de una categoría y entró en otra.
+ */
+public record StockChange(Long productId, String name, String category, String previousCategory,
+                          Integer previousStock, int currentStock) {
+
+    public static StockChange created(Product product) {
+        return new StockChange(product.getId(), product.getName(), product.getCategory(), null, null, product.getStock());
+    }
+
+    public static StockChange of(Product product, int previousStock) {
+        return of(product, product.getCategory(), previousStock);
+    }
+
+    public static StockChange of(Product product, String previousCategory, int previousStock) {
+        return new StockChange(product.getId(), product.getName(), product.getCategory(), previousCategory,
+                previousStock, product.getStock());
+    }
+}
@@ -0,0 +1,270 @@
+package com.eafit.tutorial.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eafit.tutorial.model.Product;
+
+/**
+ * Caché en memoria, acotada por tamaño (LRU) y por TTL, de productos activos indexados por ID.
+ *
+ * Guarda copias de las entidades para que ningún llamador pueda modificar la versión cacheada.
+ * Las escrituras invalidan la entrada de inmediato y de nuevo al terminar la transacción, de
+ * modo que una lectura concurrente no pueda volver a cachear el estado previo al commit.
+ */
+@Component
+public class ProductCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCache.class);
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+
+    // ReentrantLock y no synchronized: un hilo virtual que espera un monitor bloquea su hilo
+    // portador (JDK 21), mientras que esperando un Lock se desmonta.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Entry> entries;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public ProductCache(@Value("${products.cache.enabled:true}") boolean enabled,
+                        @Value("${products.cache.max-size:1000}") int maxSize,
+                        @Value("${products.cache.ttl:5m}") Duration ttl) {
+        this(enabled, maxSize, ttl, System::nanoTime);
+    }
+
+    ProductCache(boolean enabled, int maxSize, Duration ttl, LongSupplier ticker) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("El tamaño máximo de la caché debe ser mayor a 0");
+        }
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        logger.info("Caché de productos {} (maxSize={}, ttl={})", enabled ? "habilitada" : "deshabilitada", maxSize, ttl);
+    }
+
+    public static ProductCache disabled() {
+        return new ProductCache(false, 1, Duration.ZERO, System::nanoTime);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Lectura read-through: si el ID no está cacheado lo resuelve con {@code loader} y cachea el
+     * resultado, salvo que una invalidación haya ocurrido mientras se consultaba la base de datos.
+     */
+    public Optional<Product> getOrLoad(Long id, Function<Long, Optional<Product>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+
+        Optional<Product> cached = get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long stamp;
+        lock.lock();
+        try {
+            stamp = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        Optional<Product> loaded = loader.apply(id);
+        loaded.ifPresent(product -> put(product, stamp));
+        return loaded;
+    }
+
+    /**
+     * Versión por lotes de {@link #getOrLoad}: toma de la caché los IDs que estén y resuelve el
+     * resto con una sola llamada a {@code loader}. El mapa resultante no incluye los IDs que no
+     * se encontraron.
+     */
+    public Map<Long, Product> getOrLoadAll(Collection<Long> ids, Function<List<Long>, List<Product>> loader) {
+        Map<Long, Product> found = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (found.containsKey(id) || missing.contains(id)) {
+                continue;
+            }
+            get(id).ifPresentOrElse(product -> found.put(id, product), () -> missing.add(id));
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        long stamp;
+        lock.lock();
+        try {
+            stamp = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        for (Product product : loader.apply(new ArrayList<>(missing))) {
+            found.put(product.getId(), product);
+            put(product, stamp);
+        }
+        return found;
+    }
+
+    public Optional<Product> get(Long id) {
+        if (!enabled || id == null) {
+            return Optional.empty();
+        }
+
+        Product cached = null;
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                if (ticker.getAsLong() - entry.expiresAt >= 0) {
+                    entries.remove(id);
+                    evictions.increment();
+                } else {
+                    cached = entry.product;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (cached == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(copyOf(cached));
+    }
+
+    private void put(Product product, long stamp) {
+        if (!enabled || product == null || product.getId() == null || !Boolean.TRUE.equals(product.getActive())) {
+            return;
+        }
+
+        Entry entry = new Entry(copyOf(product), ticker.getAsLong() + ttlNanos);
+        lock.lock();
+        try {
+            if (stamp != generation) {
+                return;
+            }
+            entries.put(product.getId(), entry);
+            if (entries.size() > maxSize) {
+                Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Invalida la entrada ahora y, si hay una transacción activa, otra vez tras su finalización.
+     */
+    public void evict(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+
+        remove(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(id);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private void remove(Long id) {
+        lock.lock();
+        try {
+            generation++;
+            entries.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Product copyOf(Product source) {
+        Product copy = new Product(source.getName(), source.getDescription(), source.getPrice(),
+                source.getCategory(), source.getStock());
+        copy.setId(source.getId());
+        copy.setActive(source.getActive());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+
+    private static final class Entry {
+        private final Product product;
+        private final long expiresAt;
+
+        private Entry(Product product, long expiresAt) {
+            this.product = product;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public record Stats(long hits, long misses, long evictions, int size) {}
+}
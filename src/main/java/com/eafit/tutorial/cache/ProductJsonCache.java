@@ -0,0 +1,180 @@
+package com.eafit.tutorial.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.util.ProductMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Caché LRU del {@code ProductDTO} ya serializado a JSON (UTF-8), por ID de producto.
+ *
+ * Cada entrada recuerda la versión y el {@code updatedAt} con los que se serializó; si el
+ * producto leído no coincide, se vuelve a serializar, así que no hace falta invalidarla desde
+ * las escrituras. {@link #successResponse} arma el sobre de {@code ApiResponse} alrededor de
+ * esos bytes sin volver a pasar el producto por Jackson.
+ */
+@Component
+public class ProductJsonCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductJsonCache.class);
+
+    // Mismo patrón que @JsonFormat de ApiResponse.timestamp
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final byte[] SUCCESS_PREFIX = "{\"success\":true,\"message\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATA_FIELD = ",\"data\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TIMESTAMP_FIELD = ",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] STATUS_OK_SUFFIX = "\",\"statusCode\":200}".getBytes(StandardCharsets.UTF_8);
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final ObjectMapper objectMapper;
+    private final ProductMapper productMapper;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Entry> entries;
+    private final Map<String, byte[]> encodedMessages = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public ProductJsonCache(@Value("${products.json-cache.enabled:true}") boolean enabled,
+                            @Value("${products.json-cache.max-size:1000}") int maxSize,
+                            ObjectMapper objectMapper,
+                            ProductMapper productMapper) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("El tamaño máximo de la caché JSON debe ser mayor a 0");
+        }
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.objectMapper = objectMapper;
+        this.productMapper = productMapper;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        logger.info("Caché JSON de productos {} (maxSize={})", enabled ? "habilitada" : "deshabilitada", maxSize);
+    }
+
+    /**
+     * JSON del {@code ProductDTO} de {@code product}. El arreglo devuelto es compartido y no
+     * debe modificarse.
+     */
+    public byte[] getOrSerialize(Product product) {
+        if (!enabled || product.getId() == null) {
+            return serialize(product);
+        }
+
+        Long id = product.getId();
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry != null && entry.matches(product)) {
+                hits.increment();
+                return entry.json;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        byte[] json = serialize(product);
+        Entry entry = new Entry(product.getVersion(), product.getUpdatedAt(), json);
+
+        lock.lock();
+        try {
+            entries.put(id, entry);
+            if (entries.size() > maxSize) {
+                Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return json;
+    }
+
+    /**
+     * Cuerpo completo de {@code ApiResponse.success(productDTO, message)}, byte a byte igual al
+     * que produciría Jackson, con el producto tomado de la caché.
+     */
+    public byte[] successResponse(Product product, String message) {
+        byte[] data = getOrSerialize(product);
+        byte[] encodedMessage = encodedMessages.computeIfAbsent(message, this::encode);
+        byte[] timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT).getBytes(StandardCharsets.US_ASCII);
+
+        byte[] body = new byte[SUCCESS_PREFIX.length + encodedMessage.length + DATA_FIELD.length + data.length
+                + TIMESTAMP_FIELD.length + timestamp.length + STATUS_OK_SUFFIX.length];
+        int offset = 0;
+        offset = append(body, offset, SUCCESS_PREFIX);
+        offset = append(body, offset, encodedMessage);
+        offset = append(body, offset, DATA_FIELD);
+        offset = append(body, offset, data);
+        offset = append(body, offset, TIMESTAMP_FIELD);
+        offset = append(body, offset, timestamp);
+        append(body, offset, STATUS_OK_SUFFIX);
+        return body;
+    }
+
+    public Stats getStats() {
+        int size;
+        lock.lock();
+        try {
+            size = entries.size();
+        } finally {
+            lock.unlock();
+        }
+        return new Stats(hits.sum(), misses.sum(), size);
+    }
+
+    private byte[] serialize(Product product) {
+        return encode(productMapper.toDTO(product));
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta", e);
+        }
+    }
+
+    private static int append(byte[] target, int offset, byte[] source) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
+
+    private static final class Entry {
+        private final Long version;
+        private final LocalDateTime updatedAt;
+        private final byte[] json;
+
+        private Entry(Long version, LocalDateTime updatedAt, byte[] json) {
+            this.version = version;
+            this.updatedAt = updatedAt;
+            this.json = json;
+        }
+
+        private boolean matches(Product product) {
+            return Objects.equals(version, product.getVersion()) && Objects.equals(updatedAt, product.getUpdatedAt());
+        }
+    }
+
+    public record Stats(long hits, long misses, int size) {}
+}
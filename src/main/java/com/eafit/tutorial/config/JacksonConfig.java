@@ -0,0 +1,19 @@
+package com.eafit.tutorial.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.eafit.tutorial.json.ProductJsonModule;
+import com.fasterxml.jackson.databind.Module;
+
+/**
+ * Spring Boot registra en el {@code ObjectMapper} de la aplicación todo bean {@link Module}.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module productJsonModule() {
+        return new ProductJsonModule();
+    }
+}
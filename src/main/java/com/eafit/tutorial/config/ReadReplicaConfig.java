@@ -0,0 +1,96 @@
+package com.eafit.tutorial.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.eafit.tutorial.datasource.ReadYourWrites;
+import com.eafit.tutorial.datasource.ReplicaRoutingDataSource;
+import com.eafit.tutorial.datasource.ReplicaSelection;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Réplicas de lectura: con {@code products.datasource.read-replicas.enabled=true} el
+ * {@code DataSource} de la aplicación pasa a ser un {@link ReplicaRoutingDataSource} sobre el
+ * primario de {@code spring.datasource} y las URLs de {@code read-replicas.urls}.
+ *
+ * El pool del primario toma {@code spring.datasource.hikari.*}, igual que sin réplicas; los de
+ * las réplicas comparten {@code products.datasource.read-replicas.hikari.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "products.datasource.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    public ReadYourWrites readYourWrites(
+            @Value("${products.datasource.read-replicas.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWrites(window);
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryProperties) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // Nombre por defecto; spring.datasource.hikari.pool-name lo reemplaza al enlazar
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    @ConfigurationProperties("products.datasource.read-replicas.hikari")
+    public HikariConfig replicaPoolConfig() {
+        return new HikariConfig();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            HikariConfig replicaPoolConfig,
+            ReadYourWrites readYourWrites,
+            @Value("${products.datasource.read-replicas.urls}") List<String> urls,
+            @Value("${products.datasource.read-replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${products.datasource.read-replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${products.datasource.read-replicas.selection:ROUND_ROBIN}") ReplicaSelection selection,
+            @Value("${products.datasource.read-replicas.health-check-timeout:PT2S}") Duration healthCheckTimeout) {
+
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replicaPoolConfig.copyStateTo(replica);
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            // Una réplica caída no impide arrancar; el chequeo de salud la habilita cuando responda
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        logger.info("Enrutamiento de lecturas habilitado: {} réplicas, selección {}", replicas.size(), selection);
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, selection, readYourWrites,
+            (int) Math.max(1, healthCheckTimeout.toSeconds()));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
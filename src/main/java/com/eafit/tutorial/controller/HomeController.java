@@ -3,6 +3,10 @@ package com.eafit.tutorial.controller;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,6 +17,9 @@ import org.springframework.web.servlet.view.RedirectView;
 @RequestMapping("/")
 public class HomeController {
 
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
     @GetMapping
     public RedirectView home() {
         return new RedirectView("/swagger-ui.html");
@@ -31,17 +38,28 @@ public class HomeController {
         endpoints.put("swagger", "/swagger-ui.html");
         endpoints.put("api-docs", "/v3/api-docs");
         endpoints.put("h2-console", "/h2-console");
+        endpoints.put("health", "/actuator/health");
+        endpoints.put("metrics", "/actuator/prometheus");
         
         info.put("endpoints", endpoints);
         
         return ResponseEntity.ok(info);
     }
 
+    /**
+     * Estado agregado de los indicadores de salud de Actuator (base de datos, disco, etc.).
+     * Responde 503 cuando alguno no está UP, para que los balanceadores retiren la instancia.
+     */
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
+        Status status = healthEndpoint.health().getStatus();
+
         Map<String, String> health = new HashMap<>();
-        health.put("status", "UP");
+        health.put("status", status.getCode());
         health.put("application", "Products API");
-        return ResponseEntity.ok(health);
+        health.put("metrics", "/actuator/prometheus");
+
+        HttpStatus httpStatus = Status.UP.equals(status) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(httpStatus).body(health);
     }
 }
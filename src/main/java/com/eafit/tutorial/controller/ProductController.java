@@ -1,17 +1,23 @@
 package com.eafit.tutorial.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -22,16 +28,38 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.eafit.tutorial.alert.LowStockAlerts;
+import com.eafit.tutorial.cache.ProductJsonCache;
+import com.eafit.tutorial.dto.BatchCreateResponse;
+import com.eafit.tutorial.dto.CategoryStatsDTO;
 import com.eafit.tutorial.dto.CreateProductDTO;
+import com.eafit.tutorial.dto.CursorPagedResponse;
 import com.eafit.tutorial.dto.PagedResponse;
+import com.eafit.tutorial.dto.PartialProductDTO;
 import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.dto.ProductField;
+import com.eafit.tutorial.dto.ProductLookupResponse;
+import com.eafit.tutorial.metrics.ProductMetrics;
 import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.service.BatchCreateResult;
 import com.eafit.tutorial.service.ProductService;
+import com.eafit.tutorial.snapshot.CatalogSnapshot;
+import com.eafit.tutorial.stats.CategoryStats;
+import com.eafit.tutorial.util.ETags;
+import com.eafit.tutorial.util.ProductCursor;
 import com.eafit.tutorial.util.ProductMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,6 +67,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
 @RestController
@@ -50,15 +79,37 @@ public class ProductController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_LOOKUP_SIZE = 10000;
+    private static final int MAX_PRICE_RANGE_LIMIT = 1000;
+
     @Autowired
     private ProductService productService;
 
     @Autowired
     private ProductMapper productMapper;
 
+    @Autowired
+    private ProductJsonCache productJsonCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductMetrics productMetrics;
+
+    @Autowired
+    private LowStockAlerts lowStockAlerts;
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
     @Operation(
         summary = "Obtener productos",
-        description = "Obtiene todos los productos activos con paginación opcional y ordenamiento"
+        description = "Obtiene todos los productos activos con paginación opcional y ordenamiento. " +
+                      "Con cursor=true o un token 'after' usa paginación por keyset (sin conteo total). " +
+                      "Con fields=... solo se consultan y devuelven esos campos"
     )
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Lista de productos obtenida exitosamente"),
@@ -80,17 +131,61 @@ public class ProductController {
             @RequestParam(value = "direction", defaultValue = "asc") String sortDirection,
 
             @Parameter(description = "Si es true, retorna lista simple sin paginación")
-            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged) {
+            @RequestParam(value = "unpaged", defaultValue = "false") boolean unpaged,
+
+            @Parameter(description = "Si es true, usa paginación por cursor en lugar de offset")
+            @RequestParam(value = "cursor", defaultValue = "false") boolean cursor,
 
-        logger.debug("GET /api/v1/products - page: {}, size: {}, sort: {}, direction: {}, unpaged: {}",
-                    page, size, sortField, sortDirection, unpaged);
+            @Parameter(description = "Cursor opaco devuelto como 'nextCursor' por la página anterior")
+            @RequestParam(value = "after", required = false) String after,
+
+            @Parameter(description = "Campos a incluir, separados por coma (el id se incluye siempre)", example = "name,price")
+            @RequestParam(value = "fields", required = false) String fields,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        logger.debug("GET /api/v1/products - page: {}, size: {}, sort: {}, direction: {}, unpaged: {}, cursor: {}, fields: {}",
+                    page, size, sortField, sortDirection, unpaged, cursor || after != null, fields);
 
         try {
-            if (unpaged) {
-                List<Product> products = productService.getAllProducts();
-                List<ProductDTO> productDTOs = productMapper.toDTOList(products);
+            Set<ProductField> fieldSet = fields != null ? ProductField.parse(fields) : null;
 
-                return ResponseEntity.ok(
+            String etag = ETags.forCatalog(productService.getCatalogVersion());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+
+            if (cursor || after != null) {
+                if (fieldSet != null) {
+                    throw new IllegalArgumentException("El parámetro 'fields' no se admite con paginación por cursor");
+                }
+                ProductCursor afterCursor = after != null ? ProductCursor.decode(after) : null;
+                String keysetField = afterCursor != null ? afterCursor.getSortField() : sortField;
+                Sort.Direction direction = afterCursor != null ? afterCursor.getDirection()
+                    : sortDirection.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+                Slice<Product> productSlice = productService.getAllProducts(afterCursor, keysetField, direction, size);
+
+                String nextCursor = null;
+                if (productSlice.hasContent()) {
+                    Product last = productSlice.getContent().get(productSlice.getNumberOfElements() - 1);
+                    nextCursor = ProductCursor.after(last, keysetField, direction).encode();
+                }
+
+                CursorPagedResponse<ProductDTO> cursorResponse =
+                    CursorPagedResponse.of(productSlice.map(productMapper::toDTO), nextCursor);
+
+                return ResponseEntity.ok().eTag(etag).body(
+                    com.eafit.tutorial.dto.ApiResponse.success(cursorResponse,
+                        "Productos paginados obtenidos exitosamente")
+                );
+            } else if (unpaged) {
+                List<?> productDTOs = fieldSet != null
+                    ? productMapper.toPartialDTOList(productService.getAllProducts(fieldSet), fieldSet)
+                    : productMapper.toDTOList(productService.getAllProducts());
+
+                return ResponseEntity.ok().eTag(etag).body(
                     com.eafit.tutorial.dto.ApiResponse.success(productDTOs,
                         "Productos obtenidos exitosamente")
                 );
@@ -99,16 +194,22 @@ public class ProductController {
                     ? Sort.Direction.DESC : Sort.Direction.ASC;
                 Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortField));
 
-                Page<Product> productPage = productService.getAllProducts(pageable);
-                Page<ProductDTO> productDTOPage = productPage.map(productMapper::toDTO);
-
-                PagedResponse<ProductDTO> pagedResponse = PagedResponse.of(productDTOPage);
+                PagedResponse<?> pagedResponse = fieldSet != null
+                    ? PagedResponse.of(productService.getAllProducts(pageable, fieldSet)
+                        .map(product -> new PartialProductDTO(product, fieldSet)))
+                    : PagedResponse.of(productService.getAllProducts(pageable).map(productMapper::toDTO));
 
-                return ResponseEntity.ok(
+                return ResponseEntity.ok().eTag(etag).body(
                     com.eafit.tutorial.dto.ApiResponse.success(pagedResponse,
                         "Productos paginados obtenidos exitosamente")
                 );
             }
+        } catch (IllegalArgumentException e) {
+            productMetrics.validationFailure("getAllProducts");
+            logger.warn("Parámetros de paginación inválidos: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(com.eafit.tutorial.dto.ApiResponse.error(e.getMessage(), 400));
+
         } catch (Exception e) {
             logger.error("Error al obtener productos", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -116,6 +217,64 @@ public class ProductController {
         }
     }
 
+    @Operation(
+        summary = "Exportar productos (NDJSON)",
+        description = "Exporta todos los productos activos en streaming, un objeto JSON por línea. " +
+                      "La memoria usada es constante sin importar el tamaño del catálogo"
+    )
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProductsAsNdjson() {
+        logger.debug("GET /api/v1/products/export - formato: ndjson");
+
+        ObjectWriter writer = exportWriter().withRootValueSeparator("\n");
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+            .body(outputStream -> {
+                try (SequenceWriter sequence = writer.writeValues(outputStream)) {
+                    if (writeProducts(sequence) > 0) {
+                        outputStream.write('\n');
+                    }
+                }
+            });
+    }
+
+    @Operation(
+        summary = "Exportar productos (arreglo JSON)",
+        description = "Exporta todos los productos activos como un arreglo JSON enviado por fragmentos"
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProductsAsJsonArray() {
+        logger.debug("GET /api/v1/products/export - formato: json");
+
+        ObjectWriter writer = exportWriter();
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(outputStream -> {
+                try (SequenceWriter sequence = writer.writeValuesAsArray(outputStream)) {
+                    writeProducts(sequence);
+                }
+            });
+    }
+
+    private ObjectWriter exportWriter() {
+        return objectMapper.writerFor(ProductDTO.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private long writeProducts(SequenceWriter sequence) throws IOException {
+        long written = productService.streamAllProducts(product -> {
+            try {
+                sequence.write(productMapper.toDTO(product));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        sequence.flush();
+        logger.debug("Exportación enviada: {} productos", written);
+        return written;
+    }
+
     @Operation(
         summary = "Obtener producto por ID",
         description = "Obtiene un producto específico por su identificador único"
@@ -126,22 +285,36 @@ public class ProductController {
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<ProductDTO>> getProductById(
+    public ResponseEntity<?> getProductById(
             @Parameter(description = "ID del producto", example = "1", required = true)
-            @PathVariable @Min(1) Long id) {
+            @PathVariable @Min(1) Long id,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         logger.debug("GET /api/v1/products/{}", id);
 
         try {
+            if (ifNoneMatch != null) {
+                Optional<LocalDateTime> lastModified = productService.getProductLastModified(id);
+                if (lastModified.isPresent()) {
+                    String etag = ETags.forProduct(id, lastModified.get());
+                    if (ETags.matches(ifNoneMatch, etag)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                    }
+                }
+            }
+
             Optional<Product> product = productService.getProductById(id);
 
             if (product.isPresent()) {
-                ProductDTO productDTO = productMapper.toDTO(product.get());
-                return ResponseEntity.ok(
-                    com.eafit.tutorial.dto.ApiResponse.success(productDTO,
-                        "Producto encontrado exitosamente")
-                );
+                // El sobre ApiResponse se arma alrededor del DTO ya serializado en caché
+                return ResponseEntity.ok()
+                    .eTag(ETags.forProduct(product.get()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(productJsonCache.successResponse(product.get(), "Producto encontrado exitosamente"));
             } else {
+                productMetrics.notFound("getProductById");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(com.eafit.tutorial.dto.ApiResponse.error(
                         "Producto no encontrado con ID: " + id, 404));
@@ -153,6 +326,61 @@ public class ProductController {
         }
     }
 
+    @Operation(
+        summary = "Obtener varios productos por ID",
+        description = "Resuelve una lista de IDs separados por coma en una sola petición. " +
+                      "La respuesta conserva el orden de la petición y marca los IDs inexistentes como NOT_FOUND"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Búsqueda realizada"),
+        @ApiResponse(responseCode = "400", description = "Lista vacía, demasiado grande o con IDs inválidos"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<ProductLookupResponse>> getProductsByIds(
+            @Parameter(description = "IDs de los productos, separados por coma", example = "1,2,3", required = true)
+            @RequestParam("ids") List<Long> ids) {
+
+        logger.debug("GET /api/v1/products?ids - items: {}", ids.size());
+        return lookup(ids, "getProductsByIds");
+    }
+
+    @Operation(
+        summary = "Buscar varios productos por ID",
+        description = "Igual que GET /api/v1/products?ids=..., con los IDs en el cuerpo para listas largas"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Búsqueda realizada"),
+        @ApiResponse(responseCode = "400", description = "Lista vacía, demasiado grande o con IDs inválidos"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PostMapping("/lookup")
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<ProductLookupResponse>> lookupProducts(
+            @Parameter(description = "IDs de los productos", required = true)
+            @RequestBody List<Long> ids) {
+
+        logger.debug("POST /api/v1/products/lookup - items: {}", ids.size());
+        return lookup(ids, "lookupProducts");
+    }
+
+    private ResponseEntity<com.eafit.tutorial.dto.ApiResponse<ProductLookupResponse>> lookup(List<Long> ids, String operation) {
+        if (ids.isEmpty() || ids.size() > MAX_LOOKUP_SIZE) {
+            productMetrics.validationFailure(operation);
+            return ResponseEntity.badRequest()
+                .body(com.eafit.tutorial.dto.ApiResponse.error(
+                    "La búsqueda debe contener entre 1 y " + MAX_LOOKUP_SIZE + " IDs", 400));
+        }
+        if (ids.stream().anyMatch(id -> id == null || id < 1)) {
+            productMetrics.validationFailure(operation);
+            return ResponseEntity.badRequest()
+                .body(com.eafit.tutorial.dto.ApiResponse.error("Los IDs deben ser números mayores a 0", 400));
+        }
+
+        ProductLookupResponse response = productMapper.toLookupResponse(ids, productService.getProductsByIds(ids));
+        return ResponseEntity.ok(com.eafit.tutorial.dto.ApiResponse.success(response,
+            String.format("Productos encontrados: %d de %d", response.getFound(), ids.size())));
+    }
+
     @Operation(
         summary = "Crear producto",
         description = "Crea un nuevo producto en el sistema"
@@ -170,26 +398,52 @@ public class ProductController {
 
         logger.debug("POST /api/v1/products - name: {}", createProductDTO.getName());
 
-        try {
-            Product product = productMapper.toEntity(createProductDTO);
-            Product savedProduct = productService.createProduct(product);
-            ProductDTO productDTO = productMapper.toDTO(savedProduct);
+        Product product = productMapper.toEntity(createProductDTO);
+        Product savedProduct = productService.createProduct(product);
+        ProductDTO productDTO = productMapper.toDTO(savedProduct);
 
-            return ResponseEntity.status(HttpStatus.CREATED)
-                .body(com.eafit.tutorial.dto.ApiResponse.success(productDTO,
-                    "Producto creado exitosamente"));
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(com.eafit.tutorial.dto.ApiResponse.success(productDTO,
+                "Producto creado exitosamente"));
+    }
 
-        } catch (Exception e) {
-            logger.error("Error al crear producto", e);
+    @Operation(
+        summary = "Crear productos en lote",
+        description = "Crea varios productos en una sola petición e informa el resultado de cada elemento. " +
+                      "Los elementos inválidos o duplicados se rechazan sin afectar a los demás"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "201", description = "Todos los productos fueron creados"),
+        @ApiResponse(responseCode = "207", description = "Algunos elementos fueron rechazados"),
+        @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande"),
+        @ApiResponse(responseCode = "409", description = "Un nombre del lote fue creado por otra petición al mismo tiempo"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<BatchCreateResponse>> createProducts(
+            @Parameter(description = "Lista de productos a crear", required = true)
+            @RequestBody List<CreateProductDTO> createProductDTOs) {
 
-            if (e.getMessage().contains("Ya existe")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(com.eafit.tutorial.dto.ApiResponse.error(e.getMessage(), 409));
-            }
+        logger.debug("POST /api/v1/products/batch - items: {}", createProductDTOs.size());
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(com.eafit.tutorial.dto.ApiResponse.error("Error interno del servidor"));
+        if (createProductDTOs.isEmpty() || createProductDTOs.size() > MAX_BATCH_SIZE) {
+            productMetrics.validationFailure("createProducts");
+            return ResponseEntity.badRequest()
+                .body(com.eafit.tutorial.dto.ApiResponse.error(
+                    "El lote debe contener entre 1 y " + MAX_BATCH_SIZE + " productos", 400));
         }
+
+        BatchCreateResult result = productService.createProducts(productMapper.toEntityList(createProductDTOs));
+        BatchCreateResponse response = productMapper.toBatchResponse(result);
+        productMetrics.validationFailures("createProducts", result.count(BatchCreateResult.Status.INVALID));
+        productMetrics.conflicts("createProducts", ProductMetrics.DUPLICATE_NAME,
+            result.count(BatchCreateResult.Status.DUPLICATE));
+
+        HttpStatus status = result.getFailedCount() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status)
+            .body(com.eafit.tutorial.dto.ApiResponse.success(response,
+                String.format("Lote procesado: %d creados, %d rechazados",
+                    result.getCreatedCount(), result.getFailedCount())));
     }
 
     @Operation(
@@ -213,29 +467,13 @@ public class ProductController {
 
         logger.debug("PUT /api/v1/products/{} - name: {}", id, updateProductDTO.getName());
 
-        try {
-            Product product = productMapper.toEntity(updateProductDTO);
-            Product updatedProduct = productService.updateProduct(id, product);
-            ProductDTO productDTO = productMapper.toDTO(updatedProduct);
-
-            return ResponseEntity.ok(
-                com.eafit.tutorial.dto.ApiResponse.success(productDTO,
-                    "Producto actualizado exitosamente"));
-
-        } catch (Exception e) {
-            logger.error("Error al actualizar producto con ID: {}", id, e);
-
-            if (e.getMessage().contains("no encontrado")) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(com.eafit.tutorial.dto.ApiResponse.error(e.getMessage(), 404));
-            } else if (e.getMessage().contains("Ya existe")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
-                    .body(com.eafit.tutorial.dto.ApiResponse.error(e.getMessage(), 409));
-            }
+        Product product = productMapper.toEntity(updateProductDTO);
+        Product updatedProduct = productService.updateProduct(id, product);
+        ProductDTO productDTO = productMapper.toDTO(updatedProduct);
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(com.eafit.tutorial.dto.ApiResponse.error("Error interno del servidor"));
-        }
+        return ResponseEntity.ok(
+            com.eafit.tutorial.dto.ApiResponse.success(productDTO,
+                "Producto actualizado exitosamente"));
     }
 
     @Operation(
@@ -254,24 +492,11 @@ public class ProductController {
 
         logger.debug("DELETE /api/v1/products/{}", id);
 
-        try {
-            productService.deleteProduct(id);
-
-            return ResponseEntity.ok(
-                com.eafit.tutorial.dto.ApiResponse.success(null,
-                    "Producto eliminado exitosamente"));
-
-        } catch (Exception e) {
-            logger.error("Error al eliminar producto con ID: {}", id, e);
-
-            if (e.getMessage().contains("no encontrado")) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(com.eafit.tutorial.dto.ApiResponse.error(e.getMessage(), 404));
-            }
+        productService.deleteProduct(id);
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(com.eafit.tutorial.dto.ApiResponse.error("Error interno del servidor"));
-        }
+        return ResponseEntity.ok(
+            com.eafit.tutorial.dto.ApiResponse.success(null,
+                "Producto eliminado exitosamente"));
     }
 
     @Operation(
@@ -279,17 +504,30 @@ public class ProductController {
         description = "Obtiene todos los productos de una categoría específica"
     )
     @GetMapping("/category/{category}")
-    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<List<ProductDTO>>> getProductsByCategory(
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<List<?>>> getProductsByCategory(
             @Parameter(description = "Nombre de la categoría", example = "Electrónicos", required = true)
-            @PathVariable String category) {
+            @PathVariable String category,
 
-        logger.debug("GET /api/v1/products/category/{}", category);
+            @Parameter(description = "Campos a incluir, separados por coma (el id se incluye siempre)", example = "name,price")
+            @RequestParam(value = "fields", required = false) String fields,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        logger.debug("GET /api/v1/products/category/{} - fields: {}", category, fields);
+        Set<ProductField> fieldSet = fields != null ? ProductField.parse(fields) : null;
 
         try {
-            List<Product> products = productService.getProductsByCategory(category);
-            List<ProductDTO> productDTOs = productMapper.toDTOList(products);
+            String etag = ETags.forCatalog(productService.getCatalogVersion());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
 
-            return ResponseEntity.ok(
+            List<?> productDTOs = fieldSet != null
+                ? productMapper.toPartialDTOList(productService.getProductsByCategory(category, fieldSet), fieldSet)
+                : productMapper.toDTOList(productService.getProductsByCategory(category));
+
+            return ResponseEntity.ok().eTag(etag).body(
                 com.eafit.tutorial.dto.ApiResponse.success(productDTOs,
                     "Productos encontrados para la categoría: " + category));
 
@@ -302,7 +540,8 @@ public class ProductController {
 
     @Operation(
         summary = "Buscar por rango de precio",
-        description = "Obtiene productos dentro de un rango de precios específico"
+        description = "Obtiene los productos dentro de un rango de precios, del más barato al más caro, " +
+                      "hasta el límite indicado"
     )
     @GetMapping("/price-range")
     public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<List<ProductDTO>>> getProductsByPriceRange(
@@ -310,19 +549,31 @@ public class ProductController {
             @RequestParam @Min(0) BigDecimal minPrice,
 
             @Parameter(description = "Precio máximo", example = "1000.00", required = true)
-            @RequestParam @Min(0) BigDecimal maxPrice) {
+            @RequestParam @Min(0) BigDecimal maxPrice,
+
+            @Parameter(description = "Cantidad máxima de productos (los más baratos del rango)", example = "100")
+            @RequestParam(value = "limit", defaultValue = "100") @Min(1) @Max(MAX_PRICE_RANGE_LIMIT) int limit,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-        logger.debug("GET /api/v1/products/price-range - min: {}, max: {}", minPrice, maxPrice);
+        logger.debug("GET /api/v1/products/price-range - min: {}, max: {}, limit: {}", minPrice, maxPrice, limit);
 
         try {
-            List<Product> products = productService.getProductsByPriceRange(minPrice, maxPrice);
+            String etag = ETags.forCatalog(productService.getCatalogVersion());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+
+            List<Product> products = productService.getProductsByPriceRange(minPrice, maxPrice, limit);
             List<ProductDTO> productDTOs = productMapper.toDTOList(products);
 
-            return ResponseEntity.ok(
+            return ResponseEntity.ok().eTag(etag).body(
                 com.eafit.tutorial.dto.ApiResponse.success(productDTOs,
                     String.format("Productos encontrados en rango $%.2f - $%.2f", minPrice, maxPrice)));
 
         } catch (IllegalArgumentException e) {
+            productMetrics.validationFailure("getProductsByPriceRange");
             logger.warn("Rango de precios inválido - min: {}, max: {}", minPrice, maxPrice);
             return ResponseEntity.badRequest()
                 .body(com.eafit.tutorial.dto.ApiResponse.error(e.getMessage(), 400));
@@ -335,21 +586,41 @@ public class ProductController {
     }
 
     @Operation(
-        summary = "Buscar por nombre",
-        description = "Busca productos que contengan el texto especificado en su nombre"
+        summary = "Buscar por texto",
+        description = "Busca productos por nombre y descripción usando el índice de texto completo. " +
+                      "Los resultados se ordenan por relevancia; la búsqueda ignora mayúsculas y tildes"
     )
     @GetMapping("/search")
-    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<List<ProductDTO>>> searchProductsByName(
-            @Parameter(description = "Texto a buscar en el nombre", example = "laptop", required = true)
-            @RequestParam String name) {
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<List<?>>> searchProductsByName(
+            @Parameter(description = "Texto a buscar en nombre y descripción", example = "laptop", required = true)
+            @RequestParam String name,
 
-        logger.debug("GET /api/v1/products/search?name={}", name);
+            @Parameter(description = "Número de página (base 0)", example = "0")
+            @RequestParam(value = "page", defaultValue = "0") @Min(0) int page,
+
+            @Parameter(description = "Tamaño de página", example = "20")
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) int size,
+
+            @Parameter(description = "Campos a incluir, separados por coma (el id se incluye siempre)", example = "name,price")
+            @RequestParam(value = "fields", required = false) String fields,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        logger.debug("GET /api/v1/products/search?name={}&page={}&size={}&fields={}", name, page, size, fields);
+        Set<ProductField> fieldSet = fields != null ? ProductField.parse(fields) : null;
 
         try {
-            List<Product> products = productService.searchProductsByName(name);
-            List<ProductDTO> productDTOs = productMapper.toDTOList(products);
+            String etag = ETags.forCatalog(productService.getCatalogVersion());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
 
-            return ResponseEntity.ok(
+            List<?> productDTOs = fieldSet != null
+                ? productMapper.toPartialDTOList(productService.searchProducts(name, page, size, fieldSet), fieldSet)
+                : productMapper.toDTOList(productService.searchProducts(name, page, size));
+
+            return ResponseEntity.ok().eTag(etag).body(
                 com.eafit.tutorial.dto.ApiResponse.success(productDTOs,
                     "Productos encontrados para búsqueda: " + name));
 
@@ -360,6 +631,143 @@ public class ProductController {
         }
     }
 
+    @Operation(
+        summary = "Reconstruir índice de búsqueda",
+        description = "Reconstruye el índice de texto completo a partir de la base de datos"
+    )
+    @PostMapping("/search/reindex")
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<Long>> rebuildSearchIndex() {
+        logger.debug("POST /api/v1/products/search/reindex");
+
+        try {
+            long indexed = productService.rebuildSearchIndex();
+
+            return ResponseEntity.ok(
+                com.eafit.tutorial.dto.ApiResponse.success(indexed,
+                    "Índice reconstruido con " + indexed + " productos"));
+
+        } catch (Exception e) {
+            logger.error("Error al reconstruir el índice de búsqueda", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(com.eafit.tutorial.dto.ApiResponse.error("Error interno del servidor"));
+        }
+    }
+
+    @Operation(
+        summary = "Escribir instantánea del catálogo",
+        description = "Escribe los productos activos en el archivo binario products.snapshot.path, que se " +
+                      "carga al arrancar en lugar de recrear el catálogo a través del API"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Instantánea escrita exitosamente"),
+        @ApiResponse(responseCode = "409", description = "La instantánea no está configurada"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PostMapping("/snapshot")
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<Long>> saveCatalogSnapshot() {
+        logger.debug("POST /api/v1/products/snapshot");
+
+        if (!catalogSnapshot.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(com.eafit.tutorial.dto.ApiResponse.error(
+                    "Instantánea del catálogo deshabilitada: configure products.snapshot.path", 409));
+        }
+
+        try {
+            long written = catalogSnapshot.save();
+
+            return ResponseEntity.ok(
+                com.eafit.tutorial.dto.ApiResponse.success(written,
+                    "Instantánea escrita con " + written + " productos en " + catalogSnapshot.getPath()));
+
+        } catch (Exception e) {
+            logger.error("Error al escribir la instantánea del catálogo", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(com.eafit.tutorial.dto.ApiResponse.error("Error interno del servidor"));
+        }
+    }
+
+    @Operation(
+        summary = "Estadísticas por categoría",
+        description = "Cantidad de productos, stock total, valor de inventario y precio mínimo, máximo y " +
+                      "promedio de cada categoría, mantenidos en memoria sin consultar la base de datos"
+    )
+    @GetMapping("/categories/stats")
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<List<CategoryStatsDTO>>> getCategoryStatistics() {
+        logger.debug("GET /api/v1/products/categories/stats");
+
+        try {
+            List<CategoryStatsDTO> stats = productMapper.toCategoryStatsDTOList(productService.getCategoryStatistics());
+
+            return ResponseEntity.ok(
+                com.eafit.tutorial.dto.ApiResponse.success(stats,
+                    "Estadísticas obtenidas para " + stats.size() + " categorías"));
+
+        } catch (Exception e) {
+            logger.error("Error al obtener estadísticas por categoría", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(com.eafit.tutorial.dto.ApiResponse.error("Error interno del servidor"));
+        }
+    }
+
+    @Operation(
+        summary = "Estadísticas de una categoría",
+        description = "Estadísticas de una sola categoría (coincidencia exacta del nombre)"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente"),
+        @ApiResponse(responseCode = "404", description = "La categoría no tiene productos activos"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping("/categories/{category}/stats")
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<CategoryStatsDTO>> getCategoryStatistics(
+            @Parameter(description = "Nombre de la categoría", example = "Electrónicos", required = true)
+            @PathVariable String category) {
+
+        logger.debug("GET /api/v1/products/categories/{}/stats", category);
+
+        try {
+            Optional<CategoryStats> stats = productService.getCategoryStatistics(category);
+
+            if (stats.isPresent()) {
+                return ResponseEntity.ok(
+                    com.eafit.tutorial.dto.ApiResponse.success(productMapper.toCategoryStatsDTO(stats.get()),
+                        "Estadísticas obtenidas para la categoría: " + category));
+            } else {
+                productMetrics.notFound("getCategoryStatistics");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(com.eafit.tutorial.dto.ApiResponse.error(
+                        "No hay productos activos en la categoría: " + category, 404));
+            }
+        } catch (Exception e) {
+            logger.error("Error al obtener estadísticas de la categoría: {}", category, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(com.eafit.tutorial.dto.ApiResponse.error("Error interno del servidor"));
+        }
+    }
+
+    @Operation(
+        summary = "Reconciliar estadísticas por categoría",
+        description = "Recalcula las estadísticas desde la base de datos y devuelve cuántas categorías estaban desviadas"
+    )
+    @PostMapping("/categories/stats/reconcile")
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<Integer>> reconcileCategoryStatistics() {
+        logger.debug("POST /api/v1/products/categories/stats/reconcile");
+
+        try {
+            int drifted = productService.reconcileCategoryStatistics();
+
+            return ResponseEntity.ok(
+                com.eafit.tutorial.dto.ApiResponse.success(drifted,
+                    "Estadísticas reconciliadas, " + drifted + " categorías corregidas"));
+
+        } catch (Exception e) {
+            logger.error("Error al reconciliar estadísticas por categoría", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(com.eafit.tutorial.dto.ApiResponse.error("Error interno del servidor"));
+        }
+    }
+
     @Operation(
         summary = "Productos con stock bajo",
         description = "Obtiene productos cuyo stock sea menor al límite especificado"
@@ -367,15 +775,23 @@ public class ProductController {
     @GetMapping("/low-stock")
     public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<List<ProductDTO>>> getProductsWithLowStock(
             @Parameter(description = "Límite de stock", example = "10", required = true)
-            @RequestParam @Min(0) Integer minStock) {
+            @RequestParam @Min(0) Integer minStock,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         logger.debug("GET /api/v1/products/low-stock?minStock={}", minStock);
 
         try {
+            String etag = ETags.forCatalog(productService.getCatalogVersion());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+
             List<Product> products = productService.getProductsWithLowStock(minStock);
             List<ProductDTO> productDTOs = productMapper.toDTOList(products);
 
-            return ResponseEntity.ok(
+            return ResponseEntity.ok().eTag(etag).body(
                 com.eafit.tutorial.dto.ApiResponse.success(productDTOs,
                     "Productos con stock menor a " + minStock));
 
@@ -386,6 +802,29 @@ public class ProductController {
         }
     }
 
+    @Operation(
+        summary = "Suscribirse a alertas de stock bajo",
+        description = "Abre un flujo Server-Sent Events que recibe un evento 'low-stock' cuando el stock de un " +
+                      "producto baja del umbral y 'restocked' cuando lo vuelve a alcanzar. Sin categoría ni " +
+                      "producto la suscripción cubre todo el catálogo"
+    )
+    @GetMapping(value = "/low-stock/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToLowStock(
+            @Parameter(description = "Umbral: se alerta cuando el stock queda por debajo", example = "10", required = true)
+            @RequestParam @Min(1) int threshold,
+
+            @Parameter(description = "Limitar a una categoría", example = "Electrónicos")
+            @RequestParam(required = false) String category,
+
+            @Parameter(description = "Limitar a un producto", example = "1")
+            @RequestParam(required = false) @Min(1) Long productId) {
+
+        logger.debug("GET /api/v1/products/low-stock/subscribe?threshold={}&category={}&productId={}",
+            threshold, category, productId);
+
+        return lowStockAlerts.subscribe(threshold, category, productId);
+    }
+
     @Operation(
         summary = "Actualizar stock",
         description = "Actualiza únicamente el stock de un producto específico"
@@ -400,24 +839,40 @@ public class ProductController {
 
         logger.debug("PATCH /api/v1/products/{}/stock - newStock: {}", id, stock);
 
-        try {
-            Product updatedProduct = productService.updateStock(id, stock);
-            ProductDTO productDTO = productMapper.toDTO(updatedProduct);
+        Product updatedProduct = productService.updateStock(id, stock);
+        ProductDTO productDTO = productMapper.toDTO(updatedProduct);
 
-            return ResponseEntity.ok(
-                com.eafit.tutorial.dto.ApiResponse.success(productDTO,
-                    "Stock actualizado exitosamente"));
+        return ResponseEntity.ok(
+            com.eafit.tutorial.dto.ApiResponse.success(productDTO,
+                "Stock actualizado exitosamente"));
+    }
 
-        } catch (Exception e) {
-            logger.error("Error al actualizar stock del producto {}", id, e);
+    @Operation(
+        summary = "Ajustar stock",
+        description = "Suma (o resta, con delta negativo) unidades al stock en una sola operación atómica. " +
+                      "Falla con 409 si el stock resultante sería negativo"
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Stock ajustado exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+        @ApiResponse(responseCode = "409", description = "Stock insuficiente"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PatchMapping("/{id}/stock/adjust")
+    public ResponseEntity<com.eafit.tutorial.dto.ApiResponse<ProductDTO>> adjustProductStock(
+            @Parameter(description = "ID del producto", example = "1", required = true)
+            @PathVariable @Min(1) Long id,
 
-            if (e.getMessage().contains("no encontrado")) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(com.eafit.tutorial.dto.ApiResponse.error(e.getMessage(), 404));
-            }
+            @Parameter(description = "Unidades a sumar (positivo) o restar (negativo)", example = "-2", required = true)
+            @RequestParam int delta) {
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(com.eafit.tutorial.dto.ApiResponse.error("Error interno del servidor"));
-        }
+        logger.debug("PATCH /api/v1/products/{}/stock/adjust - delta: {}", id, delta);
+
+        Product updatedProduct = productService.adjustStock(id, delta);
+        ProductDTO productDTO = productMapper.toDTO(updatedProduct);
+
+        return ResponseEntity.ok(
+            com.eafit.tutorial.dto.ApiResponse.success(productDTO,
+                "Stock ajustado exitosamente"));
     }
 }
@@ -0,0 +1,37 @@
+package com.eafit.tutorial.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marca las lecturas que deben ir al primario aunque corran en una transacción de solo lectura.
+ *
+ * Las tareas de mantenimiento reconstruyen estado derivado (índices de búsqueda, estadísticas por
+ * categoría, la instantánea del catálogo) a partir de la base de datos; leerlo de una réplica
+ * atrasada lo dejaría mal hasta la siguiente reconstrucción, y al arrancar la réplica puede no
+ * tener todavía el esquema. Sin réplicas configuradas la marca no tiene efecto.
+ *
+ * La marca vale para el hilo actual mientras corre {@code action}; como el enrutamiento se decide
+ * en la primera sentencia, basta con que la transacción ejecute sus consultas dentro de la acción.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {}
+
+    public static <T> T call(Supplier<T> action) {
+        if (isRequired()) {
+            return action.get();
+        }
+        REQUIRED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            REQUIRED.remove();
+        }
+    }
+
+    static boolean isRequired() {
+        return REQUIRED.get() != null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.eafit.tutorial.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ventana posterior a una escritura: durante {@code window} después de que se confirma cualquier
+ * escritura, todas las lecturas van al primario aunque sean de solo lectura.
+ *
+ * La ventana no se limita al cliente que escribió. Una réplica atrasada le devolvería a cualquier
+ * otro cliente las filas anteriores bajo la ETag del catálogo ya incrementada, y después 304
+ * indefinidamente, y volvería a llenar la caché de productos con esas filas. Por eso
+ * {@code window} debe cubrir el atraso máximo esperado de las réplicas.
+ */
+public class ReadYourWrites {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final long windowNanos;
+    private final LongSupplier ticker;
+    private final AtomicLong lastWrite = new AtomicLong(NONE);
+
+    public ReadYourWrites(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    ReadYourWrites(Duration window, LongSupplier ticker) {
+        this.windowNanos = window.toNanos();
+        this.ticker = ticker;
+    }
+
+    public void recordWrite() {
+        if (windowNanos <= 0) {
+            return;
+        }
+        long now = ticker.getAsLong();
+        lastWrite.accumulateAndGet(now, (current, written) -> current == NONE || written - current > 0 ? written : current);
+    }
+
+    public boolean mustReadFromPrimary() {
+        long writtenAt = lastWrite.get();
+        return writtenAt != NONE && ticker.getAsLong() - writtenAt < windowNanos;
+    }
+
+    /**
+     * Olvida la última escritura, como si la ventana ya hubiera vencido.
+     */
+    void reset() {
+        lastWrite.set(NONE);
+    }
+}
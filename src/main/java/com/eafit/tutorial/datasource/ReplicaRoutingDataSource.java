@@ -0,0 +1,219 @@
+package com.eafit.tutorial.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * {@code DataSource} que envía las transacciones {@code readOnly} a una réplica sana y todo lo
+ * demás al primario.
+ *
+ * La decisión se toma al pedir la conexión física, así que debe envolverse en un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: el gestor de
+ * transacciones JPA pide la conexión antes de publicar el flag de solo lectura, y el proxy la
+ * retrasa hasta la primera sentencia.
+ *
+ * Las lecturas marcadas con {@link PrimaryReads} van siempre al primario, y todas las demás
+ * también durante la ventana de {@link ReadYourWrites} posterior a cada escritura.
+ *
+ * Una réplica que falla al entregar una conexión se marca como caída y la lectura sigue en el
+ * primario; {@link #checkHealth()} la vuelve a habilitar cuando responde.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final ReadYourWrites readYourWrites;
+    private final int healthCheckTimeoutSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaSelection selection,
+                                    ReadYourWrites readYourWrites, int healthCheckTimeoutSeconds) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos una réplica");
+        }
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + i, replicas.get(i)));
+        }
+        this.selection = selection;
+        this.readYourWrites = readYourWrites;
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markDown(replica, e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.dataSource.getConnection(username, password);
+        } catch (SQLException e) {
+            markDown(replica, e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * Valida cada réplica con {@link Connection#isValid} y actualiza su estado.
+     */
+    @Scheduled(initialDelayString = "${products.datasource.read-replicas.health-check-interval:PT10S}",
+               fixedDelayString = "${products.datasource.read-replicas.health-check-interval:PT10S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+
+            if (healthy && !replica.healthy) {
+                logger.info("Réplica {} disponible de nuevo", replica.name);
+            } else if (!healthy && replica.healthy) {
+                logger.warn("Réplica {} no respondió al chequeo de salud; las lecturas irán al primario", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public int healthyReplicas() {
+        int count = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Réplica para la conexión pedida, o {@code null} si debe usarse el primario.
+     */
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                registerWrite();
+            }
+            return null;
+        }
+        if (PrimaryReads.isRequired() || readYourWrites.mustReadFromPrimary()) {
+            return null;
+        }
+        return selection == ReplicaSelection.LEAST_LOADED ? leastLoaded() : roundRobin();
+    }
+
+    private void registerWrite() {
+        // La ventana empieza al confirmar, no al abrir la transacción
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.recordWrite();
+                }
+            });
+        } else {
+            readYourWrites.recordWrite();
+        }
+    }
+
+    private Replica roundRobin() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastLoaded() {
+        Replica best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (!replica.healthy) {
+                continue;
+            }
+            int load = replica.activeConnections();
+            if (load < bestLoad) {
+                best = replica;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private void markDown(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            logger.warn("Réplica {} no entregó una conexión ({}); las lecturas irán al primario",
+                replica.name, e.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private int activeConnections() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool != null ? pool.getActiveConnections() : 0;
+            }
+            return 0;
+        }
+    }
+}
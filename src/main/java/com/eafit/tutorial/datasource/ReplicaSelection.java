@@ -0,0 +1,13 @@
+package com.eafit.tutorial.datasource;
+
+/**
+ * Cómo elegir la réplica para una transacción de solo lectura.
+ */
+public enum ReplicaSelection {
+
+    /** Turno rotativo entre las réplicas sanas. */
+    ROUND_ROBIN,
+
+    /** La réplica sana con menos conexiones en uso (pools Hikari); empate por orden de configuración. */
+    LEAST_LOADED
+}
@@ -0,0 +1,72 @@
+package com.eafit.tutorial.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Reporte por elemento de una creación masiva de productos")
+public class BatchCreateResponse {
+
+    @Schema(description = "Cantidad de productos creados", example = "998")
+    private long created;
+
+    @Schema(description = "Cantidad de elementos rechazados", example = "2")
+    private long failed;
+
+    @Schema(description = "Resultado de cada elemento, en el orden de la petición")
+    private List<ItemResult> items;
+
+    public BatchCreateResponse() {}
+
+    public BatchCreateResponse(long created, long failed, List<ItemResult> items) {
+        this.created = created;
+        this.failed = failed;
+        this.items = items;
+    }
+
+    public long getCreated() { return created; }
+    public void setCreated(long created) { this.created = created; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public List<ItemResult> getItems() { return items; }
+    public void setItems(List<ItemResult> items) { this.items = items; }
+
+    @Schema(description = "Resultado de un elemento del lote")
+    public static class ItemResult {
+
+        @Schema(description = "Posición del elemento en la petición (base 0)", example = "0")
+        private int index;
+
+        @Schema(description = "Resultado: CREATED, DUPLICATE o INVALID", example = "CREATED")
+        private String status;
+
+        @Schema(description = "Producto creado, si aplica")
+        private ProductDTO product;
+
+        @Schema(description = "Motivo del rechazo, si aplica", example = "Ya existe un producto con el nombre: Laptop")
+        private String message;
+
+        public ItemResult() {}
+
+        public ItemResult(int index, String status, ProductDTO product, String message) {
+            this.index = index;
+            this.status = status;
+            this.product = product;
+            this.message = message;
+        }
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public ProductDTO getProduct() { return product; }
+        public void setProduct(ProductDTO product) { this.product = product; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
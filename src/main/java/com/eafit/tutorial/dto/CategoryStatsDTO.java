@@ -0,0 +1,64 @@
+package com.eafit.tutorial.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "Estadísticas de los productos activos de una categoría")
+public class CategoryStatsDTO {
+
+    @Schema(description = "Categoría", example = "Electrónicos")
+    private String category;
+
+    @Schema(description = "Cantidad de productos activos", example = "42")
+    private long productCount;
+
+    @Schema(description = "Unidades en stock sumando todos los productos", example = "1250")
+    private long totalStock;
+
+    @Schema(description = "Valor del inventario (precio × stock)", example = "187500.00")
+    private BigDecimal inventoryValue;
+
+    @Schema(description = "Precio mínimo", example = "19.99")
+    private BigDecimal minPrice;
+
+    @Schema(description = "Precio máximo", example = "2999.99")
+    private BigDecimal maxPrice;
+
+    @Schema(description = "Precio promedio", example = "450.75")
+    private BigDecimal averagePrice;
+
+    public CategoryStatsDTO() {}
+
+    public CategoryStatsDTO(String category, long productCount, long totalStock, BigDecimal inventoryValue,
+                            BigDecimal minPrice, BigDecimal maxPrice, BigDecimal averagePrice) {
+        this.category = category;
+        this.productCount = productCount;
+        this.totalStock = totalStock;
+        this.inventoryValue = inventoryValue;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.averagePrice = averagePrice;
+    }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public long getProductCount() { return productCount; }
+    public void setProductCount(long productCount) { this.productCount = productCount; }
+
+    public long getTotalStock() { return totalStock; }
+    public void setTotalStock(long totalStock) { this.totalStock = totalStock; }
+
+    public BigDecimal getInventoryValue() { return inventoryValue; }
+    public void setInventoryValue(BigDecimal inventoryValue) { this.inventoryValue = inventoryValue; }
+
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+
+    public BigDecimal getAveragePrice() { return averagePrice; }
+    public void setAveragePrice(BigDecimal averagePrice) { this.averagePrice = averagePrice; }
+}
@@ -0,0 +1,49 @@
+package com.eafit.tutorial.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+@Schema(description = "Respuesta paginada por cursor (keyset), sin conteo total")
+public class CursorPagedResponse<T> {
+
+    @Schema(description = "Lista de elementos de la página actual")
+    private List<T> content;
+
+    @Schema(description = "Tamaño de página solicitado", example = "20")
+    private int size;
+
+    @Schema(description = "Tiene página siguiente", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Cursor opaco para solicitar la página siguiente (parámetro 'after')",
+            example = "bmFtZTpBU0M6NDI6TGFwdG9w")
+    private String nextCursor;
+
+    public CursorPagedResponse() {}
+
+    public CursorPagedResponse(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public static <T> CursorPagedResponse<T> of(Slice<T> slice, String nextCursor) {
+        return new CursorPagedResponse<>(slice.getContent(), slice.getSize(), slice.hasNext(),
+                slice.hasNext() ? nextCursor : null);
+    }
+
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,25 @@
+package com.eafit.tutorial.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Set;
+
+/**
+ * Producto con solo los campos pedidos en {@code fields=}; al serializarlo se omiten los demás
+ * (ver {@code PartialProductDTOSerializer}).
+ */
+@Schema(description = "Producto con un subconjunto de sus campos", implementation = ProductDTO.class)
+public class PartialProductDTO {
+
+    private final ProductDTO product;
+    private final Set<ProductField> fields;
+
+    public PartialProductDTO(ProductDTO product, Set<ProductField> fields) {
+        this.product = product;
+        this.fields = fields;
+    }
+
+    public ProductDTO getProduct() { return product; }
+
+    public Set<ProductField> getFields() { return fields; }
+}
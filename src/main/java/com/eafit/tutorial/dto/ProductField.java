@@ -0,0 +1,65 @@
+package com.eafit.tutorial.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Campos de {@link ProductDTO} que un cliente puede pedir con {@code fields=}. El nombre JSON de
+ * cada campo coincide con el atributo de la entidad {@code Product}, así que también sirve para
+ * armar la proyección SQL.
+ */
+public enum ProductField {
+
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    PRICE("price"),
+    CATEGORY("category"),
+    STOCK("stock"),
+    ACTIVE("active"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    public static final Set<ProductField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ProductField.class));
+
+    private final String attribute;
+
+    ProductField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Interpreta una lista separada por comas, p. ej. {@code "name,price"}. El {@code id} se
+     * incluye siempre para que cada elemento siga siendo identificable.
+     *
+     * @throws IllegalArgumentException si la lista está vacía o nombra un campo desconocido
+     */
+    public static Set<ProductField> parse(String fields) {
+        EnumSet<ProductField> selected = EnumSet.noneOf(ProductField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!trimmed.isEmpty()) {
+                selected.add(fromAttribute(trimmed));
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("El parámetro 'fields' debe indicar al menos un campo");
+        }
+        selected.add(ID);
+        return Collections.unmodifiableSet(selected);
+    }
+
+    private static ProductField fromAttribute(String attribute) {
+        for (ProductField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Campo no soportado en 'fields': " + attribute);
+    }
+}
@@ -0,0 +1,65 @@
+package com.eafit.tutorial.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado de una búsqueda de varios productos por ID")
+public class ProductLookupResponse {
+
+    @Schema(description = "Cantidad de posiciones con producto", example = "48")
+    private long found;
+
+    @Schema(description = "Cantidad de posiciones sin producto", example = "2")
+    private long missing;
+
+    @Schema(description = "Resultado de cada ID, en el orden de la petición")
+    private List<ItemResult> items;
+
+    public ProductLookupResponse() {}
+
+    public ProductLookupResponse(long found, long missing, List<ItemResult> items) {
+        this.found = found;
+        this.missing = missing;
+        this.items = items;
+    }
+
+    public long getFound() { return found; }
+    public void setFound(long found) { this.found = found; }
+
+    public long getMissing() { return missing; }
+    public void setMissing(long missing) { this.missing = missing; }
+
+    public List<ItemResult> getItems() { return items; }
+    public void setItems(List<ItemResult> items) { this.items = items; }
+
+    @Schema(description = "Resultado de un ID de la búsqueda")
+    public static class ItemResult {
+
+        @Schema(description = "ID solicitado", example = "1")
+        private Long id;
+
+        @Schema(description = "Resultado: FOUND o NOT_FOUND", example = "FOUND")
+        private String status;
+
+        @Schema(description = "Producto encontrado, si aplica")
+        private ProductDTO product;
+
+        public ItemResult() {}
+
+        public ItemResult(Long id, String status, ProductDTO product) {
+            this.id = id;
+            this.status = status;
+            this.product = product;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public ProductDTO getProduct() { return product; }
+        public void setProduct(ProductDTO product) { this.product = product; }
+    }
+}
@@ -0,0 +1,18 @@
+package com.eafit.tutorial.exception;
+
+/**
+ * Base de los errores de negocio esperados (producto inexistente, nombre duplicado, stock
+ * insuficiente, validación). No capturan la pila: se crean por cada petición inválida, el
+ * manejador global los traduce por tipo a una respuesta HTTP y solo registra el mensaje, así que
+ * la pila nunca se usa y recorrerla es la parte más cara de lanzar una excepción.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected DomainException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
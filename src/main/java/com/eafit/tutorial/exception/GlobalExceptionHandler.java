@@ -6,6 +6,8 @@ import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -14,10 +16,12 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import com.eafit.tutorial.dto.ApiResponse;
 import com.eafit.tutorial.dto.ErrorResponse;
+import com.eafit.tutorial.metrics.ProductMetrics;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -27,11 +31,15 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    @Autowired
+    private ProductMetrics productMetrics;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<ErrorResponse>> handleValidationExceptions(
-            MethodArgumentNotValidException ex) {
+            MethodArgumentNotValidException ex, HandlerMethod handlerMethod) {
 
         logger.warn("Error de validación: {}", ex.getMessage());
+        productMetrics.validationFailure(operation(handlerMethod));
 
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach(error -> {
@@ -53,9 +61,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ApiResponse<ErrorResponse>> handleConstraintViolation(
-            ConstraintViolationException ex) {
+            ConstraintViolationException ex, HandlerMethod handlerMethod) {
 
         logger.warn("Error de validación de parámetros: {}", ex.getMessage());
+        productMetrics.validationFailure(operation(handlerMethod));
 
         Map<String, String> errors = new HashMap<>();
         for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
@@ -77,9 +86,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ProductNotFoundException.class)
     public ResponseEntity<ApiResponse<ErrorResponse>> handleProductNotFound(
-            ProductNotFoundException ex, WebRequest request) {
+            ProductNotFoundException ex, WebRequest request, HandlerMethod handlerMethod) {
 
         logger.warn("Producto no encontrado: {}", ex.getMessage());
+        productMetrics.notFound(operation(handlerMethod));
 
         ErrorResponse errorResponse = new ErrorResponse(
             "PRODUCT_NOT_FOUND",
@@ -94,9 +104,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ProductAlreadyExistsException.class)
     public ResponseEntity<ApiResponse<ErrorResponse>> handleProductAlreadyExists(
-            ProductAlreadyExistsException ex) {
+            ProductAlreadyExistsException ex, HandlerMethod handlerMethod) {
 
         logger.warn("Producto ya existe: {}", ex.getMessage());
+        productMetrics.conflict(operation(handlerMethod), ProductMetrics.DUPLICATE_NAME);
 
         ErrorResponse errorResponse = new ErrorResponse(
             "PRODUCT_ALREADY_EXISTS",
@@ -109,11 +120,48 @@ public class GlobalExceptionHandler {
             .body(ApiResponse.error(errorResponse, "Conflicto de recursos", 409));
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ApiResponse<ErrorResponse>> handleInsufficientStock(
+            InsufficientStockException ex, HandlerMethod handlerMethod) {
+
+        logger.warn("Stock insuficiente: {}", ex.getMessage());
+        productMetrics.conflict(operation(handlerMethod), ProductMetrics.INSUFFICIENT_STOCK);
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            "INSUFFICIENT_STOCK",
+            ex.getMessage(),
+            Map.of("suggestion", "Consulte el stock disponible antes de descontar unidades"),
+            LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(ApiResponse.error(errorResponse, "Stock insuficiente", 409));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiResponse<ErrorResponse>> handleOptimisticLocking(
+            OptimisticLockingFailureException ex, HandlerMethod handlerMethod) {
+
+        logger.warn("Conflicto de concurrencia: {}", ex.getMessage());
+        productMetrics.conflict(operation(handlerMethod), ProductMetrics.CONCURRENT_MODIFICATION);
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            "CONCURRENT_MODIFICATION",
+            "El recurso fue modificado por otra petición",
+            Map.of("suggestion", "Vuelva a consultar el recurso y reintente la operación"),
+            LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(ApiResponse.error(errorResponse, "Conflicto de concurrencia", 409));
+    }
+
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ApiResponse<ErrorResponse>> handleValidationException(
-            ValidationException ex) {
+            ValidationException ex, HandlerMethod handlerMethod) {
 
         logger.warn("Error de validación personalizado: {}", ex.getMessage());
+        productMetrics.validationFailure(operation(handlerMethod));
 
         ErrorResponse errorResponse = new ErrorResponse(
             "CUSTOM_VALIDATION_ERROR",
@@ -128,9 +176,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ApiResponse<ErrorResponse>> handleTypeMismatch(
-            MethodArgumentTypeMismatchException ex) {
+            MethodArgumentTypeMismatchException ex, HandlerMethod handlerMethod) {
 
         logger.warn("Error de tipo de dato: {}", ex.getMessage());
+        productMetrics.validationFailure(operation(handlerMethod));
 
         String typeName = ex.getRequiredType() != null ? ex.getRequiredType().getSimpleName() : "desconocido";
         String message = String.format("El parámetro '%s' debe ser de tipo %s",
@@ -150,9 +199,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ApiResponse<ErrorResponse>> handleHttpMessageNotReadable(
-            HttpMessageNotReadableException ex) {
+            HttpMessageNotReadableException ex, HandlerMethod handlerMethod) {
 
         logger.warn("Error de formato JSON: {}", ex.getMessage());
+        productMetrics.validationFailure(operation(handlerMethod));
 
         ErrorResponse errorResponse = new ErrorResponse(
             "MALFORMED_JSON",
@@ -167,9 +217,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiResponse<ErrorResponse>> handleIllegalArgument(
-            IllegalArgumentException ex) {
+            IllegalArgumentException ex, HandlerMethod handlerMethod) {
 
         logger.warn("Argumento ilegal: {}", ex.getMessage());
+        productMetrics.validationFailure(operation(handlerMethod));
 
         ErrorResponse errorResponse = new ErrorResponse(
             "ILLEGAL_ARGUMENT",
@@ -201,4 +252,8 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
             .body(ApiResponse.error(errorResponse, "Error interno del servidor", 500));
     }
+
+    private static String operation(HandlerMethod handlerMethod) {
+        return handlerMethod != null ? handlerMethod.getMethod().getName() : "unknown";
+    }
 }
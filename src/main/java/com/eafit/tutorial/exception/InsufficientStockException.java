@@ -0,0 +1,12 @@
+package com.eafit.tutorial.exception;
+
+public class InsufficientStockException extends DomainException {
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+    public InsufficientStockException(Long productId, int delta) {
+        super("Stock insuficiente para aplicar un ajuste de " + delta + " al producto con ID: " + productId);
+    }
+}
@@ -1,6 +1,6 @@
 package com.eafit.tutorial.exception;
 
-public class ProductAlreadyExistsException extends RuntimeException {
+public class ProductAlreadyExistsException extends DomainException {
 
     public ProductAlreadyExistsException(String message) {
         super(message);
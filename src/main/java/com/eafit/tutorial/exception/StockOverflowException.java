@@ -0,0 +1,13 @@
+package com.eafit.tutorial.exception;
+
+/**
+ * Ajuste que dejaría el stock por encima de {@link Integer#MAX_VALUE}, el máximo de la columna.
+ * Se responde como un error de validación (400).
+ */
+public class StockOverflowException extends ValidationException {
+
+    public StockOverflowException(Long productId, int delta) {
+        super("El ajuste de " + delta + " dejaría el stock del producto con ID " + productId
+                + " por encima del máximo permitido (" + Integer.MAX_VALUE + ")");
+    }
+}
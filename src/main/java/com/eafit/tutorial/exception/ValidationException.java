@@ -2,7 +2,7 @@ package com.eafit.tutorial.exception;
 
 import java.util.Map;
 
-public class ValidationException extends RuntimeException {
+public class ValidationException extends DomainException {
 
     private Map<String, String> errors;
 
@@ -0,0 +1,48 @@
+package com.eafit.tutorial.json;
+
+import java.io.IOException;
+
+import com.eafit.tutorial.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Serializa el sobre {@link ApiResponse}; {@code data} se delega al serializador de su tipo.
+ */
+@SuppressWarnings("rawtypes")
+public class ApiResponseSerializer extends StdSerializer<ApiResponse> {
+
+    static final SerializedString SUCCESS = new SerializedString("success");
+    static final SerializedString MESSAGE = new SerializedString("message");
+    static final SerializedString DATA = new SerializedString("data");
+    static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    static final SerializedString STATUS_CODE = new SerializedString("statusCode");
+
+    public ApiResponseSerializer() {
+        super(ApiResponse.class);
+    }
+
+    @Override
+    public void serialize(ApiResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+
+        gen.writeFieldName(SUCCESS);
+        gen.writeBoolean(response.isSuccess());
+
+        gen.writeFieldName(MESSAGE);
+        gen.writeString(response.getMessage());
+
+        gen.writeFieldName(DATA);
+        provider.defaultSerializeValue(response.getData(), gen);
+
+        gen.writeFieldName(TIMESTAMP);
+        JsonTimestamps.write(response.getTimestamp(), gen);
+
+        gen.writeFieldName(STATUS_CODE);
+        gen.writeNumber(response.getStatusCode());
+
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,59 @@
+package com.eafit.tutorial.json;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Escritura de marcas de tiempo con el patrón {@code yyyy-MM-dd HH:mm:ss} que usan los DTO en
+ * {@code @JsonFormat}, dígito a dígito y sin pasar por {@link DateTimeFormatter}.
+ */
+final class JsonTimestamps {
+
+    static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+    private static final int LENGTH = PATTERN.length();
+
+    private JsonTimestamps() {}
+
+    static void write(LocalDateTime timestamp, JsonGenerator gen) throws IOException {
+        if (timestamp == null) {
+            gen.writeNull();
+            return;
+        }
+
+        int year = timestamp.getYear();
+        if (year < 1 || year > 9999) {
+            // Fuera de cuatro dígitos el patrón agrega signo o cambia de era; se delega al formateador
+            gen.writeString(FORMATTER.format(timestamp));
+            return;
+        }
+
+        char[] buffer = new char[LENGTH];
+        digits4(buffer, 0, year);
+        buffer[4] = '-';
+        digits2(buffer, 5, timestamp.getMonthValue());
+        buffer[7] = '-';
+        digits2(buffer, 8, timestamp.getDayOfMonth());
+        buffer[10] = ' ';
+        digits2(buffer, 11, timestamp.getHour());
+        buffer[13] = ':';
+        digits2(buffer, 14, timestamp.getMinute());
+        buffer[16] = ':';
+        digits2(buffer, 17, timestamp.getSecond());
+        gen.writeString(buffer, 0, LENGTH);
+    }
+
+    private static void digits4(char[] buffer, int offset, int value) {
+        digits2(buffer, offset, value / 100);
+        digits2(buffer, offset + 2, value % 100);
+    }
+
+    private static void digits2(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+}
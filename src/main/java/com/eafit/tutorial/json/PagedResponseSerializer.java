@@ -0,0 +1,76 @@
+package com.eafit.tutorial.json;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.eafit.tutorial.dto.PagedResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Serializa {@link PagedResponse} con sus metadatos de paginación en línea.
+ */
+@SuppressWarnings("rawtypes")
+public class PagedResponseSerializer extends StdSerializer<PagedResponse> {
+
+    static final SerializedString CONTENT = new SerializedString("content");
+    static final SerializedString PAGE = new SerializedString("page");
+    static final SerializedString NUMBER = new SerializedString("number");
+    static final SerializedString SIZE = new SerializedString("size");
+    static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    static final SerializedString FIRST = new SerializedString("first");
+    static final SerializedString LAST = new SerializedString("last");
+    static final SerializedString HAS_NEXT = new SerializedString("hasNext");
+    static final SerializedString HAS_PREVIOUS = new SerializedString("hasPrevious");
+
+    public PagedResponseSerializer() {
+        super(PagedResponse.class);
+    }
+
+    @Override
+    public void serialize(PagedResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+
+        gen.writeFieldName(CONTENT);
+        List<?> content = response.getContent();
+        if (content == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray(content, content.size());
+            for (Object item : content) {
+                provider.defaultSerializeValue(item, gen);
+            }
+            gen.writeEndArray();
+        }
+
+        gen.writeFieldName(PAGE);
+        PagedResponse.PageMetadata page = response.getPage();
+        if (page == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject(page);
+            gen.writeFieldName(NUMBER);
+            gen.writeNumber(page.getNumber());
+            gen.writeFieldName(SIZE);
+            gen.writeNumber(page.getSize());
+            gen.writeFieldName(TOTAL_ELEMENTS);
+            gen.writeNumber(page.getTotalElements());
+            gen.writeFieldName(TOTAL_PAGES);
+            gen.writeNumber(page.getTotalPages());
+            gen.writeFieldName(FIRST);
+            gen.writeBoolean(page.isFirst());
+            gen.writeFieldName(LAST);
+            gen.writeBoolean(page.isLast());
+            gen.writeFieldName(HAS_NEXT);
+            gen.writeBoolean(page.isHasNext());
+            gen.writeFieldName(HAS_PREVIOUS);
+            gen.writeBoolean(page.isHasPrevious());
+            gen.writeEndObject();
+        }
+
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,82 @@
+package com.eafit.tutorial.json;
+
+import java.io.IOException;
+
+import com.eafit.tutorial.dto.PartialProductDTO;
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.dto.ProductField;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Serializa solo los campos seleccionados de un {@link PartialProductDTO}, en el orden y con el
+ * formato de {@link ProductDTOSerializer}.
+ */
+public class PartialProductDTOSerializer extends StdSerializer<PartialProductDTO> {
+
+    public PartialProductDTOSerializer() {
+        super(PartialProductDTO.class);
+    }
+
+    @Override
+    public void serialize(PartialProductDTO partial, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        ProductDTO product = partial.getProduct();
+        gen.writeStartObject(partial);
+
+        for (ProductField field : partial.getFields()) {
+            switch (field) {
+                case ID -> {
+                    gen.writeFieldName(ProductDTOSerializer.ID);
+                    writeNumber(product.getId(), gen);
+                }
+                case NAME -> {
+                    gen.writeFieldName(ProductDTOSerializer.NAME);
+                    gen.writeString(product.getName());
+                }
+                case DESCRIPTION -> {
+                    gen.writeFieldName(ProductDTOSerializer.DESCRIPTION);
+                    gen.writeString(product.getDescription());
+                }
+                case PRICE -> {
+                    gen.writeFieldName(ProductDTOSerializer.PRICE);
+                    gen.writeNumber(product.getPrice());
+                }
+                case CATEGORY -> {
+                    gen.writeFieldName(ProductDTOSerializer.CATEGORY);
+                    gen.writeString(product.getCategory());
+                }
+                case STOCK -> {
+                    gen.writeFieldName(ProductDTOSerializer.STOCK);
+                    writeNumber(product.getStock(), gen);
+                }
+                case ACTIVE -> {
+                    gen.writeFieldName(ProductDTOSerializer.ACTIVE);
+                    if (product.getActive() == null) {
+                        gen.writeNull();
+                    } else {
+                        gen.writeBoolean(product.getActive());
+                    }
+                }
+                case CREATED_AT -> {
+                    gen.writeFieldName(ProductDTOSerializer.CREATED_AT);
+                    JsonTimestamps.write(product.getCreatedAt(), gen);
+                }
+                case UPDATED_AT -> {
+                    gen.writeFieldName(ProductDTOSerializer.UPDATED_AT);
+                    JsonTimestamps.write(product.getUpdatedAt(), gen);
+                }
+            }
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(Number value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+}
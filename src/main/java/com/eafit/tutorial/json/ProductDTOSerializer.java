@@ -0,0 +1,76 @@
+package com.eafit.tutorial.json;
+
+import java.io.IOException;
+
+import com.eafit.tutorial.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Serializa {@link ProductDTO} campo a campo, en el mismo orden y formato que el serializador
+ * de beans de Jackson (nulos incluidos).
+ */
+public class ProductDTOSerializer extends StdSerializer<ProductDTO> {
+
+    static final SerializedString ID = new SerializedString("id");
+    static final SerializedString NAME = new SerializedString("name");
+    static final SerializedString DESCRIPTION = new SerializedString("description");
+    static final SerializedString PRICE = new SerializedString("price");
+    static final SerializedString CATEGORY = new SerializedString("category");
+    static final SerializedString STOCK = new SerializedString("stock");
+    static final SerializedString ACTIVE = new SerializedString("active");
+    static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    public ProductDTOSerializer() {
+        super(ProductDTO.class);
+    }
+
+    @Override
+    public void serialize(ProductDTO product, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(product);
+
+        gen.writeFieldName(ID);
+        if (product.getId() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(product.getId());
+        }
+
+        gen.writeFieldName(NAME);
+        gen.writeString(product.getName());
+
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(product.getDescription());
+
+        gen.writeFieldName(PRICE);
+        gen.writeNumber(product.getPrice());
+
+        gen.writeFieldName(CATEGORY);
+        gen.writeString(product.getCategory());
+
+        gen.writeFieldName(STOCK);
+        if (product.getStock() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(product.getStock());
+        }
+
+        gen.writeFieldName(ACTIVE);
+        if (product.getActive() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(product.getActive());
+        }
+
+        gen.writeFieldName(CREATED_AT);
+        JsonTimestamps.write(product.getCreatedAt(), gen);
+
+        gen.writeFieldName(UPDATED_AT);
+        JsonTimestamps.write(product.getUpdatedAt(), gen);
+
+        gen.writeEndObject();
+    }
+}
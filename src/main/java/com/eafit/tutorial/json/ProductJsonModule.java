@@ -0,0 +1,23 @@
+package com.eafit.tutorial.json;
+
+import com.eafit.tutorial.dto.ApiResponse;
+import com.eafit.tutorial.dto.PagedResponse;
+import com.eafit.tutorial.dto.PartialProductDTO;
+import com.eafit.tutorial.dto.ProductDTO;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Serializadores escritos a mano para las respuestas más frecuentes del API. Producen los mismos
+ * bytes que el serializador de beans de Jackson, sin reflexión ni {@code DateTimeFormatter} por
+ * campo.
+ */
+public class ProductJsonModule extends SimpleModule {
+
+    public ProductJsonModule() {
+        super("ProductJsonModule");
+        addSerializer(ProductDTO.class, new ProductDTOSerializer());
+        addSerializer(ApiResponse.class, new ApiResponseSerializer());
+        addSerializer(PagedResponse.class, new PagedResponseSerializer());
+        addSerializer(PartialProductDTO.class, new PartialProductDTOSerializer());
+    }
+}
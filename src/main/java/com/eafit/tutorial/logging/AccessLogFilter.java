@@ -0,0 +1,86 @@
+package com.eafit.tutorial.logging;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Log de acceso muestreado: una línea por petición con método, ruta, estado y duración.
+ *
+ * Solo se registra una fracción {@code products.logging.access.sample-rate} de las peticiones
+ * normales; los errores 5xx y las que superan {@code products.logging.access.slow-threshold}
+ * se registran siempre (en WARN). La decisión se toma al terminar la petición, así que la
+ * petición no muestreada solo paga dos lecturas de reloj y un número aleatorio.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    /** Logger propio para poder enrutar o silenciar el log de acceso por separado. */
+    public static final String ACCESS_LOGGER = "com.eafit.tutorial.access";
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogFilter.class);
+    private static final Logger accessLog = LoggerFactory.getLogger(ACCESS_LOGGER);
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    @Autowired
+    public AccessLogFilter(@Value("${products.logging.access.enabled:true}") boolean enabled,
+                           @Value("${products.logging.access.sample-rate:1.0}") double sampleRate,
+                           @Value("${products.logging.access.slow-threshold:500ms}") Duration slowThreshold) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("La tasa de muestreo del log de acceso debe estar entre 0 y 1");
+        }
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+
+        logger.info("Log de acceso {} (sampleRate={}, slowThreshold={})",
+            enabled ? "habilitado" : "deshabilitado", sampleRate, slowThreshold);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            int status = response.getStatus();
+            if (status >= 500 || elapsed >= slowThresholdNanos) {
+                accessLog.warn("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+            } else if (sampled() && accessLog.isInfoEnabled()) {
+                accessLog.info("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
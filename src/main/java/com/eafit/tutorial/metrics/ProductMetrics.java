@@ -0,0 +1,136 @@
+package com.eafit.tutorial.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.eafit.tutorial.cache.ProductCache;
+import com.eafit.tutorial.cache.ProductJsonCache;
+import com.eafit.tutorial.search.ProductPriceIndex;
+import com.eafit.tutorial.search.ProductSearchIndex;
+import com.eafit.tutorial.stock.StockWriteBehind;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Métricas de negocio del API de productos.
+ *
+ * La latencia por ruta y estado ({@code http.server.requests}) y por método de repositorio
+ * ({@code spring.data.repository.invocations}) la registra Spring Boot; aquí se cuentan los
+ * resultados que no se distinguen solo por el código HTTP (producto inexistente, nombre
+ * duplicado, stock insuficiente, conflicto de versión, validación fallida) y se exponen el
+ * estado de la caché, del índice de búsqueda y, en modo write-behind, el atraso del flush de stock.
+ */
+@Component
+public class ProductMetrics {
+
+    static final String OUTCOMES = "products.outcomes";
+
+    public static final String NOT_FOUND = "not_found";
+    public static final String CONFLICT = "conflict";
+    public static final String VALIDATION_FAILED = "validation_failed";
+
+    public static final String DUPLICATE_NAME = "duplicate_name";
+    public static final String INSUFFICIENT_STOCK = "insufficient_stock";
+    public static final String CONCURRENT_MODIFICATION = "concurrent_modification";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry registry;
+
+    public ProductMetrics(MeterRegistry registry, ProductCache productCache, ProductJsonCache productJsonCache,
+                          ProductSearchIndex productSearchIndex, ProductPriceIndex productPriceIndex,
+                          StockWriteBehind stockWriteBehind) {
+        this.registry = registry;
+
+        FunctionCounter.builder("products.cache.requests", productCache, cache -> cache.getStats().hits())
+            .tag("result", "hit")
+            .description("Consultas por ID resueltas desde la caché")
+            .register(registry);
+        FunctionCounter.builder("products.cache.requests", productCache, cache -> cache.getStats().misses())
+            .tag("result", "miss")
+            .description("Consultas por ID que tuvieron que ir a la base de datos")
+            .register(registry);
+        FunctionCounter.builder("products.cache.evictions", productCache, cache -> cache.getStats().evictions())
+            .description("Entradas expulsadas de la caché por tamaño o TTL")
+            .register(registry);
+        Gauge.builder("products.cache.size", productCache, cache -> cache.getStats().size())
+            .description("Entradas actualmente en la caché")
+            .register(registry);
+        FunctionCounter.builder("products.json.cache.requests", productJsonCache, cache -> cache.getStats().hits())
+            .tag("result", "hit")
+            .description("Respuestas por ID armadas con el JSON ya serializado")
+            .register(registry);
+        FunctionCounter.builder("products.json.cache.requests", productJsonCache, cache -> cache.getStats().misses())
+            .tag("result", "miss")
+            .description("Respuestas por ID que tuvieron que serializar el producto")
+            .register(registry);
+        Gauge.builder("products.search.index.size", productSearchIndex, ProductSearchIndex::size)
+            .description("Documentos en el índice de búsqueda")
+            .register(registry);
+        Gauge.builder("products.price.index.size", productPriceIndex, ProductPriceIndex::size)
+            .description("Productos en el índice de precios")
+            .register(registry);
+
+        if (stockWriteBehind.isEnabled()) {
+            TimeGauge.builder("products.stock.write.behind.lag", stockWriteBehind, TimeUnit.NANOSECONDS,
+                    writeBehind -> writeBehind.getFlushLag().toNanos())
+                .description("Antigüedad del ajuste de stock confirmado más antiguo que aún no está en la base de datos")
+                .register(registry);
+            Gauge.builder("products.stock.write.behind.pending", stockWriteBehind, StockWriteBehind::getPendingCount)
+                .description("Productos con ajustes de stock pendientes de flush")
+                .register(registry);
+            FunctionCounter.builder("products.stock.write.behind.adjustments", stockWriteBehind,
+                    writeBehind -> writeBehind.getStats().acknowledged())
+                .description("Ajustes de stock confirmados en memoria")
+                .register(registry);
+            FunctionCounter.builder("products.stock.write.behind.flushed", stockWriteBehind,
+                    writeBehind -> writeBehind.getStats().flushed())
+                .tag("result", "applied")
+                .description("Deltas por producto escritos en la base de datos")
+                .register(registry);
+            FunctionCounter.builder("products.stock.write.behind.flushed", stockWriteBehind,
+                    writeBehind -> writeBehind.getStats().rejected())
+                .tag("result", "rejected")
+                .description("Deltas por producto rechazados por la base de datos al hacer flush")
+                .register(registry);
+        }
+    }
+
+    public void notFound(String operation) {
+        outcome(operation, NOT_FOUND, NONE).increment();
+    }
+
+    public void conflict(String operation, String reason) {
+        outcome(operation, CONFLICT, reason).increment();
+    }
+
+    public void conflicts(String operation, String reason, long count) {
+        if (count > 0) {
+            outcome(operation, CONFLICT, reason).increment(count);
+        }
+    }
+
+    public void validationFailure(String operation) {
+        outcome(operation, VALIDATION_FAILED, NONE).increment();
+    }
+
+    public void validationFailures(String operation, long count) {
+        if (count > 0) {
+            outcome(operation, VALIDATION_FAILED, NONE).increment(count);
+        }
+    }
+
+    private Counter outcome(String operation, String outcome, String reason) {
+        return Counter.builder(OUTCOMES)
+            .description("Resultados de negocio no exitosos por operación")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .tag("reason", reason)
+            .register(registry);
+    }
+}
@@ -7,13 +7,19 @@ import java.util.Objects;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.eafit.tutorial.util.TextNormalizer;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
@@ -26,12 +32,27 @@ import jakarta.validation.constraints.Size;
 @Table(name = "products",
        indexes = {
            @Index(name = "idx_product_name", columnList = "name"),
-           @Index(name = "idx_product_category", columnList = "category")
+           @Index(name = "idx_product_category", columnList = "category"),
+           // Un índice (active, campo, id) por campo de ProductCursor.SORTABLE_FIELDS: la página
+           // por cursor filtra por active y ordena por el campo y el ID, sin ordenar en memoria
+           @Index(name = "idx_product_active_id", columnList = "active, id"),
+           @Index(name = "idx_product_active_name", columnList = "active, name, id"),
+           @Index(name = "idx_product_active_price", columnList = "active, price, id"),
+           @Index(name = "idx_product_active_stock", columnList = "active, stock, id"),
+           @Index(name = "idx_product_active_created_at", columnList = "active, created_at, id")
+       },
+       uniqueConstraints = {
+           @UniqueConstraint(name = Product.UNIQUE_NORMALIZED_NAME, columnNames = "normalized_name")
        })
 public class Product {
 
+    public static final String UNIQUE_NORMALIZED_NAME = "uk_product_normalized_name";
+    public static final String ID_SEQUENCE = "product_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
@@ -39,6 +60,13 @@ public class Product {
     @Size(min = 2, max = 100, message = "El nombre debe tener entre 2 y 100 caracteres")
     private String name;
 
+    /**
+     * Nombre en minúsculas y sin tildes; su índice único es el que impide nombres duplicados,
+     * también entre productos inactivos. Se mantiene desde {@link #setName}.
+     */
+    @Column(name = "normalized_name", nullable = false, length = 100)
+    private String normalizedName;
+
     @Column(name = "description", length = 500)
     @Size(max = 500, message = "La descripción no puede exceder 500 caracteres")
     private String description;
@@ -55,6 +83,7 @@ public class Product {
     private String category;
 
     @Column(name = "stock", nullable = false)
+    @NotNull(message = "El stock es obligatorio")
     @Min(value = 0, message = "El stock no puede ser negativo")
     private Integer stock;
 
@@ -69,10 +98,14 @@ public class Product {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Product() {}
 
     public Product(String name, String description, BigDecimal price, String category, Integer stock) {
-        this.name = name;
+        setName(name);
         this.description = description;
         this.price = price;
         this.category = category;
@@ -80,11 +113,31 @@ public class Product {
         this.active = true;
     }
 
+    /**
+     * Con ids de secuencia el INSERT se difiere hasta el flush; se inicializan las fechas al
+     * persistir para que el producto devuelto por save() ya las tenga.
+     */
+    @PrePersist
+    void initializeTimestamps() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        if (updatedAt == null) {
+            updatedAt = now;
+        }
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) {
+        this.name = name;
+        this.normalizedName = TextNormalizer.fold(name);
+    }
+
+    public String getNormalizedName() { return normalizedName; }
 
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
@@ -107,6 +160,9 @@ public class Product {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
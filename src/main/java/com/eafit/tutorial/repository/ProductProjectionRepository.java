@@ -0,0 +1,23 @@
+package com.eafit.tutorial.repository;
+
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.dto.ProductField;
+import com.eafit.tutorial.model.Product;
+
+/**
+ * Consultas que seleccionan solo algunas columnas de {@code products}.
+ */
+public interface ProductProjectionRepository {
+
+    /**
+     * Productos que cumplen {@code spec} como {@link ProductDTO} con únicamente {@code fields}
+     * cargados; los demás campos quedan en {@code null}. No instancia entidades.
+     */
+    Page<ProductDTO> findProjected(Specification<Product> spec, Set<ProductField> fields, Pageable pageable);
+}
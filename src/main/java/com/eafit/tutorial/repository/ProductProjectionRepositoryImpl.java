@@ -0,0 +1,100 @@
+package com.eafit.tutorial.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.dto.ProductField;
+import com.eafit.tutorial.model.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Las proyecciones de interfaz de Spring Data fijan las columnas al compilar; aquí el cliente las
+ * elige por petición, así que se arma un {@code SELECT} de tuplas con solo esos atributos.
+ */
+class ProductProjectionRepositoryImpl implements ProductProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductDTO> findProjected(Specification<Product> spec, Set<ProductField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> root.get(field.attribute()).alias(field.attribute()))
+                .toList();
+        query.multiselect(selections);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        List<ProductDTO> content = typedQuery.getResultList().stream()
+                .map(tuple -> toDTO(tuple, fields))
+                .toList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    private long count(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(cb.count(root));
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static ProductDTO toDTO(Tuple tuple, Set<ProductField> fields) {
+        ProductDTO dto = new ProductDTO();
+        for (ProductField field : fields) {
+            Object value = tuple.get(field.attribute());
+            switch (field) {
+                case ID -> dto.setId((Long) value);
+                case NAME -> dto.setName((String) value);
+                case DESCRIPTION -> dto.setDescription((String) value);
+                case PRICE -> dto.setPrice((BigDecimal) value);
+                case CATEGORY -> dto.setCategory((String) value);
+                case STOCK -> dto.setStock((Integer) value);
+                case ACTIVE -> dto.setActive((Boolean) value);
+                case CREATED_AT -> dto.setCreatedAt((LocalDateTime) value);
+                case UPDATED_AT -> dto.setUpdatedAt((LocalDateTime) value);
+            }
+        }
+        return dto;
+    }
+}
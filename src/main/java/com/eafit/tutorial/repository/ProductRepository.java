@@ -1,25 +1,44 @@
 package com.eafit.tutorial.repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.stats.CategoryPriceBucket;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+                                           ProductProjectionRepository {
 
     List<Product> findByActiveTrue();
 
     Page<Product> findByActiveTrue(Pageable pageable);
 
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p WHERE p.active = true ORDER BY p.id")
+    Stream<Product> streamByActiveTrue();
+
     List<Product> findByCategoryIgnoreCaseAndActiveTrue(String category);
 
     @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.active = true")
@@ -34,7 +53,30 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT COUNT(p) FROM Product p WHERE p.category = :category AND p.active = true")
     Long countByCategory(@Param("category") String category);
 
-    boolean existsByNameIgnoreCaseAndIdNot(String name, Long id);
+    @Query("SELECT new com.eafit.tutorial.stats.CategoryPriceBucket(p.category, p.price, COUNT(p), SUM(p.stock)) " +
+           "FROM Product p WHERE p.active = true GROUP BY p.category, p.price")
+    List<CategoryPriceBucket> findCategoryPriceBuckets();
+
+    @Query("SELECT p.normalizedName FROM Product p WHERE p.normalizedName IN :names")
+    List<String> findExistingNormalizedNames(@Param("names") Collection<String> normalizedNames);
 
     Optional<Product> findByIdAndActiveTrue(Long id);
+
+    List<Product> findByIdInAndActiveTrue(Collection<Long> ids);
+
+    boolean existsByIdAndActiveTrue(Long id);
+
+    @Query("SELECT p.updatedAt FROM Product p WHERE p.id = :id AND p.active = true")
+    Optional<LocalDateTime> findUpdatedAtByIdAndActiveTrue(@Param("id") Long id);
+
+    /**
+     * Suma {@code delta} al stock en una sola sentencia; no aplica el cambio si el stock quedaría
+     * negativo o por encima de {@link Integer#MAX_VALUE}. La condición suma en {@code long} para
+     * que el desborde no llegue a evaluarse en la columna entera. Devuelve la cantidad de filas
+     * actualizadas (0 o 1).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock + :delta, p.version = p.version + 1, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.active = true AND cast(p.stock as Long) + :delta BETWEEN 0 AND 2147483647")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
 }
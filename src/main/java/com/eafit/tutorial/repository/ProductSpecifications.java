@@ -0,0 +1,62 @@
+package com.eafit.tutorial.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.util.ProductCursor;
+
+import jakarta.persistence.criteria.Path;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {}
+
+    public static Specification<Product> isActive() {
+        return (root, query, cb) -> cb.isTrue(root.get("active"));
+    }
+
+    public static Specification<Product> hasCategoryIgnoreCase(String category) {
+        return (root, query, cb) -> cb.equal(cb.upper(root.get("category")), cb.upper(cb.literal(category)));
+    }
+
+    public static Specification<Product> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Predicado keyset: {@code (campo, id) > (último valor, último id)} según la dirección
+     * del cursor. Usa el id como desempate para que el orden sea total.
+     */
+    public static <T extends Comparable<? super T>> Specification<Product> after(ProductCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            boolean asc = cursor.getDirection().isAscending();
+
+            if ("id".equals(cursor.getSortField())) {
+                return asc ? cb.greaterThan(id, cursor.getLastId()) : cb.lessThan(id, cursor.getLastId());
+            }
+
+            Path<T> field = root.get(cursor.getSortField());
+            T value = cursor.getTypedValue();
+
+            return cb.or(
+                asc ? cb.greaterThan(field, value) : cb.lessThan(field, value),
+                cb.and(
+                    cb.equal(field, value),
+                    asc ? cb.greaterThan(id, cursor.getLastId()) : cb.lessThan(id, cursor.getLastId())
+                )
+            );
+        };
+    }
+
+    public static Sort keysetSort(String sortField, Sort.Direction direction) {
+        ProductCursor.requireSortable(sortField);
+        if ("id".equals(sortField)) {
+            return Sort.by(direction, "id");
+        }
+        return Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+    }
+}
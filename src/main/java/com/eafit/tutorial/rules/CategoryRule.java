@@ -0,0 +1,35 @@
+package com.eafit.tutorial.rules;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Regla de coherencia precio/stock para las categorías cuyo nombre normalizado contiene alguno
+ * de los fragmentos de {@code match}. Los límites son inclusivos y opcionales.
+ */
+public record CategoryRule(List<String> match,
+                           BigDecimal minPrice,
+                           BigDecimal maxPrice,
+                           String priceMessage,
+                           Integer minStock,
+                           Integer maxStock,
+                           String stockMessage) {
+
+    void validate() {
+        if (match == null || match.isEmpty() || match.stream().anyMatch(m -> m == null || m.isBlank())) {
+            throw new IllegalArgumentException("La regla de categoría debe indicar al menos un fragmento en 'match'");
+        }
+        if ((minPrice != null || maxPrice != null) && (priceMessage == null || priceMessage.isBlank())) {
+            throw new IllegalArgumentException("La regla " + match + " define límites de precio sin 'priceMessage'");
+        }
+        if ((minStock != null || maxStock != null) && (stockMessage == null || stockMessage.isBlank())) {
+            throw new IllegalArgumentException("La regla " + match + " define límites de stock sin 'stockMessage'");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("La regla " + match + " tiene minPrice mayor que maxPrice");
+        }
+        if (minStock != null && maxStock != null && minStock > maxStock) {
+            throw new IllegalArgumentException("La regla " + match + " tiene minStock mayor que maxStock");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.eafit.tutorial.rules;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.eafit.tutorial.util.TextNormalizer;
+
+/**
+ * Conjunto inmutable de reglas compiladas.
+ *
+ * La primera vez que se evalúa una categoría se normaliza (minúsculas, sin tildes) y se resuelve
+ * qué reglas le aplican; el resultado queda indexado por el nombre tal como llega, así que las
+ * evaluaciones siguientes son una búsqueda en el mapa más comparaciones contra límites
+ * precalculados.
+ */
+final class CategoryRuleSet {
+
+    private static final int MAX_INDEXED_CATEGORIES = 10_000;
+    private static final Compiled[] NONE = new Compiled[0];
+
+    private final Compiled[] rules;
+    private final Map<String, Compiled[]> byCategory = new ConcurrentHashMap<>();
+
+    private CategoryRuleSet(Compiled[] rules) {
+        this.rules = rules;
+    }
+
+    static CategoryRuleSet compile(List<CategoryRule> rules) {
+        Compiled[] compiled = new Compiled[rules.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            CategoryRule rule = rules.get(i);
+            rule.validate();
+            compiled[i] = new Compiled(rule);
+        }
+        return new CategoryRuleSet(compiled);
+    }
+
+    int size() {
+        return rules.length;
+    }
+
+    /**
+     * Mensaje de la última regla de precio incumplida, como cuando cada regla sobrescribía el
+     * error anterior.
+     */
+    Optional<String> priceViolation(String category, BigDecimal price) {
+        String violation = null;
+        for (Compiled rule : rulesFor(category)) {
+            if ((rule.minPrice != null && price.compareTo(rule.minPrice) < 0)
+                    || (rule.maxPrice != null && price.compareTo(rule.maxPrice) > 0)) {
+                violation = rule.priceMessage;
+            }
+        }
+        return Optional.ofNullable(violation);
+    }
+
+    /**
+     * Mensaje de la primera regla de stock incumplida.
+     */
+    Optional<String> stockViolation(String category, int stock) {
+        for (Compiled rule : rulesFor(category)) {
+            if (stock < rule.minStock || stock > rule.maxStock) {
+                return Optional.of(rule.stockMessage);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Compiled[] rulesFor(String category) {
+        Compiled[] resolved = byCategory.get(category);
+        if (resolved != null) {
+            return resolved;
+        }
+
+        resolved = resolve(TextNormalizer.fold(category));
+        if (byCategory.size() < MAX_INDEXED_CATEGORIES) {
+            byCategory.put(category, resolved);
+        }
+        return resolved;
+    }
+
+    private Compiled[] resolve(String normalizedCategory) {
+        List<Compiled> matching = new ArrayList<>();
+        for (Compiled rule : rules) {
+            for (String fragment : rule.match) {
+                if (normalizedCategory.contains(fragment)) {
+                    matching.add(rule);
+                    break;
+                }
+            }
+        }
+        return matching.isEmpty() ? NONE : matching.toArray(new Compiled[0]);
+    }
+
+    private static final class Compiled {
+        private final String[] match;
+        private final BigDecimal minPrice;
+        private final BigDecimal maxPrice;
+        private final String priceMessage;
+        private final int minStock;
+        private final int maxStock;
+        private final String stockMessage;
+
+        private Compiled(CategoryRule rule) {
+            this.match = rule.match().stream().map(TextNormalizer::fold).toArray(String[]::new);
+            this.minPrice = rule.minPrice();
+            this.maxPrice = rule.maxPrice();
+            this.priceMessage = rule.priceMessage();
+            this.minStock = rule.minStock() != null ? rule.minStock() : Integer.MIN_VALUE;
+            this.maxStock = rule.maxStock() != null ? rule.maxStock() : Integer.MAX_VALUE;
+            this.stockMessage = rule.stockMessage();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.eafit.tutorial.rules;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reglas de precio y stock por categoría, leídas del JSON en
+ * {@code products.validation.category-rules-file}.
+ *
+ * Igual que con {@code ForbiddenWords}, una recarga compila el conjunto nuevo aparte y lo
+ * publica con un intercambio de referencia; si el archivo es ilegible o alguna regla es
+ * inválida se conservan las reglas anteriores.
+ */
+@Component
+public class CategoryRules {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRules.class);
+
+    static final String DEFAULT_LOCATION = "classpath:category-rules.json";
+
+    private static final TypeReference<List<CategoryRule>> RULE_LIST = new TypeReference<>() {};
+
+    private final Resource source;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<CategoryRuleSet> rules = new AtomicReference<>();
+    private volatile long sourceLastModified;
+
+    @Autowired
+    public CategoryRules(@Value("${products.validation.category-rules-file:" + DEFAULT_LOCATION + "}") String location) {
+        this.source = new DefaultResourceLoader().getResource(location);
+        reload();
+    }
+
+    public static CategoryRules defaults() {
+        return new CategoryRules(DEFAULT_LOCATION);
+    }
+
+    public Optional<String> priceViolation(String category, BigDecimal price) {
+        if (category == null || price == null) {
+            return Optional.empty();
+        }
+        return rules.get().priceViolation(category, price);
+    }
+
+    public Optional<String> stockViolation(String category, Integer stock) {
+        if (category == null || stock == null) {
+            return Optional.empty();
+        }
+        return rules.get().stockViolation(category, stock);
+    }
+
+    public int size() {
+        return rules.get().size();
+    }
+
+    /**
+     * Vuelve a leer y compilar las reglas.
+     *
+     * @throws UncheckedIOException si el archivo no se puede leer
+     * @throws IllegalArgumentException si alguna regla es inválida
+     */
+    public void reload() {
+        long lastModified = lastModified();
+        List<CategoryRule> loaded;
+        try (InputStream input = source.getInputStream()) {
+            loaded = objectMapper.readValue(input, RULE_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron leer las reglas de categoría: " + source, e);
+        }
+
+        CategoryRuleSet compiled = CategoryRuleSet.compile(loaded);
+        rules.set(compiled);
+        sourceLastModified = lastModified;
+        logger.info("Reglas de categoría cargadas: {}", compiled.size());
+    }
+
+    @Scheduled(initialDelayString = "${products.validation.category-rules-reload-interval:PT1M}",
+               fixedDelayString = "${products.validation.category-rules-reload-interval:PT1M}")
+    public void reloadIfChanged() {
+        if (lastModified() == sourceLastModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (UncheckedIOException | IllegalArgumentException e) {
+            logger.error("No se pudieron recargar las reglas de categoría; se conservan las anteriores", e);
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return source.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.eafit.tutorial.search;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.eafit.tutorial.model.Product;
+
+/**
+ * Índice en memoria de los productos activos ordenados por precio (en centavos) y luego por ID.
+ *
+ * Una consulta por rango cuesta O(log n + k): se ubica el primer precio mayor o igual al mínimo
+ * en la lista ordenada y se recorre hasta el máximo o hasta completar {@code limit} resultados,
+ * así que "los N más baratos del rango" no recorre el resto. Las escrituras sobre un mismo ID se
+ * serializan para que nunca queden dos precios para el mismo producto.
+ *
+ * Una reconstrucción ({@link #startRebuild()}) llena un índice nuevo aparte y lo publica con una
+ * sola asignación, así que las consultas nunca ven un índice vacío o a medio cargar.
+ */
+@Component
+public class ProductPriceIndex {
+
+    private static final BigInteger MIN_CENTS = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger MAX_CENTS = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private static final Comparator<PriceKey> ORDER =
+            Comparator.comparingLong(PriceKey::priceCents).thenComparingLong(PriceKey::id);
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Lectura: escrituras individuales; escritura: iniciar o publicar una reconstrucción
+    private final ReentrantReadWriteLock swap = new ReentrantReadWriteLock();
+
+    private volatile Entries entries = new Entries();
+    private volatile Rebuild rebuilding;
+
+    /**
+     * Indexa o reemplaza el precio del producto; los productos inactivos se eliminan del índice.
+     */
+    public void index(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(product.getActive()) || product.getPrice() == null) {
+            remove(product.getId());
+            return;
+        }
+
+        long cents = toCents(product.getPrice(), RoundingMode.HALF_UP);
+        swap.readLock().lock();
+        try {
+            entries.put(product.getId(), cents);
+            Rebuild rebuild = rebuilding;
+            if (rebuild != null) {
+                rebuild.touched.add(product.getId());
+                rebuild.next.put(product.getId(), cents);
+            }
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    public void indexAll(Iterable<Product> products) {
+        for (Product product : products) {
+            index(product);
+        }
+    }
+
+    public void remove(Long id) {
+        if (id == null) {
+            return;
+        }
+        swap.readLock().lock();
+        try {
+            entries.remove(id);
+            Rebuild rebuild = rebuilding;
+            if (rebuild != null) {
+                rebuild.touched.add(id);
+                rebuild.next.remove(id);
+            }
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    /**
+     * Empieza a llenar un índice nuevo que reemplaza al actual en {@link Rebuild#publish()}. Las
+     * escrituras que llegan mientras tanto se aplican a ambos y prevalecen sobre lo que la
+     * reconstrucción lea después para el mismo ID. Solo corre una reconstrucción a la vez.
+     */
+    public Rebuild startRebuild() {
+        rebuildLock.lock();
+        Rebuild rebuild = new Rebuild();
+        swap.writeLock().lock();
+        try {
+            rebuilding = rebuild;
+        } finally {
+            swap.writeLock().unlock();
+        }
+        return rebuild;
+    }
+
+    /**
+     * IDs de los productos con precio en [{@code minPrice}, {@code maxPrice}], del más barato al
+     * más caro, como máximo {@code limit}. Los límites fuera del rango de {@code long} en
+     * centavos se recortan, así que un límite enorme equivale a "sin límite".
+     */
+    public List<Long> range(BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        long from = clampedCents(minPrice, RoundingMode.CEILING);
+        long to = clampedCents(maxPrice, RoundingMode.FLOOR);
+        if (from > to || limit <= 0) {
+            return List.of();
+        }
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, 256));
+        for (PriceKey key : entries.byPrice.subSet(new PriceKey(from, Long.MIN_VALUE), true, new PriceKey(to, Long.MAX_VALUE), true)) {
+            ids.add(key.id());
+            if (ids.size() == limit) {
+                break;
+            }
+        }
+        return ids;
+    }
+
+    public int size() {
+        return entries.priceById.size();
+    }
+
+    private static long toCents(BigDecimal price, RoundingMode rounding) {
+        return price.setScale(2, rounding).unscaledValue().longValueExact();
+    }
+
+    private static long clampedCents(BigDecimal price, RoundingMode rounding) {
+        // Más de 17 dígitos enteros ya no cabe en centavos; evita escalar exponentes absurdos
+        if (price.precision() - price.scale() > 17) {
+            return price.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        BigInteger cents = price.setScale(2, rounding).unscaledValue();
+        return cents.max(MIN_CENTS).min(MAX_CENTS).longValue();
+    }
+
+    /**
+     * Reconstrucción en curso; se obtiene con {@link #startRebuild()} y se cierra siempre, se
+     * haya publicado o no.
+     */
+    public final class Rebuild implements AutoCloseable {
+
+        private final Entries next = new Entries();
+        private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+        private boolean closed;
+
+        private Rebuild() {}
+
+        /**
+         * Agrega un producto leído de la base de datos, salvo que una escritura concurrente ya
+         * haya fijado el precio de ese ID.
+         */
+        public void add(Product product) {
+            if (product.getId() == null || !Boolean.TRUE.equals(product.getActive()) || product.getPrice() == null) {
+                return;
+            }
+            long cents = toCents(product.getPrice(), RoundingMode.HALF_UP);
+            next.putUnless(product.getId(), cents, touched);
+        }
+
+        public void publish() {
+            if (closed) {
+                throw new IllegalStateException("La reconstrucción del índice de precios ya terminó");
+            }
+            swap.writeLock().lock();
+            try {
+                entries = next;
+                rebuilding = null;
+            } finally {
+                swap.writeLock().unlock();
+            }
+            close();
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            swap.writeLock().lock();
+            try {
+                if (rebuilding == this) {
+                    rebuilding = null;
+                }
+            } finally {
+                swap.writeLock().unlock();
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    private static final class Entries {
+
+        private final ConcurrentSkipListSet<PriceKey> byPrice = new ConcurrentSkipListSet<>(ORDER);
+        private final ConcurrentHashMap<Long, Long> priceById = new ConcurrentHashMap<>();
+
+        void put(Long id, long cents) {
+            priceById.compute(id, (key, previous) -> move(key, previous, cents));
+        }
+
+        void putUnless(Long id, long cents, Set<Long> skip) {
+            priceById.compute(id, (key, previous) -> skip.contains(key) ? previous : move(key, previous, cents));
+        }
+
+        void remove(Long id) {
+            priceById.computeIfPresent(id, (key, previous) -> {
+                byPrice.remove(new PriceKey(previous, key));
+                return null;
+            });
+        }
+
+        private Long move(Long id, Long previous, long cents) {
+            if (previous != null && previous != cents) {
+                byPrice.remove(new PriceKey(previous, id));
+            }
+            byPrice.add(new PriceKey(cents, id));
+            return cents;
+        }
+    }
+
+    private record PriceKey(long priceCents, long id) {}
+}
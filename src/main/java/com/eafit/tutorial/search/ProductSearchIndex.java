@@ -0,0 +1,466 @@
+package com.eafit.tutorial.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.eafit.tutorial.model.Product;
+
+/**
+ * Índice de texto completo embebido (Lucene) sobre nombre y descripción de los productos activos.
+ *
+ * Los términos se normalizan a minúsculas y sin tildes, y cada término de la búsqueda debe
+ * coincidir completo o como prefijo en alguno de los dos campos; el nombre pesa más que la
+ * descripción en el ranking. El índice vive en memoria salvo que se configure
+ * {@code products.search.index-path}.
+ *
+ * Las escrituras no refrescan el buscador: un hilo lo refresca cada
+ * {@code products.search.refresh-interval} y una búsqueda que encuentra escrituras aún no
+ * visibles lo refresca antes de consultar, así que varias escrituras seguidas comparten un
+ * único refresco. La reconstrucción carga un índice aparte y lo reemplaza de una vez.
+ */
+@Component
+public class ProductSearchIndex implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_NAME = "name";
+    static final String FIELD_DESCRIPTION = "description";
+
+    private static final float NAME_BOOST = 3.0f;
+    private static final float NAME_PREFIX_BOOST = 1.5f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+    private static final float DESCRIPTION_PREFIX_BOOST = 0.5f;
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final Analyzer analyzer = new ProductAnalyzer();
+    private final boolean inMemory;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ScheduledExecutorService refresher;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Lectura: escrituras individuales; escritura: empezar una reconstrucción o publicarla
+    private final ReentrantReadWriteLock swap = new ReentrantReadWriteLock();
+
+    private volatile long visibleWrites;
+    private volatile Rebuild rebuilding;
+
+    public ProductSearchIndex(@Value("${products.search.index-path:}") String indexPath,
+                              @Value("${products.search.refresh-interval:100ms}") Duration refreshInterval) throws IOException {
+        this.inMemory = indexPath == null || indexPath.isBlank();
+        this.directory = inMemory ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-search-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = refreshInterval.toNanos();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+
+        logger.info("Índice de búsqueda de productos inicializado en {} (refresco cada {})",
+                inMemory ? "memoria" : indexPath, refreshInterval);
+    }
+
+    /**
+     * Indexa o reemplaza el producto; los productos inactivos se eliminan del índice.
+     */
+    public void index(Product product) {
+        swap.readLock().lock();
+        try {
+            write(writer, product);
+            Rebuild rebuild = rebuilding;
+            if (rebuild != null) {
+                rebuild.override(product.getId(), next -> write(next, product));
+            }
+            writes.incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo indexar el producto " + product.getId(), e);
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    public void indexAll(Iterable<Product> products) {
+        for (Product product : products) {
+            index(product);
+        }
+    }
+
+    public void remove(Long id) {
+        swap.readLock().lock();
+        try {
+            writer.deleteDocuments(idTerm(id));
+            Rebuild rebuild = rebuilding;
+            if (rebuild != null) {
+                rebuild.override(id, next -> next.deleteDocuments(idTerm(id)));
+            }
+            writes.incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo eliminar del índice el producto " + id, e);
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstruye el índice completo en un índice aparte y reemplaza el contenido del actual al
+     * terminar la carga; hasta entonces, y si la carga falla, las búsquedas siguen viendo la
+     * versión anterior. Las escrituras concurrentes se aplican a ambos índices y prevalecen sobre
+     * lo que la carga lea después para el mismo ID. Solo corre una reconstrucción a la vez.
+     */
+    public long rebuild(Iterator<Product> products) {
+        rebuildLock.lock();
+        try {
+            Rebuild rebuild = new Rebuild();
+            try {
+                setRebuilding(rebuild);
+                long count = 0;
+                while (products.hasNext()) {
+                    rebuild.load(products.next());
+                    count++;
+                }
+                publish(rebuild);
+                return count;
+            } finally {
+                setRebuilding(null);
+                rebuild.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo reconstruir el índice de búsqueda", e);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Hace visibles las escrituras pendientes; no hace nada si no las hay.
+     */
+    public void refresh() {
+        long pending = writes.get();
+        if (visibleWrites >= pending) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            // Otra búsqueda pudo haber refrescado mientras se esperaba el lock
+            pending = writes.get();
+            if (visibleWrites < pending) {
+                // Espera a que termine una publicación en curso para no ver el índice vacío
+                swap.readLock().lock();
+                try {
+                    searcherManager.maybeRefreshBlocking();
+                } finally {
+                    swap.readLock().unlock();
+                }
+                visibleWrites = pending;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo refrescar el índice de búsqueda", e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve los IDs de la página solicitada, ordenados por relevancia.
+     */
+    public List<Long> search(String text, int page, int size) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return List.of();
+        }
+        refresh();
+
+        int window = Math.min((page + 1) * size, MAX_RESULT_WINDOW);
+        int from = page * size;
+        if (from >= window) {
+            return List.of();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, window);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                ScoreDoc[] hits = topDocs.scoreDocs;
+                for (int i = from; i < hits.length; i++) {
+                    ids.add(storedFields.document(hits[i].doc).getField(FIELD_ID).numericValue().longValue());
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al consultar el índice de búsqueda", e);
+        }
+    }
+
+    public int size() {
+        refresh();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.getIndexReader().numDocs();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException, InterruptedException {
+        refresher.shutdown();
+        // Un refresco en curso no debe encontrar el writer cerrado
+        refresher.awaitTermination(5, TimeUnit.SECONDS);
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            logger.warn("Falló el refresco periódico del índice de búsqueda: {}", e.getMessage());
+        }
+    }
+
+    private void setRebuilding(Rebuild rebuild) {
+        swap.writeLock().lock();
+        try {
+            rebuilding = rebuild;
+        } finally {
+            swap.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reemplaza el contenido del índice por el reconstruido. Bloquea las escrituras solo durante
+     * la copia de segmentos, no durante la carga.
+     */
+    private void publish(Rebuild rebuild) throws IOException {
+        rebuild.writer.commit();
+        swap.writeLock().lock();
+        try {
+            // addIndexes exige que ningún writer tenga abierto el índice de origen
+            rebuild.writer.close();
+            writer.deleteAll();
+            writer.addIndexes(rebuild.directory);
+            writer.commit();
+            rebuilding = null;
+            writes.incrementAndGet();
+        } finally {
+            swap.writeLock().unlock();
+        }
+        refresh();
+    }
+
+    private static void write(IndexWriter target, Product product) throws IOException {
+        if (!Boolean.TRUE.equals(product.getActive())) {
+            target.deleteDocuments(idTerm(product.getId()));
+            return;
+        }
+
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, product.getId().toString(), Field.Store.NO));
+        document.add(new StoredField(FIELD_ID, product.getId()));
+        document.add(new TextField(FIELD_NAME, product.getName(), Field.Store.NO));
+        if (product.getDescription() != null) {
+            document.add(new TextField(FIELD_DESCRIPTION, product.getDescription(), Field.Store.NO));
+        }
+        target.updateDocument(idTerm(product.getId()), document);
+    }
+
+    private Query buildQuery(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder perTerm = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(FIELD_NAME, term)), NAME_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(FIELD_DESCRIPTION, term)), DESCRIPTION_BOOST), BooleanClause.Occur.SHOULD);
+            if (term.length() > 1) {
+                perTerm.add(new BoostQuery(new PrefixQuery(new Term(FIELD_NAME, term)), NAME_PREFIX_BOOST), BooleanClause.Occur.SHOULD)
+                       .add(new BoostQuery(new PrefixQuery(new Term(FIELD_DESCRIPTION, term)), DESCRIPTION_PREFIX_BOOST), BooleanClause.Occur.SHOULD);
+            }
+            query.add(perTerm.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        try (TokenStream stream = analyzer.tokenStream(FIELD_NAME, text)) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(attribute.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Term idTerm(Long id) {
+        return new Term(FIELD_ID, id.toString());
+    }
+
+    @FunctionalInterface
+    private interface IndexWrite {
+        void apply(IndexWriter writer) throws IOException;
+    }
+
+    /**
+     * Índice en construcción. Los IDs escritos durante la carga quedan marcados y la carga ya no
+     * los sobrescribe; la marca y la escritura se hacen bajo el mismo {@code compute} para que
+     * nunca se intercalen con la carga de ese ID.
+     */
+    private final class Rebuild implements AutoCloseable {
+
+        private final Path path;
+        private final Directory directory;
+        private final IndexWriter writer;
+        private final ConcurrentHashMap<Long, Boolean> overridden = new ConcurrentHashMap<>();
+
+        Rebuild() throws IOException {
+            this.path = inMemory ? null : Files.createTempDirectory("products-search-rebuild");
+            this.directory = inMemory ? new ByteBuffersDirectory() : FSDirectory.open(path);
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        }
+
+        void load(Product product) throws IOException {
+            if (product.getId() == null || overridden.containsKey(product.getId())) {
+                return;
+            }
+            try {
+                overridden.compute(product.getId(), (id, written) -> {
+                    if (written == null) {
+                        try {
+                            write(writer, product);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                    return written;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        void override(Long id, IndexWrite write) throws IOException {
+            try {
+                overridden.compute(id, (key, written) -> {
+                    try {
+                        write.apply(writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return Boolean.TRUE;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (writer.isOpen()) {
+                    writer.close();
+                }
+                directory.close();
+            } finally {
+                if (path != null) {
+                    try (Stream<Path> files = Files.walk(path)) {
+                        files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tokenizador estándar + minúsculas + plegado de tildes (á → a, ñ → n).
+     */
+    static final class ProductAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new LowerCaseFilter(tokenizer);
+            stream = new ASCIIFoldingFilter(stream);
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+    }
+}
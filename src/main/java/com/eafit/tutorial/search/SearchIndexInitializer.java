@@ -0,0 +1,25 @@
+package com.eafit.tutorial.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.eafit.tutorial.service.ProductService;
+
+/**
+ * Reconstruye el índice de búsqueda desde la base de datos al arrancar la aplicación.
+ */
+@Component
+@ConditionalOnProperty(name = "products.search.rebuild-on-startup", havingValue = "true", matchIfMissing = true)
+public class SearchIndexInitializer implements ApplicationRunner {
+
+    @Autowired
+    private ProductService productService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        productService.rebuildSearchIndex();
+    }
+}
@@ -0,0 +1,62 @@
+package com.eafit.tutorial.service;
+
+import com.eafit.tutorial.model.Product;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado por elemento de una creación masiva, en el mismo orden de la petición.
+ */
+public class BatchCreateResult {
+
+    public enum Status { CREATED, DUPLICATE, INVALID }
+
+    private final List<Item> items;
+
+    public BatchCreateResult(int size) {
+        this.items = new ArrayList<>(Collections.nCopies(size, null));
+    }
+
+    public void created(int index, Product product) {
+        items.set(index, new Item(index, Status.CREATED, product, null));
+    }
+
+    public void rejected(int index, Status status, String message) {
+        items.set(index, new Item(index, status, null, message));
+    }
+
+    public List<Item> getItems() { return Collections.unmodifiableList(items); }
+
+    public long getCreatedCount() {
+        return count(Status.CREATED);
+    }
+
+    public long getFailedCount() {
+        return items.size() - getCreatedCount();
+    }
+
+    public long count(Status status) {
+        return items.stream().filter(item -> item.getStatus() == status).count();
+    }
+
+    public static class Item {
+        private final int index;
+        private final Status status;
+        private final Product product;
+        private final String message;
+
+        public Item(int index, Status status, Product product, String message) {
+            this.index = index;
+            this.status = status;
+            this.product = product;
+            this.message = message;
+        }
+
+        public int getIndex() { return index; }
+        public Status getStatus() { return status; }
+        public Product getProduct() { return product; }
+        public String getMessage() { return message; }
+    }
+}
@@ -1,12 +1,24 @@
 package com.eafit.tutorial.service;
 
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.dto.ProductField;
 import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.stats.CategoryStats;
+import com.eafit.tutorial.util.CatalogVersion;
+import com.eafit.tutorial.util.ProductCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
@@ -14,23 +26,65 @@ public interface ProductService {
 
     Page<Product> getAllProducts(Pageable pageable);
 
+    Slice<Product> getAllProducts(ProductCursor after, String sortField, Sort.Direction direction, int size);
+
+    /**
+     * Variantes con proyección: el SQL solo selecciona las columnas de {@code fields} y los
+     * campos no pedidos quedan en {@code null}.
+     */
+    List<ProductDTO> getAllProducts(Set<ProductField> fields);
+
+    Page<ProductDTO> getAllProducts(Pageable pageable, Set<ProductField> fields);
+
+    long streamAllProducts(Consumer<Product> consumer);
+
     Optional<Product> getProductById(Long id);
 
+    /**
+     * Productos activos con los IDs dados, resueltos con consultas {@code IN} por bloques. Los
+     * IDs inexistentes o inactivos no aparecen en el mapa.
+     */
+    Map<Long, Product> getProductsByIds(Collection<Long> ids);
+
+    Optional<LocalDateTime> getProductLastModified(Long id);
+
+    CatalogVersion getCatalogVersion();
+
     Product createProduct(Product product);
 
+    BatchCreateResult createProducts(List<Product> products);
+
     Product updateProduct(Long id, Product product);
 
     void deleteProduct(Long id);
 
     List<Product> getProductsByCategory(String category);
 
+    List<ProductDTO> getProductsByCategory(String category, Set<ProductField> fields);
+
     List<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice);
 
+    List<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit);
+
     List<Product> searchProductsByName(String name);
 
+    List<Product> searchProducts(String text, int page, int size);
+
+    List<ProductDTO> searchProducts(String text, int page, int size, Set<ProductField> fields);
+
+    long rebuildSearchIndex();
+
     List<Product> getProductsWithLowStock(Integer minStock);
 
     boolean existsProduct(Long id);
 
     Product updateStock(Long id, Integer newStock);
+
+    Product adjustStock(Long id, int delta);
+
+    List<CategoryStats> getCategoryStatistics();
+
+    Optional<CategoryStats> getCategoryStatistics(String category);
+
+    int reconcileCategoryStatistics();
 }
@@ -1,22 +1,66 @@
 package com.eafit.tutorial.service.impl;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eafit.tutorial.alert.LowStockAlerts;
+import com.eafit.tutorial.alert.StockChange;
+import com.eafit.tutorial.cache.ProductCache;
+import com.eafit.tutorial.datasource.PrimaryReads;
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.dto.ProductField;
+import com.eafit.tutorial.exception.InsufficientStockException;
 import com.eafit.tutorial.exception.ProductAlreadyExistsException;
 import com.eafit.tutorial.exception.ProductNotFoundException;
+import com.eafit.tutorial.exception.StockOverflowException;
 import com.eafit.tutorial.model.Product;
 import com.eafit.tutorial.repository.ProductRepository;
+import com.eafit.tutorial.repository.ProductSpecifications;
+import com.eafit.tutorial.search.ProductPriceIndex;
+import com.eafit.tutorial.search.ProductSearchIndex;
+import com.eafit.tutorial.service.BatchCreateResult;
 import com.eafit.tutorial.service.ProductService;
+import com.eafit.tutorial.stats.CategoryStatistics;
+import com.eafit.tutorial.stats.CategoryStatistics.Contribution;
+import com.eafit.tutorial.stats.CategoryStats;
+import com.eafit.tutorial.stock.StockWriteBehind;
+import com.eafit.tutorial.util.CatalogVersion;
+import com.eafit.tutorial.util.CatalogVersionTracker;
+import com.eafit.tutorial.util.ProductCursor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @Service
 @Transactional
@@ -24,9 +68,40 @@ public class ProductServiceImpl implements ProductService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductServiceImpl.class);
 
+    private static final int BATCH_FLUSH_SIZE = 50;
+    private static final int NAME_LOOKUP_CHUNK_SIZE = 1000;
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductPriceIndex productPriceIndex;
+
+    @Autowired
+    private CategoryStatistics categoryStatistics;
+
+    @Autowired
+    private LowStockAlerts lowStockAlerts;
+
+    @Autowired
+    private StockWriteBehind stockWriteBehind;
+
+    @Autowired
+    private CatalogVersionTracker catalogVersionTracker;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
@@ -41,49 +116,240 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.findByActiveTrue(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Product> getAllProducts(ProductCursor after, String sortField, Sort.Direction direction, int size) {
+        logger.debug("Obteniendo productos activos por cursor: sort={}, direction={}, size={}", sortField, direction, size);
+
+        Specification<Product> spec = ProductSpecifications.isActive();
+        if (after != null) {
+            sortField = after.getSortField();
+            direction = after.getDirection();
+            spec = spec.and(ProductSpecifications.after(after));
+        }
+
+        Pageable pageable = PageRequest.of(0, size, ProductSpecifications.keysetSort(sortField, direction));
+        return productRepository.findBy(spec, query -> query.slice(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getAllProducts(Set<ProductField> fields) {
+        logger.debug("Obteniendo todos los productos activos: fields={}", fields);
+        return productRepository.findProjected(ProductSpecifications.isActive(), fields, Pageable.unpaged()).getContent();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductDTO> getAllProducts(Pageable pageable, Set<ProductField> fields) {
+        logger.debug("Obteniendo productos activos con paginación: {}, fields={}", pageable, fields);
+        return productRepository.findProjected(ProductSpecifications.isActive(), fields, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAllProducts(Consumer<Product> consumer) {
+        logger.debug("Exportando productos activos en streaming");
+
+        long count = 0;
+        try (Stream<Product> products = productRepository.streamByActiveTrue()) {
+            for (Product product : (Iterable<Product>) products::iterator) {
+                consumer.accept(product);
+                entityManager.detach(product);
+                count++;
+            }
+        }
+
+        logger.info("Exportación finalizada: {} productos", count);
+        return count;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Product> getProductById(Long id) {
         logger.debug("Buscando producto con ID: {}", id);
-        return productRepository.findByIdAndActiveTrue(id);
+        return productCache.getOrLoad(id, productRepository::findByIdAndActiveTrue);
     }
 
     @Override
-    public Product createProduct(Product product) {
-        logger.debug("Creando nuevo producto: {}", product.getName());
+    @Transactional(readOnly = true)
+    public Map<Long, Product> getProductsByIds(Collection<Long> ids) {
+        logger.debug("Buscando {} productos por ID", ids.size());
+        return productCache.getOrLoadAll(ids, missing -> {
+            List<Product> loaded = new ArrayList<>(missing.size());
+            for (int from = 0; from < missing.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+                List<Long> chunk = missing.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, missing.size()));
+                loaded.addAll(productRepository.findByIdInAndActiveTrue(chunk));
+            }
+            return loaded;
+        });
+    }
 
-        if (productRepository.existsByNameIgnoreCaseAndIdNot(product.getName(), 0L)) {
-            throw new ProductAlreadyExistsException("Ya existe un producto con el nombre: " + product.getName());
+    /**
+     * Última modificación del producto, para validar ETags sin cargar la entidad: se toma de la
+     * caché si está y, si no, con una consulta que solo lee {@code updated_at}.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getProductLastModified(Long id) {
+        Optional<Product> cached = productCache.get(id);
+        if (cached.isPresent()) {
+            return Optional.ofNullable(cached.get().getUpdatedAt());
         }
+        return productRepository.findUpdatedAtByIdAndActiveTrue(id);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public CatalogVersion getCatalogVersion() {
+        return catalogVersionTracker.current();
+    }
+
+    @Override
+    public Product createProduct(Product product) {
+        logger.debug("Creando nuevo producto: {}", product.getName());
 
         if (product.getActive() == null) {
             product.setActive(true);
         }
 
-        Product savedProduct = productRepository.save(product);
+        Product savedProduct = saveWithUniqueName(product, "Ya existe un producto con el nombre: ");
+        productCache.evict(savedProduct.getId());
+        catalogVersionTracker.bump();
+        indexProduct(savedProduct);
+        categoryStatistics.record(null, Contribution.of(savedProduct));
+        lowStockAlerts.record(StockChange.created(savedProduct));
         logger.info("Producto creado exitosamente con ID: {}", savedProduct.getId());
         return savedProduct;
     }
 
+    @Override
+    public BatchCreateResult createProducts(List<Product> products) {
+        logger.debug("Creando lote de {} productos", products.size());
+
+        BatchCreateResult result = new BatchCreateResult(products.size());
+        Set<String> existingNames = findExistingNames(products);
+        Set<String> batchNames = new HashSet<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<Product> pending = new ArrayList<>();
+
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            if (product == null) {
+                result.rejected(i, BatchCreateResult.Status.INVALID, "El elemento no puede ser nulo");
+                continue;
+            }
+
+            Set<ConstraintViolation<Product>> violations = validator.validate(product);
+            if (!violations.isEmpty()) {
+                result.rejected(i, BatchCreateResult.Status.INVALID, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                continue;
+            }
+
+            String normalizedName = product.getNormalizedName();
+            if (existingNames.contains(normalizedName) || !batchNames.add(normalizedName)) {
+                result.rejected(i, BatchCreateResult.Status.DUPLICATE,
+                        "Ya existe un producto con el nombre: " + product.getName());
+                continue;
+            }
+
+            if (product.getActive() == null) {
+                product.setActive(true);
+            }
+            pendingIndexes.add(i);
+            pending.add(product);
+        }
+
+        for (int from = 0; from < pending.size(); from += BATCH_FLUSH_SIZE) {
+            int to = Math.min(from + BATCH_FLUSH_SIZE, pending.size());
+            List<Product> saved;
+            try {
+                saved = productRepository.saveAll(pending.subList(from, to));
+                productRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                // Otro request creó uno de estos nombres después de la consulta previa
+                throw duplicateNameOr(e, "Ya existe un producto con uno de los nombres del lote");
+            }
+            catalogVersionTracker.bump();
+            indexProducts(saved);
+            for (int j = 0; j < saved.size(); j++) {
+                result.created(pendingIndexes.get(from + j), saved.get(j));
+                categoryStatistics.record(null, Contribution.of(saved.get(j)));
+                lowStockAlerts.record(StockChange.created(saved.get(j)));
+            }
+            entityManager.clear();
+        }
+
+        logger.info("Lote procesado: {} creados, {} rechazados", result.getCreatedCount(), result.getFailedCount());
+        return result;
+    }
+
+    private Set<String> findExistingNames(List<Product> products) {
+        List<String> names = products.stream()
+                .filter(product -> product != null && product.getNormalizedName() != null)
+                .map(Product::getNormalizedName)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < names.size(); from += NAME_LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = names.subList(from, Math.min(from + NAME_LOOKUP_CHUNK_SIZE, names.size()));
+            existing.addAll(productRepository.findExistingNormalizedNames(chunk));
+        }
+        return existing;
+    }
+
+    /**
+     * Guarda y hace flush para que el índice único de {@code normalized_name} se verifique aquí y
+     * no al hacer commit; así un nombre duplicado, incluso de dos creaciones concurrentes, llega
+     * al llamador como {@link ProductAlreadyExistsException}.
+     */
+    private Product saveWithUniqueName(Product product, String duplicateMessage) {
+        try {
+            Product saved = productRepository.save(product);
+            productRepository.flush();
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateNameOr(e, duplicateMessage + product.getName());
+        }
+    }
+
+    private static RuntimeException duplicateNameOr(DataIntegrityViolationException e, String duplicateMessage) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Product.UNIQUE_NORMALIZED_NAME)) {
+                return new ProductAlreadyExistsException(duplicateMessage);
+            }
+        }
+        return e;
+    }
+
     @Override
     public Product updateProduct(Long id, Product product) {
         logger.debug("Actualizando producto con ID: {}", id);
+        stockWriteBehind.flushAndEvict(id);
 
         Product existingProduct = productRepository.findByIdAndActiveTrue(id)
                 .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
 
-        if (!existingProduct.getName().equalsIgnoreCase(product.getName()) &&
-            productRepository.existsByNameIgnoreCaseAndIdNot(product.getName(), id)) {
-            throw new ProductAlreadyExistsException("Ya existe otro producto con el nombre: " + product.getName());
-        }
-
+        Contribution before = Contribution.of(existingProduct);
+        String previousCategory = existingProduct.getCategory();
+        int previousStock = existingProduct.getStock();
         existingProduct.setName(product.getName());
         existingProduct.setDescription(product.getDescription());
         existingProduct.setPrice(product.getPrice());
         existingProduct.setCategory(product.getCategory());
         existingProduct.setStock(product.getStock());
 
-        Product updatedProduct = productRepository.save(existingProduct);
+        Product updatedProduct = saveWithUniqueName(existingProduct, "Ya existe otro producto con el nombre: ");
+        productCache.evict(id);
+        catalogVersionTracker.bump();
+        indexProduct(updatedProduct);
+        categoryStatistics.record(before, Contribution.of(updatedProduct));
+        lowStockAlerts.record(StockChange.of(updatedProduct, previousCategory, previousStock));
         logger.info("Producto actualizado exitosamente: {}", updatedProduct.getId());
         return updatedProduct;
     }
@@ -91,12 +357,18 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public void deleteProduct(Long id) {
         logger.debug("Eliminando producto con ID: {}", id);
+        stockWriteBehind.flushAndEvict(id);
 
         Product product = productRepository.findByIdAndActiveTrue(id)
                 .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
 
+        Contribution before = Contribution.of(product);
         product.setActive(false);
         productRepository.save(product);
+        productCache.evict(id);
+        catalogVersionTracker.bump();
+        indexProduct(product);
+        categoryStatistics.record(before, null);
 
         logger.info("Producto marcado como inactivo: {}", id);
     }
@@ -108,6 +380,15 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.findByCategoryIgnoreCaseAndActiveTrue(category);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProductsByCategory(String category, Set<ProductField> fields) {
+        logger.debug("Buscando productos por categoría: {}, fields={}", category, fields);
+        Specification<Product> spec = ProductSpecifications.isActive()
+                .and(ProductSpecifications.hasCategoryIgnoreCase(category));
+        return productRepository.findProjected(spec, fields, Pageable.unpaged()).getContent();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
@@ -120,6 +401,18 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.findByPriceRange(minPrice, maxPrice);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        logger.debug("Buscando los {} productos más baratos en rango: {} - {}", limit, minPrice, maxPrice);
+
+        if (minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("El precio mínimo no puede ser mayor al precio máximo");
+        }
+
+        return findActiveInOrder(productPriceIndex.range(minPrice, maxPrice, limit));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Product> searchProductsByName(String name) {
@@ -127,6 +420,114 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.findByNameContainingIgnoreCase(name);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> searchProducts(String text, int page, int size) {
+        logger.debug("Búsqueda de texto completo: '{}' (page={}, size={})", text, page, size);
+
+        return findActiveInOrder(productSearchIndex.search(text, page, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDTO> searchProducts(String text, int page, int size, Set<ProductField> fields) {
+        logger.debug("Búsqueda de texto completo: '{}' (page={}, size={}, fields={})", text, page, size, fields);
+
+        List<Long> ids = productSearchIndex.search(text, page, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // El id siempre se proyecta; con él se recupera el orden de relevancia del índice
+        Specification<Product> spec = ProductSpecifications.isActive().and(ProductSpecifications.idIn(ids));
+        Map<Long, ProductDTO> products = productRepository.findProjected(spec, fields, Pageable.unpaged()).stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+
+        return ids.stream()
+                .map(products::get)
+                .filter(product -> product != null)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Carga los productos activos de {@code ids} conservando el orden recibido de un índice.
+     */
+    private List<Product> findActiveInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(ids).stream()
+                .filter(product -> Boolean.TRUE.equals(product.getActive()))
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return ids.stream()
+                .map(products::get)
+                .filter(product -> product != null)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long rebuildSearchIndex() {
+        logger.info("Reconstruyendo índices de búsqueda (texto y precio) desde la base de datos");
+
+        long count = PrimaryReads.call(() -> {
+            try (ProductPriceIndex.Rebuild priceRebuild = productPriceIndex.startRebuild();
+                 Stream<Product> products = productRepository.streamByActiveTrue()) {
+                long indexed = productSearchIndex.rebuild(products
+                        .peek(entityManager::detach)
+                        .peek(priceRebuild::add)
+                        .iterator());
+                priceRebuild.publish();
+                return indexed;
+            }
+        });
+
+        logger.info("Índice de búsqueda reconstruido: {} productos", count);
+        return count;
+    }
+
+    private void indexProduct(Product product) {
+        productSearchIndex.index(product);
+        productPriceIndex.index(product);
+        resyncSearchIndexOnRollback(List.of(product.getId()));
+    }
+
+    private void indexProducts(List<Product> products) {
+        productSearchIndex.indexAll(products);
+        productPriceIndex.indexAll(products);
+        resyncSearchIndexOnRollback(products.stream().map(Product::getId).collect(Collectors.toList()));
+    }
+
+    /**
+     * Los índices se actualizan antes del commit para que la propia transacción vea sus cambios;
+     * si la transacción se revierte, las entradas afectadas se recalculan desde la base de datos.
+     */
+    private void resyncSearchIndexOnRollback(List<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                for (Long id : ids) {
+                    productRepository.findByIdAndActiveTrue(id).ifPresentOrElse(product -> {
+                        productSearchIndex.index(product);
+                        productPriceIndex.index(product);
+                    }, () -> {
+                        productSearchIndex.remove(id);
+                        productPriceIndex.remove(id);
+                    });
+                }
+            }
+        });
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Product> getProductsWithLowStock(Integer minStock) {
@@ -137,12 +538,13 @@ public class ProductServiceImpl implements ProductService {
     @Override
     @Transactional(readOnly = true)
     public boolean existsProduct(Long id) {
-        return productRepository.findByIdAndActiveTrue(id).isPresent();
+        return productCache.getOrLoad(id, productRepository::findByIdAndActiveTrue).isPresent();
     }
 
     @Override
     public Product updateStock(Long id, Integer newStock) {
         logger.debug("Actualizando stock del producto {}: nuevo stock = {}", id, newStock);
+        stockWriteBehind.flushAndEvict(id);
 
         Product product = productRepository.findByIdAndActiveTrue(id)
                 .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
@@ -151,10 +553,93 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("El stock no puede ser negativo");
         }
 
+        Contribution before = Contribution.of(product);
+        int previousStock = product.getStock();
         product.setStock(newStock);
         Product updatedProduct = productRepository.save(product);
+        productCache.evict(id);
+        catalogVersionTracker.bump();
+        categoryStatistics.record(before, Contribution.of(updatedProduct));
+        lowStockAlerts.record(StockChange.of(updatedProduct, previousStock));
 
         logger.info("Stock actualizado para producto {}: {}", id, newStock);
         return updatedProduct;
     }
+
+    @Override
+    public Product adjustStock(Long id, int delta) {
+        logger.debug("Ajustando stock del producto {}: delta = {}", id, delta);
+
+        if (stockWriteBehind.isEnabled()) {
+            return adjustStockWriteBehind(id, delta);
+        }
+
+        if (productRepository.adjustStock(id, delta, LocalDateTime.now()) == 0) {
+            if (!productRepository.existsByIdAndActiveTrue(id)) {
+                throw new ProductNotFoundException(id);
+            }
+            // Un delta positivo solo se rechaza si desbordaría el stock
+            if (delta > 0) {
+                throw new StockOverflowException(id, delta);
+            }
+            throw new InsufficientStockException(id, delta);
+        }
+        productCache.evict(id);
+        catalogVersionTracker.bump();
+
+        Product updatedProduct = productRepository.findByIdAndActiveTrue(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+        Contribution after = Contribution.of(updatedProduct);
+        categoryStatistics.record(after.withStock(after.stock() - delta), after);
+        lowStockAlerts.record(StockChange.of(updatedProduct, updatedProduct.getStock() - delta));
+
+        logger.info("Stock ajustado para producto {}: delta {}, nuevo stock {}", id, delta, updatedProduct.getStock());
+        return updatedProduct;
+    }
+
+    /**
+     * Ajuste en modo write-behind: el stock se reserva en memoria y se confirma sin actualizar la
+     * fila. La respuesta lleva el stock ya ajustado; el resto de los campos (y el stock que ven
+     * las demás lecturas hasta el próximo flush) viene de la caché o de la base de datos.
+     */
+    private Product adjustStockWriteBehind(Long id, int delta) {
+        // La versión del catálogo cambia en el flush, cuando el ajuste llega a la base de datos
+        int stock = stockWriteBehind.adjust(id, delta);
+
+        Product product = productCache.getOrLoad(id, productRepository::findByIdAndActiveTrue)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+        entityManager.detach(product);
+        product.setStock(stock);
+        Contribution after = Contribution.of(product);
+        categoryStatistics.record(after.withStock(stock - delta), after);
+        lowStockAlerts.record(StockChange.of(product, stock - delta));
+
+        logger.info("Stock ajustado (write-behind) para producto {}: delta {}, nuevo stock {}", id, delta, stock);
+        return product;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CategoryStats> getCategoryStatistics() {
+        return categoryStatistics.getAll();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<CategoryStats> getCategoryStatistics(String category) {
+        return categoryStatistics.get(category);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int reconcileCategoryStatistics() {
+        logger.debug("Reconciliando estadísticas por categoría con la base de datos");
+
+        // Las estadísticas ya incluyen los ajustes write-behind confirmados; la base de datos, no
+        stockWriteBehind.flush();
+        int drifted = categoryStatistics.reconcile(PrimaryReads.call(productRepository::findCategoryPriceBuckets));
+
+        logger.info("Estadísticas por categoría reconciliadas: {} categorías corregidas", drifted);
+        return drifted;
+    }
 }
@@ -0,0 +1,248 @@
+package com.eafit.tutorial.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eafit.tutorial.datasource.PrimaryReads;
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.service.ProductService;
+import com.eafit.tutorial.stock.StockWriteBehind;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Instantánea binaria del catálogo activo en {@code products.snapshot.path}.
+ *
+ * Se escribe a pedido ({@code POST /api/v1/products/snapshot}) y al apagar la aplicación, y se
+ * carga al arrancar, durante la creación del contexto: antes de que el servidor web acepte
+ * peticiones, de la reconstrucción de los índices y de la reaplicación del diario de stock. La
+ * carga inserta con {@code INSERT} por lotes de JDBC, sin pasar por JPA, y solo si la tabla está
+ * vacía, de modo que nunca pisa datos de una base persistente.
+ *
+ * Cada lote se confirma por separado: una sola transacción con un millón de filas obliga a la
+ * base de datos a mantener todo el registro de deshacer y tarda el doble. Si la carga falla a
+ * mitad, se vacía la tabla para dejarla como estaba.
+ */
+@Component
+public class CatalogSnapshot implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    private static final String COUNT_PRODUCTS = "SELECT COUNT(*) FROM products";
+    private static final String DELETE_PRODUCTS = "DELETE FROM products";
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO products (id, name, normalized_name, description, price, category, stock, active, " +
+            "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, TRUE, ?, ?, ?)";
+
+    private final Path path;
+    private final boolean loadOnStartup;
+    private final boolean saveOnShutdown;
+    private final boolean mmap;
+    private final int batchSize;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductService productService;
+    private final StockWriteBehind stockWriteBehind;
+
+    private final ReentrantLock saveLock = new ReentrantLock();
+
+    // El EntityManagerFactory se recibe solo para que el esquema exista antes de la carga
+    @Autowired
+    public CatalogSnapshot(@Value("${products.snapshot.path:}") String path,
+                           @Value("${products.snapshot.load-on-startup:true}") boolean loadOnStartup,
+                           @Value("${products.snapshot.save-on-shutdown:true}") boolean saveOnShutdown,
+                           @Value("${products.snapshot.mmap:true}") boolean mmap,
+                           @Value("${products.snapshot.batch-size:5000}") int batchSize,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           EntityManagerFactory entityManagerFactory,
+                           ProductService productService,
+                           StockWriteBehind stockWriteBehind) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("El tamaño de lote de la instantánea debe ser mayor a 0");
+        }
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+        this.loadOnStartup = loadOnStartup;
+        this.saveOnShutdown = saveOnShutdown;
+        this.mmap = mmap;
+        this.batchSize = batchSize;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productService = productService;
+        this.stockWriteBehind = stockWriteBehind;
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (path == null || !loadOnStartup) {
+            return;
+        }
+        if (!Files.exists(path)) {
+            logger.info("No hay instantánea del catálogo en {}; se arranca con el catálogo vacío", path);
+            return;
+        }
+        load();
+    }
+
+    /**
+     * Carga la instantánea en la tabla de productos, que debe estar vacía, y adelanta la secuencia
+     * de IDs. Devuelve la cantidad de productos cargados.
+     */
+    public long load() {
+        requireEnabled();
+
+        Long existing = jdbcTemplate.queryForObject(COUNT_PRODUCTS, Long.class);
+        if (existing != null && existing > 0) {
+            logger.warn("La tabla de productos ya tiene {} filas; no se carga la instantánea {}", existing, path);
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        try (SnapshotReader reader = new SnapshotReader(path, mmap)) {
+            long[] maxId = {0};
+            long loaded;
+            try {
+                loaded = insertAll(reader, maxId);
+            } catch (RuntimeException e) {
+                jdbcTemplate.update(DELETE_PRODUCTS);
+                throw e;
+            }
+            if (loaded > 0) {
+                // Con el optimizador pooled el primer valor de la secuencia es el techo del bloque
+                jdbcTemplate.execute("ALTER SEQUENCE " + Product.ID_SEQUENCE + " RESTART WITH " +
+                        (maxId[0] + Product.ID_ALLOCATION_SIZE));
+            }
+
+            logger.info("Instantánea del catálogo cargada desde {}: {} productos en {} ms (creada {})",
+                    path, loaded, (System.nanoTime() - start) / 1_000_000, reader.getCreatedAt());
+            return loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la instantánea del catálogo " + path, e);
+        }
+    }
+
+    /**
+     * Escribe los productos activos en un archivo temporal y lo mueve sobre la instantánea, de
+     * modo que una escritura interrumpida nunca deja un archivo a medias. Antes aplica los ajustes
+     * de stock pendientes del modo write-behind. Devuelve la cantidad de productos escritos.
+     */
+    public long save() {
+        requireEnabled();
+
+        saveLock.lock();
+        try {
+            stockWriteBehind.flush();
+
+            long start = System.nanoTime();
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+            long written;
+            try (SnapshotWriter writer = new SnapshotWriter(temporary)) {
+                // Justo después del flush: una réplica atrasada no tendría esos ajustes
+                PrimaryReads.call(() -> productService.streamAllProducts(product -> {
+                    try {
+                        writer.write(product);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+                written = writer.getCount();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            logger.info("Instantánea del catálogo escrita en {}: {} productos, {} bytes en {} ms",
+                    path, written, Files.size(path), (System.nanoTime() - start) / 1_000_000);
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir la instantánea del catálogo " + path, e);
+        } finally {
+            saveLock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (path == null || !saveOnShutdown) {
+            return;
+        }
+        try {
+            save();
+        } catch (Exception e) {
+            logger.error("No se pudo escribir la instantánea del catálogo al apagar", e);
+        }
+    }
+
+    private long insertAll(SnapshotReader reader, long[] maxId) {
+        List<Product> batch = new ArrayList<>(batchSize);
+        long loaded = 0;
+        try {
+            for (Product product = reader.next(); product != null; product = reader.next()) {
+                batch.add(product);
+                maxId[0] = Math.max(maxId[0], product.getId());
+                if (batch.size() == batchSize) {
+                    insert(batch);
+                    loaded += batch.size();
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Instantánea del catálogo inválida: " + path, e);
+        }
+        insert(batch);
+        return loaded + batch.size();
+    }
+
+    private void insert(List<Product> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_PRODUCT, batch, batch.size(), (ps, product) -> {
+            ps.setLong(1, product.getId());
+            ps.setString(2, product.getName());
+            ps.setString(3, product.getNormalizedName());
+            ps.setString(4, product.getDescription());
+            ps.setBigDecimal(5, product.getPrice());
+            ps.setString(6, product.getCategory());
+            ps.setInt(7, product.getStock());
+            ps.setTimestamp(8, Timestamp.valueOf(product.getCreatedAt()));
+            ps.setTimestamp(9, Timestamp.valueOf(product.getUpdatedAt()));
+            ps.setLong(10, product.getVersion());
+        }));
+    }
+
+    private void requireEnabled() {
+        if (path == null) {
+            throw new IllegalStateException("Instantánea del catálogo deshabilitada: configure products.snapshot.path");
+        }
+    }
+}
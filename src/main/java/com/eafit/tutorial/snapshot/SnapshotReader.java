@@ -0,0 +1,171 @@
+package com.eafit.tutorial.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.eafit.tutorial.model.Product;
+
+/**
+ * Lee una instantánea escrita por {@link SnapshotWriter}, producto a producto.
+ *
+ * Con {@code mmap} el archivo se proyecta en memoria y los registros se decodifican directo
+ * desde las páginas del sistema operativo, sin copiarlo al heap; sin {@code mmap} se lee con un
+ * flujo con búfer. Los archivos de más de 2 GB se leen siempre como flujo.
+ */
+public final class SnapshotReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final DataInputStream in;
+    private final long count;
+    private final LocalDateTime createdAt;
+
+    private byte[] scratch = new byte[1024];
+    private long read;
+
+    public SnapshotReader(Path path, boolean mmap) throws IOException {
+        long size = Files.size(path);
+        if (size < SnapshotWriter.HEADER_SIZE) {
+            throw new IOException("El archivo no es una instantánea del catálogo: " + path);
+        }
+        ByteBuffer header;
+
+        if (mmap && size <= Integer.MAX_VALUE) {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            this.in = null;
+            header = mapped;
+        } else {
+            this.channel = null;
+            this.mapped = null;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+            byte[] bytes = new byte[SnapshotWriter.HEADER_SIZE];
+            readFully(bytes, bytes.length);
+            header = ByteBuffer.wrap(bytes);
+        }
+
+        if (header.getInt() != SnapshotWriter.MAGIC) {
+            close();
+            throw new IOException("El archivo no es una instantánea del catálogo: " + path);
+        }
+        int version = header.getInt();
+        if (version != SnapshotWriter.FORMAT_VERSION) {
+            close();
+            throw new IOException("Versión de instantánea no soportada: " + version);
+        }
+        this.count = header.getLong();
+        long createdAtMillis = header.getLong();
+        this.createdAt = LocalDateTime.ofEpochSecond(Math.floorDiv(createdAtMillis, 1000),
+                (int) Math.floorMod(createdAtMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Devuelve el siguiente producto o {@code null} cuando ya se leyeron {@link #getCount()}.
+     */
+    public Product next() throws IOException {
+        if (read == count) {
+            return null;
+        }
+
+        ByteBuffer record;
+        try {
+            if (mapped != null) {
+                int length = mapped.getInt();
+                record = mapped.slice(mapped.position(), length);
+                mapped.position(mapped.position() + length);
+            } else {
+                int length = in.readInt();
+                ensureScratch(length);
+                readFully(scratch, length);
+                record = ByteBuffer.wrap(scratch, 0, length);
+            }
+        } catch (EOFException | IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("Instantánea incompleta: se leyeron " + read + " de " + count + " productos", e);
+        }
+
+        long id = record.getLong();
+        long version = record.getLong();
+        long priceCents = record.getLong();
+        int stock = record.getInt();
+        LocalDateTime createdAt = getTimestamp(record);
+        LocalDateTime updatedAt = getTimestamp(record);
+        String name = getString(record);
+        String category = getString(record);
+        String description = getString(record);
+
+        Product product = new Product(name, description, BigDecimal.valueOf(priceCents, SnapshotWriter.PRICE_SCALE),
+                category, stock);
+        product.setId(id);
+        product.setVersion(version);
+        product.setActive(true);
+        product.setCreatedAt(createdAt);
+        product.setUpdatedAt(updatedAt);
+        read++;
+        return product;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer record) {
+        long seconds = record.getLong();
+        int nanos = record.getInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private String getString(ByteBuffer record) {
+        short length = record.getShort();
+        if (length < 0) {
+            return null;
+        }
+        if (record.hasArray()) {
+            String value = new String(record.array(), record.arrayOffset() + record.position(), length, StandardCharsets.UTF_8);
+            record.position(record.position() + length);
+            return value;
+        }
+        ensureScratch(length);
+        record.get(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void ensureScratch(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+    }
+
+    private void readFully(byte[] bytes, int length) throws IOException {
+        in.readFully(bytes, 0, length);
+    }
+}
@@ -0,0 +1,108 @@
+package com.eafit.tutorial.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import com.eafit.tutorial.model.Product;
+
+/**
+ * Escribe el catálogo en el formato binario de las instantáneas.
+ *
+ * Cabecera: {@code MAGIC}, versión del formato, cantidad de productos y momento de creación.
+ * Luego un registro por producto, precedido por su longitud en bytes: ID, versión, precio en
+ * centavos, stock, fechas de creación y modificación (segundos y nanos en UTC) y nombre,
+ * categoría y descripción en UTF-8 con longitud de 2 bytes (-1 para nulo). La cantidad se
+ * escribe en la cabecera al cerrar, de modo que un archivo cortado se detecta al leerlo.
+ */
+public final class SnapshotWriter implements Closeable {
+
+    static final int MAGIC = 0x50534E50; // "PSNP"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int COUNT_OFFSET = 8;
+    static final int PRICE_SCALE = 2;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_RECORD_SIZE = 8 + 8 + 8 + 4 + 12 + 12 + 3 * (2 + 3 * 500);
+
+    private final Path path;
+    private final DataOutputStream out;
+    private final ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_SIZE);
+    private long count;
+    private boolean closed;
+
+    public SnapshotWriter(Path path) throws IOException {
+        this.path = path;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(0);
+        out.writeLong(System.currentTimeMillis());
+    }
+
+    public void write(Product product) throws IOException {
+        record.clear();
+        record.putLong(product.getId());
+        record.putLong(product.getVersion() != null ? product.getVersion() : 0);
+        record.putLong(product.getPrice().movePointRight(PRICE_SCALE).longValueExact());
+        record.putInt(product.getStock());
+        putTimestamp(product.getCreatedAt());
+        putTimestamp(product.getUpdatedAt());
+        putString(product.getName());
+        putString(product.getCategory());
+        putString(product.getDescription());
+        record.flip();
+
+        out.writeInt(record.remaining());
+        out.write(record.array(), 0, record.remaining());
+        count++;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        out.close();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES).putLong(count).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, COUNT_OFFSET + header.position());
+            }
+            channel.force(true);
+        }
+    }
+
+    private void putTimestamp(LocalDateTime timestamp) {
+        LocalDateTime value = timestamp != null ? timestamp : LocalDateTime.now();
+        record.putLong(value.toEpochSecond(ZoneOffset.UTC));
+        record.putInt(value.getNano());
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            record.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        record.putShort((short) bytes.length);
+        record.put(bytes);
+    }
+}
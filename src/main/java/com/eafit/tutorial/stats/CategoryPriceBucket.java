@@ -0,0 +1,9 @@
+package com.eafit.tutorial.stats;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila de la consulta de reconciliación: productos activos agrupados por categoría y precio.
+ */
+public record CategoryPriceBucket(String category, BigDecimal price, Long productCount, Long totalStock) {
+}
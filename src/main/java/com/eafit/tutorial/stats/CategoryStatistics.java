@@ -0,0 +1,218 @@
+package com.eafit.tutorial.stats;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eafit.tutorial.model.Product;
+
+/**
+ * Estadísticas por categoría (cantidad, stock total, valor de inventario y precio mínimo, máximo
+ * y promedio) mantenidas de forma incremental a partir de las escrituras del servicio.
+ *
+ * Cada escritura se describe como el aporte del producto antes y después del cambio; la
+ * diferencia se aplica al confirmarse la transacción con contadores {@link LongAdder} y un
+ * multiconjunto de precios ({@link ConcurrentSkipListMap}) para el mínimo y el máximo. Las
+ * aplicaciones comparten un lock de lectura entre sí y solo la reconciliación toma el de
+ * escritura, para que ningún delta quede a medias entre los contadores viejos y los nuevos. Los
+ * importes se llevan en centavos. Una lectura concurrente puede ver los contadores de una
+ * categoría a medio actualizar; la reconciliación periódica contra la base de datos corrige
+ * cualquier desviación.
+ */
+@Component
+public class CategoryStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryStatistics.class);
+
+    private final ConcurrentHashMap<String, Counters> categories = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock reconciliation = new ReentrantReadWriteLock();
+
+    /**
+     * Registra el cambio de un producto; se aplica tras el commit si hay una transacción activa.
+     * Un aporte nulo significa que el producto no cuenta (no existía o está inactivo).
+     */
+    public void record(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(before, after);
+                }
+            });
+        } else {
+            apply(before, after);
+        }
+    }
+
+    public Optional<CategoryStats> get(String category) {
+        Counters counters = categories.get(category);
+        if (counters == null) {
+            return Optional.empty();
+        }
+        CategoryStats stats = counters.snapshot(category);
+        return stats.productCount() > 0 ? Optional.of(stats) : Optional.empty();
+    }
+
+    public List<CategoryStats> getAll() {
+        return categories.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .filter(stats -> stats.productCount() > 0)
+                .sorted(Comparator.comparing(CategoryStats::category))
+                .toList();
+    }
+
+    /**
+     * Reemplaza las estadísticas por las calculadas desde la base de datos y devuelve cuántas
+     * categorías no coincidían. El reemplazo excluye a las aplicaciones en curso, pero no a la
+     * consulta: un cambio confirmado entre la consulta y el reemplazo se corrige en la siguiente
+     * reconciliación.
+     */
+    public int reconcile(Collection<CategoryPriceBucket> buckets) {
+        Map<String, Counters> fresh = new HashMap<>();
+        for (CategoryPriceBucket bucket : buckets) {
+            fresh.computeIfAbsent(bucket.category(), category -> new Counters())
+                    .addBucket(toCents(bucket.price()), bucket.productCount(), bucket.totalStock());
+        }
+
+        reconciliation.writeLock().lock();
+        try {
+            return replaceWith(fresh);
+        } finally {
+            reconciliation.writeLock().unlock();
+        }
+    }
+
+    private int replaceWith(Map<String, Counters> fresh) {
+        int drifted = 0;
+        for (Map.Entry<String, Counters> entry : fresh.entrySet()) {
+            Counters current = categories.get(entry.getKey());
+            CategoryStats expected = entry.getValue().snapshot(entry.getKey());
+            if (current == null || !current.snapshot(entry.getKey()).equals(expected)) {
+                logger.warn("Estadísticas desviadas en la categoría '{}', se reemplazan: {}", entry.getKey(), expected);
+                drifted++;
+            }
+            categories.put(entry.getKey(), entry.getValue());
+        }
+        for (String category : categories.keySet()) {
+            if (fresh.containsKey(category)) {
+                continue;
+            }
+            Counters removed = categories.remove(category);
+            if (removed != null && removed.snapshot(category).productCount() != 0) {
+                drifted++;
+            }
+        }
+        return drifted;
+    }
+
+    void apply(Contribution before, Contribution after) {
+        reconciliation.readLock().lock();
+        try {
+            if (before != null) {
+                counters(before.category()).remove(before);
+            }
+            if (after != null) {
+                counters(after.category()).add(after);
+            }
+        } finally {
+            reconciliation.readLock().unlock();
+        }
+    }
+
+    private Counters counters(String category) {
+        return categories.computeIfAbsent(category, key -> new Counters());
+    }
+
+    static long toCents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Aporte de un producto a las estadísticas de su categoría.
+     */
+    public record Contribution(String category, long priceCents, int stock) {
+
+        /**
+         * Devuelve {@code null} para productos inactivos o incompletos, que no cuentan.
+         */
+        public static Contribution of(Product product) {
+            if (product == null || !Boolean.TRUE.equals(product.getActive()) || product.getCategory() == null
+                    || product.getPrice() == null || product.getStock() == null) {
+                return null;
+            }
+            return new Contribution(product.getCategory(), toCents(product.getPrice()), product.getStock());
+        }
+
+        public Contribution withStock(int stock) {
+            return new Contribution(category, priceCents, stock);
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder stock = new LongAdder();
+        private final LongAdder valueCents = new LongAdder();
+        private final LongAdder priceSumCents = new LongAdder();
+        private final ConcurrentSkipListMap<Long, Long> prices = new ConcurrentSkipListMap<>();
+
+        void add(Contribution contribution) {
+            count.increment();
+            stock.add(contribution.stock());
+            valueCents.add(contribution.priceCents() * contribution.stock());
+            priceSumCents.add(contribution.priceCents());
+            prices.merge(contribution.priceCents(), 1L, Long::sum);
+        }
+
+        void remove(Contribution contribution) {
+            count.decrement();
+            stock.add(-contribution.stock());
+            valueCents.add(-contribution.priceCents() * contribution.stock());
+            priceSumCents.add(-contribution.priceCents());
+            prices.computeIfPresent(contribution.priceCents(), (price, n) -> n == 1 ? null : n - 1);
+        }
+
+        void addBucket(long priceCents, long products, long totalStock) {
+            count.add(products);
+            stock.add(totalStock);
+            valueCents.add(priceCents * totalStock);
+            priceSumCents.add(priceCents * products);
+            prices.merge(priceCents, products, Long::sum);
+        }
+
+        CategoryStats snapshot(String category) {
+            long products = count.sum();
+            Map.Entry<Long, Long> min = prices.firstEntry();
+            Map.Entry<Long, Long> max = prices.lastEntry();
+            return new CategoryStats(
+                    category,
+                    products,
+                    stock.sum(),
+                    BigDecimal.valueOf(valueCents.sum(), 2),
+                    min != null ? BigDecimal.valueOf(min.getKey(), 2) : null,
+                    max != null ? BigDecimal.valueOf(max.getKey(), 2) : null,
+                    products > 0
+                            ? BigDecimal.valueOf(priceSumCents.sum(), 2).divide(BigDecimal.valueOf(products), 2, RoundingMode.HALF_UP)
+                            : null);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.eafit.tutorial.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.eafit.tutorial.service.ProductService;
+
+/**
+ * Recalcula las estadísticas por categoría desde la base de datos al arrancar y luego cada
+ * {@code products.stats.reconcile-interval}.
+ */
+@Component
+@ConditionalOnProperty(name = "products.stats.reconcile-enabled", havingValue = "true", matchIfMissing = true)
+public class CategoryStatisticsReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryStatisticsReconciler.class);
+
+    @Autowired
+    private ProductService productService;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${products.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        try {
+            productService.reconcileCategoryStatistics();
+        } catch (Exception e) {
+            logger.error("Error al reconciliar estadísticas por categoría", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.eafit.tutorial.stats;
+
+import java.math.BigDecimal;
+
+/**
+ * Instantánea de las estadísticas de una categoría (solo productos activos).
+ * {@code minPrice}, {@code maxPrice} y {@code averagePrice} son nulos si la categoría está vacía.
+ */
+public record CategoryStats(
+        String category,
+        long productCount,
+        long totalStock,
+        BigDecimal inventoryValue,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        BigDecimal averagePrice) {
+}
@@ -0,0 +1,200 @@
+package com.eafit.tutorial.stock;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Diario local, solo de anexado, de los ajustes de stock confirmados y aún no escritos en la base
+ * de datos.
+ *
+ * Cada ajuste es un registro de 16 bytes (ID, delta y una suma de control) en el segmento actual
+ * {@code stock-<n>.journal}. Un flush sella el segmento ({@link #rotate()}) y, cuando la base de
+ * datos confirmó los deltas, borra los segmentos sellados; al arrancar se reaplican los que
+ * sobrevivieron. Un registro incompleto o con suma de control inválida marca el final de un
+ * segmento cortado por una caída y se descarta junto con lo que le sigue.
+ *
+ * Con {@code fsync} cada ajuste vuelve recién cuando su registro está en disco, pero los que
+ * llegan a la vez comparten un solo {@code force()}: quien toma el turno fuerza todo lo anexado
+ * hasta ese momento y los que esperaban ya quedan cubiertos.
+ */
+final class StockJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockJournal.class);
+
+    static final int RECORD_SIZE = 16;
+
+    private static final String PREFIX = "stock-";
+    private static final String SUFFIX = ".journal";
+    private static final int CHECK_SEED = 0x5370_6B4A;
+
+    private final Path directory;
+    private final boolean fsync;
+
+    private volatile long segment;
+    private volatile FileChannel channel;
+
+    // Registros anexados y registros que ya están en disco; el force() se hace de a uno
+    private final AtomicLong appended = new AtomicLong();
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private long forced;
+
+    StockJournal(Path directory, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.fsync = fsync;
+        this.segment = lastSegment() + 1;
+        this.channel = open(segment);
+    }
+
+    /**
+     * Anexa un ajuste al segmento actual. Es seguro desde varios hilos; el llamador debe impedir
+     * que {@link #rotate()} se ejecute a la vez.
+     */
+    void append(long productId, int delta) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putLong(productId).putInt(delta).putInt(check(productId, delta)).flip();
+        FileChannel current = channel;
+        while (record.hasRemaining()) {
+            current.write(record);
+        }
+        if (fsync) {
+            force(current, appended.incrementAndGet());
+        }
+    }
+
+    private void force(FileChannel current, long record) throws IOException {
+        forceLock.lock();
+        try {
+            if (forced >= record) {
+                return;
+            }
+            long upTo = appended.get();
+            current.force(false);
+            forced = upTo;
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Sella el segmento actual y abre el siguiente; devuelve el número del segmento sellado.
+     */
+    long rotate() throws IOException {
+        long sealed = segment;
+        FileChannel next = open(sealed + 1);
+        FileChannel previous = channel;
+        channel = next;
+        segment = sealed + 1;
+        forceLock.lock();
+        try {
+            long upTo = appended.get();
+            previous.force(false);
+            forced = upTo;
+        } finally {
+            forceLock.unlock();
+        }
+        previous.close();
+        return sealed;
+    }
+
+    /**
+     * Borra los segmentos con número menor o igual a {@code lastSegment}.
+     */
+    void deleteUpTo(long lastSegment) throws IOException {
+        for (long number : segments()) {
+            if (number <= lastSegment && number != segment) {
+                Files.deleteIfExists(path(number));
+            }
+        }
+    }
+
+    /**
+     * Suma por producto los deltas de los segmentos posteriores a {@code afterSegment}.
+     */
+    Replay replay(long afterSegment) throws IOException {
+        Map<Long, Long> deltas = new HashMap<>();
+        long lastSegment = afterSegment;
+        long records = 0;
+
+        for (long number : segments()) {
+            if (number <= afterSegment || number == segment) {
+                continue;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path(number)));
+            while (buffer.remaining() >= RECORD_SIZE) {
+                long productId = buffer.getLong();
+                int delta = buffer.getInt();
+                if (buffer.getInt() != check(productId, delta)) {
+                    logger.warn("Registro inválido en el segmento {} del diario de stock; se descarta el resto", number);
+                    break;
+                }
+                deltas.merge(productId, (long) delta, Long::sum);
+                records++;
+            }
+            lastSegment = Math.max(lastSegment, number);
+        }
+        return new Replay(deltas, lastSegment, records);
+    }
+
+    long currentSegment() {
+        return segment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private List<Long> segments() throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    numbers.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    logger.warn("Archivo ignorado en el diario de stock: {}", name);
+                }
+            }
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    private long lastSegment() throws IOException {
+        List<Long> numbers = segments();
+        return numbers.isEmpty() ? 0 : numbers.get(numbers.size() - 1);
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(path(number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path path(long number) {
+        return directory.resolve(PREFIX + number + SUFFIX);
+    }
+
+    private static int check(long productId, int delta) {
+        return (Long.hashCode(productId) * 31 + delta) ^ CHECK_SEED;
+    }
+
+    /**
+     * Deltas pendientes por producto, el último segmento leído y la cantidad de registros.
+     */
+    record Replay(Map<Long, Long> deltas, long lastSegment, long records) {}
+}
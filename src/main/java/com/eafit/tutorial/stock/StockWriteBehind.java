@@ -0,0 +1,567 @@
+package com.eafit.tutorial.stock;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eafit.tutorial.cache.ProductCache;
+import com.eafit.tutorial.exception.InsufficientStockException;
+import com.eafit.tutorial.exception.ProductNotFoundException;
+import com.eafit.tutorial.exception.StockOverflowException;
+import com.eafit.tutorial.util.CatalogVersionTracker;
+
+/**
+ * Modo write-behind de los ajustes de stock ({@code products.stock.write-behind.enabled}).
+ *
+ * Cada ajuste se reserva en un contador en memoria del producto, se anexa al
+ * {@link StockJournal diario local} y se confirma sin tocar la fila; un hilo propio agrupa cada
+ * {@code flush-interval} los deltas pendientes de todos los productos en un único
+ * {@code UPDATE} por lotes. Así cien ajustes sobre la misma fila en una ventana cuestan una sola
+ * actualización y ningún request espera el bloqueo de la fila.
+ *
+ * Los contadores son {@link AtomicLong} por producto y no {@link LongAdder}: el stock disponible
+ * se reserva con CAS para no confirmar nunca un ajuste que lo dejaría negativo, y el flush vacía
+ * los pendientes con {@code getAndSet(0)}, que a diferencia de {@code LongAdder.sumThenReset} no
+ * pierde sumas concurrentes. La contención se reparte entre productos, no entre ajustes del mismo.
+ *
+ * La base de datos (y por lo tanto las lecturas de productos) queda atrasada como mucho
+ * {@code max-lag}: si el delta pendiente más antiguo supera ese límite, el siguiente ajuste hace
+ * el flush en el hilo del llamador y, si la base de datos no responde, falla en lugar de
+ * confirmar más cambios. El flush registra el último segmento aplicado en la misma transacción
+ * que los {@code UPDATE}, de modo que al reaplicar el diario tras una caída ningún delta se
+ * aplica dos veces.
+ */
+@Component
+public class StockWriteBehind implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockWriteBehind.class);
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private static final String SELECT_STOCK =
+            "SELECT stock FROM products WHERE id = ? AND active = TRUE";
+    private static final String UPDATE_STOCK =
+            "UPDATE products SET stock = stock + ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND active = TRUE AND stock + ? >= 0";
+    private static final String CREATE_CHECKPOINT =
+            "CREATE TABLE IF NOT EXISTS stock_journal_checkpoint (id INT PRIMARY KEY, segment BIGINT NOT NULL)";
+    private static final String SELECT_CHECKPOINT =
+            "SELECT segment FROM stock_journal_checkpoint WHERE id = 1";
+    private static final String UPDATE_CHECKPOINT =
+            "UPDATE stock_journal_checkpoint SET segment = ? WHERE id = 1";
+    private static final String INSERT_CHECKPOINT =
+            "INSERT INTO stock_journal_checkpoint (id, segment) VALUES (1, ?)";
+
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final long maxLagNanos;
+    private final int batchSize;
+    private final Path journalPath;
+    private final boolean journalFsync;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCache productCache;
+    private final CatalogVersionTracker catalogVersionTracker;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    // Lectura: reservar y anotar un ajuste. Escritura: sellar el segmento y vaciar los contadores.
+    private final ReentrantReadWriteLock rotation = new ReentrantReadWriteLock();
+    // Serializa los flush (el periódico, los síncronos por max-lag y el del apagado)
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong oldestPending = new AtomicLong(NONE);
+
+    private final LongAdder acknowledged = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private StockJournal journal;
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public StockWriteBehind(@Value("${products.stock.write-behind.enabled:false}") boolean enabled,
+                            @Value("${products.stock.write-behind.flush-interval:100ms}") Duration flushInterval,
+                            @Value("${products.stock.write-behind.max-lag:1s}") Duration maxLag,
+                            @Value("${products.stock.write-behind.batch-size:500}") int batchSize,
+                            @Value("${products.stock.write-behind.journal-path:}") String journalPath,
+                            @Value("${products.stock.write-behind.journal-fsync:true}") boolean journalFsync,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ProductCache productCache,
+                            CatalogVersionTracker catalogVersionTracker) {
+        if (enabled && maxLag.compareTo(flushInterval) < 0) {
+            throw new IllegalArgumentException("max-lag no puede ser menor que flush-interval");
+        }
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.maxLagNanos = maxLag.toNanos();
+        this.batchSize = batchSize;
+        this.journalPath = journalPath == null || journalPath.isBlank() ? null : Path.of(journalPath);
+        this.journalFsync = journalFsync;
+        this.jdbcTemplate = jdbcTemplate;
+        this.productCache = productCache;
+        this.catalogVersionTracker = catalogVersionTracker;
+
+        if (transactionManager != null) {
+            this.transactionTemplate = new TransactionTemplate(transactionManager);
+            this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        } else {
+            this.transactionTemplate = null;
+        }
+    }
+
+    public static StockWriteBehind disabled() {
+        return new StockWriteBehind(false, Duration.ZERO, Duration.ZERO, 1, null, false, null, null, null, null);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reaplica el diario que haya dejado una caída y arranca el hilo de flush. Corre cuando ya
+     * existe el esquema y antes de que el servidor web acepte peticiones.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        if (journalPath == null) {
+            throw new IllegalStateException("products.stock.write-behind.journal-path es obligatorio en modo write-behind");
+        }
+        // El directorio temporal puede vaciarse al reiniciar y con él los ajustes ya confirmados
+        Path tmpdir = Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize();
+        if (journalPath.toAbsolutePath().normalize().startsWith(tmpdir)) {
+            throw new IllegalStateException("products.stock.write-behind.journal-path no puede estar en el " +
+                    "directorio temporal (" + tmpdir + "): " + journalPath);
+        }
+
+        try {
+            journal = new StockJournal(journalPath, journalFsync);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el diario de stock en " + journalPath, e);
+        }
+        jdbcTemplate.execute(CREATE_CHECKPOINT);
+        recover();
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalNanos = flushInterval.toNanos();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+
+        logger.info("Stock en modo write-behind (flushInterval={}, maxLag={}, diario={}, fsync={})",
+                flushInterval, Duration.ofNanos(maxLagNanos), journalPath, journalFsync);
+    }
+
+    /**
+     * Reserva {@code delta} unidades y devuelve el stock resultante, ya confirmado aunque la base
+     * de datos lo reciba en el próximo flush.
+     */
+    public int adjust(Long id, int delta) {
+        if (getFlushLag().toNanos() > maxLagNanos) {
+            logger.warn("El flush de stock lleva {} de atraso; se aplica en el hilo del llamador", getFlushLag());
+            flush();
+        }
+
+        rotation.readLock().lock();
+        try {
+            Counter counter = counters.get(id);
+            if (counter == null) {
+                long stock = loadStock(id);
+                if (stock < 0) {
+                    throw new ProductNotFoundException(id);
+                }
+                counter = counters.computeIfAbsent(id, key -> new Counter(stock));
+            }
+
+            long available = counter.reserve(delta);
+            if (available < 0) {
+                throw new InsufficientStockException(id, delta);
+            }
+            if (available > Integer.MAX_VALUE) {
+                throw new StockOverflowException(id, delta);
+            }
+            try {
+                journal.append(id, delta);
+            } catch (IOException e) {
+                counter.available.addAndGet(-delta);
+                throw new UncheckedIOException("No se pudo anotar el ajuste de stock del producto " + id, e);
+            }
+            counter.pending.addAndGet(delta);
+            oldestPending.compareAndSet(NONE, System.nanoTime());
+            acknowledged.increment();
+            return (int) available;
+        } finally {
+            rotation.readLock().unlock();
+        }
+    }
+
+    /**
+     * Para escrituras que fijan el stock o retiran el producto: aplica los deltas pendientes antes
+     * y descarta el contador del producto al terminar la transacción, para que el siguiente
+     * ajuste parta del valor escrito.
+     */
+    public void flushAndEvict(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+
+        flush();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    resync(List.of(id));
+                }
+            });
+        } else {
+            resync(List.of(id));
+        }
+    }
+
+    /**
+     * Escribe los deltas pendientes en la base de datos con un {@code UPDATE} por lotes.
+     * Devuelve la cantidad de productos actualizados.
+     */
+    public int flush() {
+        if (!enabled) {
+            return 0;
+        }
+
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = new HashMap<>();
+            long sealed;
+            long drainedSince;
+
+            rotation.writeLock().lock();
+            try {
+                drainedSince = oldestPending.get();
+                if (drainedSince == NONE) {
+                    return 0;
+                }
+                sealed = journal.rotate();
+                counters.forEach((id, counter) -> {
+                    long delta = counter.pending.getAndSet(0);
+                    if (delta != 0) {
+                        deltas.put(id, delta);
+                    }
+                });
+                oldestPending.set(NONE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo sellar el segmento del diario de stock", e);
+            } finally {
+                rotation.writeLock().unlock();
+            }
+
+            List<Long> failed;
+            try {
+                failed = apply(deltas, sealed);
+            } catch (RuntimeException e) {
+                restore(deltas, drainedSince);
+                throw e;
+            }
+
+            deleteJournalUpTo(sealed);
+            deltas.keySet().forEach(productCache::evict);
+            flushed.add(deltas.size() - failed.size());
+            if (!failed.isEmpty()) {
+                rejected.add(failed.size());
+                logger.warn("{} ajustes de stock rechazados por la base de datos (producto inactivo o stock " +
+                        "fijado por debajo del delta): {}", failed.size(), failed);
+                resync(failed);
+            }
+
+            logger.debug("Flush de stock: {} productos, segmento {}", deltas.size(), sealed);
+            return deltas.size() - failed.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Antigüedad del delta confirmado más antiguo que aún no está en la base de datos.
+     */
+    public Duration getFlushLag() {
+        long since = oldestPending.get();
+        return since == NONE ? Duration.ZERO : Duration.ofNanos(Math.max(0, System.nanoTime() - since));
+    }
+
+    public int getPendingCount() {
+        int pending = 0;
+        for (Counter counter : counters.values()) {
+            if (counter.pending.get() != 0) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    public Stats getStats() {
+        return new Stats(acknowledged.sum(), flushed.sum(), rejected.sum());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("Error al escribir los ajustes de stock pendientes; se reintentará", e);
+        }
+    }
+
+    /**
+     * Aplica los deltas y registra el checkpoint en una sola transacción; devuelve los productos
+     * cuyo ajuste la base de datos rechazó. Si el lote completo falla, lo reintenta fila por fila
+     * con un savepoint por fila, de modo que una fila que la base de datos no acepta (por ejemplo,
+     * un stock que desborda la columna) se rechaza sola en lugar de bloquear todos los flush.
+     */
+    private List<Long> apply(Map<Long, Long> deltas, long sealed) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Long> failed = applyBatch(entries, now);
+                saveCheckpoint(sealed);
+                catalogVersionTracker.bump();
+                return failed;
+            });
+        } catch (DataAccessException e) {
+            logger.warn("El UPDATE por lotes de stock falló; se reintenta fila por fila: {}", e.getMessage());
+            return transactionTemplate.execute(status -> {
+                List<Long> failed = applyEachRow(entries, now);
+                saveCheckpoint(sealed);
+                catalogVersionTracker.bump();
+                return failed;
+            });
+        }
+    }
+
+    private List<Long> applyBatch(List<Map.Entry<Long, Long>> entries, Timestamp now) {
+        List<Long> failed = new ArrayList<>();
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_STOCK, entries, batchSize, (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, entry.getKey());
+            ps.setLong(4, entry.getValue());
+        });
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    failed.add(entries.get(index).getKey());
+                }
+                index++;
+            }
+        }
+        return failed;
+    }
+
+    private List<Long> applyEachRow(List<Map.Entry<Long, Long>> entries, Timestamp now) {
+        // El gestor de transacciones JPA no expone savepoints; se usan los de la conexión de la transacción
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> failed = new ArrayList<>();
+            try (PreparedStatement ps = connection.prepareStatement(UPDATE_STOCK)) {
+                for (Map.Entry<Long, Long> entry : entries) {
+                    Savepoint savepoint = connection.setSavepoint();
+                    try {
+                        ps.setLong(1, entry.getValue());
+                        ps.setTimestamp(2, now);
+                        ps.setLong(3, entry.getKey());
+                        ps.setLong(4, entry.getValue());
+                        if (ps.executeUpdate() == 0) {
+                            failed.add(entry.getKey());
+                        }
+                        connection.releaseSavepoint(savepoint);
+                    } catch (SQLException e) {
+                        connection.rollback(savepoint);
+                        logger.warn("La base de datos rechazó el ajuste de stock del producto {}: {}",
+                                entry.getKey(), e.getMessage());
+                        failed.add(entry.getKey());
+                    }
+                }
+            }
+            return failed;
+        });
+    }
+
+    /**
+     * Devuelve a los contadores los deltas de un flush que no llegó a la base de datos. Sus
+     * registros siguen en el segmento sellado, que no se borra hasta un flush exitoso posterior.
+     */
+    private void restore(Map<Long, Long> deltas, long drainedSince) {
+        rotation.readLock().lock();
+        try {
+            deltas.forEach((id, delta) -> counters.get(id).pending.addAndGet(delta));
+            oldestPending.accumulateAndGet(drainedSince,
+                    (current, drained) -> current == NONE || drained - current < 0 ? drained : current);
+        } finally {
+            rotation.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vuelve a leer de la base de datos el stock de los productos indicados. Los contadores sin
+     * deltas pendientes se descartan; los que tienen se reajustan sobre el valor leído.
+     */
+    private void resync(Collection<Long> ids) {
+        flushLock.lock();
+        try {
+            rotation.writeLock().lock();
+            try {
+                for (Long id : ids) {
+                    Counter counter = counters.get(id);
+                    if (counter == null) {
+                        continue;
+                    }
+                    long pending = counter.pending.get();
+                    long stock = pending == 0 ? -1 : loadStock(id);
+                    if (stock < 0) {
+                        counters.remove(id);
+                    } else {
+                        counter.available.set(stock + pending);
+                    }
+                }
+            } finally {
+                rotation.writeLock().unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void recover() {
+        try {
+            long checkpoint = loadCheckpoint();
+            StockJournal.Replay replay = journal.replay(checkpoint);
+            if (replay.deltas().isEmpty()) {
+                journal.deleteUpTo(replay.lastSegment());
+                return;
+            }
+
+            List<Long> failed = apply(replay.deltas(), replay.lastSegment());
+            journal.deleteUpTo(replay.lastSegment());
+            logger.info("Diario de stock reaplicado: {} ajustes sobre {} productos ({} rechazados)",
+                    replay.records(), replay.deltas().size(), failed.size());
+            if (!failed.isEmpty()) {
+                logger.warn("Ajustes de stock del diario rechazados por la base de datos: {}", failed);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo reaplicar el diario de stock", e);
+        }
+    }
+
+    private void deleteJournalUpTo(long segment) {
+        try {
+            journal.deleteUpTo(segment);
+        } catch (IOException e) {
+            // El checkpoint ya excluye estos segmentos de una reaplicación
+            logger.warn("No se pudieron borrar los segmentos aplicados del diario de stock", e);
+        }
+    }
+
+    private long loadStock(Long id) {
+        List<Long> stock = jdbcTemplate.queryForList(SELECT_STOCK, Long.class, id);
+        return stock.isEmpty() ? -1 : stock.get(0);
+    }
+
+    private long loadCheckpoint() {
+        List<Long> segment = jdbcTemplate.queryForList(SELECT_CHECKPOINT, Long.class);
+        return segment.isEmpty() ? 0 : segment.get(0);
+    }
+
+    private void saveCheckpoint(long segment) {
+        if (jdbcTemplate.update(UPDATE_CHECKPOINT, segment) == 0) {
+            jdbcTemplate.update(INSERT_CHECKPOINT, segment);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (!enabled || journal == null) {
+            return;
+        }
+
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            logger.error("No se pudieron escribir los ajustes de stock al apagar; quedan en el diario", e);
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.warn("Error al cerrar el diario de stock", e);
+        }
+    }
+
+    private static final class Counter {
+        // Stock en la base de datos más los deltas confirmados que aún no llegaron a ella
+        private final AtomicLong available;
+        private final AtomicLong pending = new AtomicLong();
+
+        private Counter(long stock) {
+            this.available = new AtomicLong(stock);
+        }
+
+        /**
+         * Aplica {@code delta} si el stock queda entre 0 y {@link Integer#MAX_VALUE}; devuelve el
+         * valor resultante, se haya aplicado o no.
+         */
+        private long reserve(int delta) {
+            while (true) {
+                long current = available.get();
+                long updated = current + delta;
+                if (updated < 0 || updated > Integer.MAX_VALUE) {
+                    return updated;
+                }
+                if (available.compareAndSet(current, updated)) {
+                    return updated;
+                }
+            }
+        }
+    }
+
+    public record Stats(long acknowledged, long flushed, long rejected) {}
+}
@@ -0,0 +1,8 @@
+package com.eafit.tutorial.util;
+
+/**
+ * Huella del catálogo completo: {@code epoch} identifica la base de datos (se fija al crear la
+ * fila de versión) y {@code sequence} cuenta las escrituras confirmadas desde entonces.
+ */
+public record CatalogVersion(long epoch, long sequence) {
+}
@@ -0,0 +1,73 @@
+package com.eafit.tutorial.util;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Versión del catálogo para los ETags de los listados, guardada en una fila de la tabla
+ * {@code catalog_version} para que todos los nodos que comparten la base de datos vean la misma.
+ *
+ * Cada escritura del servicio la incrementa en su propia transacción, justo antes del commit: la
+ * versión cambia exactamente cuando cambian los datos, y la fila queda bloqueada solo durante el
+ * commit. Una lectura que consulta la versión antes que los datos nunca asocia una versión nueva
+ * con datos anteriores a ella (a lo sumo lo contrario, que solo cuesta un 200 en lugar de un 304).
+ * El {@code epoch} se fija al crear la fila, de modo que un ETag emitido contra otra base de
+ * datos, o contra una recreada, nunca coincide. Las escrituras que no pasan por el servicio
+ * (consola de H2, SQL directo) no cambian la versión.
+ */
+@Component
+public class CatalogVersionTracker implements InitializingBean {
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS catalog_version (id INT PRIMARY KEY, epoch BIGINT NOT NULL, sequence BIGINT NOT NULL)";
+    private static final String INSERT_ROW =
+            "INSERT INTO catalog_version (id, epoch, sequence) VALUES (1, ?, 0)";
+    private static final String SELECT_VERSION =
+            "SELECT epoch, sequence FROM catalog_version WHERE id = 1";
+    private static final String UPDATE_SEQUENCE =
+            "UPDATE catalog_version SET sequence = sequence + 1 WHERE id = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogVersionTracker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.execute(CREATE_TABLE);
+        if (jdbcTemplate.queryForList(SELECT_VERSION).isEmpty()) {
+            try {
+                jdbcTemplate.update(INSERT_ROW, System.currentTimeMillis());
+            } catch (DuplicateKeyException e) {
+                // Otro nodo creó la fila a la vez
+            }
+        }
+    }
+
+    public CatalogVersion current() {
+        return jdbcTemplate.queryForObject(SELECT_VERSION,
+                (rs, rowNum) -> new CatalogVersion(rs.getLong(1), rs.getLong(2)));
+    }
+
+    /**
+     * Incrementa la versión en la transacción activa, justo antes de su commit (si se revierte,
+     * la versión no cambia); sin transacción, de inmediato.
+     */
+    public void bump() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            jdbcTemplate.update(UPDATE_SEQUENCE);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                jdbcTemplate.update(UPDATE_SEQUENCE);
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.eafit.tutorial.util;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import com.eafit.tutorial.model.Product;
+
+/**
+ * ETags fuertes para productos (ID + {@code updatedAt}) y listados (versión en memoria del catálogo).
+ *
+ * {@code updatedAt} se trunca a microsegundos, la precisión con la que la base de datos guarda
+ * la marca de tiempo, para que el ETag calculado desde la entidad recién guardada coincida con
+ * el que se obtiene después con la consulta liviana.
+ */
+public final class ETags {
+
+    private ETags() {}
+
+    public static String forProduct(Product product) {
+        return forProduct(product.getId(), product.getUpdatedAt());
+    }
+
+    public static String forProduct(Long id, LocalDateTime updatedAt) {
+        return "\"p" + id + "-" + Long.toHexString(micros(updatedAt)) + "\"";
+    }
+
+    public static String forCatalog(CatalogVersion version) {
+        return "\"c" + Long.toHexString(version.epoch()) + "-" + version.sequence() + "\"";
+    }
+
+    /**
+     * Evalúa {@code If-None-Match} con comparación débil (RFC 9110 §13.1.2): acepta listas
+     * separadas por comas, el prefijo {@code W/} y {@code *}.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long micros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return 0;
+        }
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), timestamp.truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,189 @@
+package com.eafit.tutorial.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Autómata Aho-Corasick inmutable sobre un diccionario de términos prohibidos.
+ *
+ * Detecta si algún término aparece como subcadena del texto, sin distinguir mayúsculas, en una
+ * sola pasada O(longitud del texto) sin importar cuántos términos tenga el diccionario. Las
+ * transiciones se guardan en formato CSR (arreglos ordenados por nodo y carácter) para que
+ * 20k términos ocupen unos pocos arreglos primitivos en lugar de un mapa por nodo.
+ */
+public final class ForbiddenWordMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NO_MATCH = -1;
+
+    private final String[] words;
+    private final int[] childStart;
+    private final char[] childChars;
+    private final int[] childNodes;
+    private final int[] fail;
+    private final int[] output;
+
+    private ForbiddenWordMatcher(String[] words, int[] childStart, char[] childChars, int[] childNodes,
+                                 int[] fail, int[] output) {
+        this.words = words;
+        this.childStart = childStart;
+        this.childChars = childChars;
+        this.childNodes = childNodes;
+        this.fail = fail;
+        this.output = output;
+    }
+
+    /**
+     * Compila el autómata. Los términos se recortan y pasan a minúsculas; los vacíos y repetidos
+     * se descartan.
+     */
+    public static ForbiddenWordMatcher compile(Collection<String> terms) {
+        Set<String> unique = new LinkedHashSet<>();
+        for (String term : terms) {
+            if (term != null && !term.isBlank()) {
+                unique.add(lowerCase(term.trim()));
+            }
+        }
+        String[] words = unique.toArray(new String[0]);
+
+        // Trie: aristas (padre, carácter) -> hijo, y el término que termina en cada nodo
+        Map<Long, Integer> edges = new HashMap<>();
+        List<Integer> terminal = new ArrayList<>();
+        terminal.add(NO_MATCH);
+        for (int w = 0; w < words.length; w++) {
+            int node = ROOT;
+            for (int i = 0; i < words[w].length(); i++) {
+                long key = edgeKey(node, words[w].charAt(i));
+                Integer child = edges.get(key);
+                if (child == null) {
+                    child = terminal.size();
+                    terminal.add(NO_MATCH);
+                    edges.put(key, child);
+                }
+                node = child;
+            }
+            if (terminal.get(node) == NO_MATCH) {
+                terminal.set(node, w);
+            }
+        }
+
+        int nodeCount = terminal.size();
+        long[] keys = new long[edges.size()];
+        int k = 0;
+        for (Long key : edges.keySet()) {
+            keys[k++] = key;
+        }
+        Arrays.sort(keys);
+
+        int[] childStart = new int[nodeCount + 1];
+        char[] childChars = new char[keys.length];
+        int[] childNodes = new int[keys.length];
+        for (int e = 0; e < keys.length; e++) {
+            childStart[(int) (keys[e] >>> 16) + 1]++;
+            childChars[e] = (char) keys[e];
+            childNodes[e] = edges.get(keys[e]);
+        }
+        for (int n = 0; n < nodeCount; n++) {
+            childStart[n + 1] += childStart[n];
+        }
+
+        int[] fail = new int[nodeCount];
+        int[] output = new int[nodeCount];
+        output[ROOT] = NO_MATCH;
+        ForbiddenWordMatcher matcher = new ForbiddenWordMatcher(words, childStart, childChars, childNodes, fail, output);
+
+        // Enlaces de fallo en BFS: cada nodo hereda la coincidencia de su sufijo más largo
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(ROOT);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int e = childStart[node]; e < childStart[node + 1]; e++) {
+                int child = childNodes[e];
+                if (node == ROOT) {
+                    fail[child] = ROOT;
+                } else {
+                    int f = fail[node];
+                    int next;
+                    while ((next = matcher.transition(f, childChars[e])) == NO_MATCH && f != ROOT) {
+                        f = fail[f];
+                    }
+                    fail[child] = next == NO_MATCH ? ROOT : next;
+                }
+                output[child] = terminal.get(child) != NO_MATCH ? terminal.get(child) : output[fail[child]];
+                queue.add(child);
+            }
+        }
+
+        return matcher;
+    }
+
+    public boolean matches(CharSequence text) {
+        return find(text) != NO_MATCH;
+    }
+
+    public Optional<String> findFirst(CharSequence text) {
+        int word = find(text);
+        return word == NO_MATCH ? Optional.empty() : Optional.of(words[word]);
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    private int find(CharSequence text) {
+        if (text == null || words.length == 0) {
+            return NO_MATCH;
+        }
+
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = transition(node, c)) == NO_MATCH && node != ROOT) {
+                node = fail[node];
+            }
+            node = next == NO_MATCH ? ROOT : next;
+            if (output[node] != NO_MATCH) {
+                return output[node];
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private int transition(int node, char c) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = childChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return childNodes[mid];
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private static long edgeKey(int node, char c) {
+        return ((long) node << 16) | c;
+    }
+
+    private static String lowerCase(String term) {
+        char[] chars = term.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,126 @@
+package com.eafit.tutorial.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Diccionario de palabras prohibidas: los términos de {@code products.validation.forbidden-words}
+ * más los del archivo {@code products.validation.forbidden-words-file} (uno por línea, {@code #}
+ * para comentarios).
+ *
+ * Las validaciones leen el autómata vigente sin bloquear; una recarga compila uno nuevo aparte y
+ * lo publica con un solo intercambio de referencia. Si el archivo no se puede leer se conserva
+ * el diccionario anterior.
+ */
+@Component
+public class ForbiddenWords {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForbiddenWords.class);
+
+    private final List<String> configuredWords;
+    private final Resource dictionary;
+    private final AtomicReference<ForbiddenWordMatcher> matcher = new AtomicReference<>();
+    private volatile long dictionaryLastModified;
+
+    @Autowired
+    public ForbiddenWords(@Value("${products.validation.forbidden-words:test,prueba,demo,temporal}") List<String> configuredWords,
+                          @Value("${products.validation.forbidden-words-file:}") String dictionaryLocation) {
+        this.configuredWords = List.copyOf(configuredWords);
+        this.dictionary = dictionaryLocation == null || dictionaryLocation.isBlank()
+            ? null
+            : new DefaultResourceLoader().getResource(dictionaryLocation);
+        reload();
+    }
+
+    public static ForbiddenWords of(String... words) {
+        return new ForbiddenWords(List.of(words), null);
+    }
+
+    public Optional<String> findIn(CharSequence text) {
+        return matcher.get().findFirst(text);
+    }
+
+    public boolean isContainedIn(CharSequence text) {
+        return matcher.get().matches(text);
+    }
+
+    public int size() {
+        return matcher.get().size();
+    }
+
+    /**
+     * Vuelve a leer el archivo y publica el nuevo autómata.
+     *
+     * @throws UncheckedIOException si el archivo configurado no se puede leer
+     */
+    public void reload() {
+        long lastModified = lastModified();
+        List<String> terms = new ArrayList<>(configuredWords);
+        if (dictionary != null) {
+            terms.addAll(readDictionary());
+        }
+
+        ForbiddenWordMatcher compiled = ForbiddenWordMatcher.compile(terms);
+        matcher.set(compiled);
+        dictionaryLastModified = lastModified;
+        logger.info("Diccionario de palabras prohibidas cargado: {} términos", compiled.size());
+    }
+
+    @Scheduled(initialDelayString = "${products.validation.forbidden-words-reload-interval:PT1M}",
+               fixedDelayString = "${products.validation.forbidden-words-reload-interval:PT1M}")
+    public void reloadIfChanged() {
+        if (dictionary == null || lastModified() == dictionaryLastModified) {
+            return;
+        }
+        try {
+            reload();
+        } catch (UncheckedIOException e) {
+            logger.error("No se pudo recargar el diccionario de palabras prohibidas; se conserva el anterior", e);
+        }
+    }
+
+    private Collection<String> readDictionary() {
+        List<String> terms = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(dictionary.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String term = line.trim();
+                if (!term.isEmpty() && !term.startsWith("#")) {
+                    terms.add(term);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el diccionario de palabras prohibidas: " + dictionary, e);
+        }
+        return terms;
+    }
+
+    private long lastModified() {
+        if (dictionary == null) {
+            return 0;
+        }
+        try {
+            return dictionary.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.eafit.tutorial.util;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+import com.eafit.tutorial.model.Product;
+
+/**
+ * Cursor opaco para paginación por keyset. Codifica el campo de ordenamiento,
+ * la dirección, el ID del último producto entregado y el valor de su clave de
+ * ordenamiento, de modo que la siguiente página se obtiene con un WHERE sobre
+ * índice en lugar de un OFFSET.
+ */
+public final class ProductCursor {
+
+    // Cada campo tiene su índice (active, campo, id) en Product
+    public static final Set<String> SORTABLE_FIELDS = Set.of("id", "name", "price", "stock", "createdAt");
+
+    private static final String SEPARATOR = ":";
+
+    private final String sortField;
+    private final Sort.Direction direction;
+    private final Long lastId;
+    private final String lastValue;
+
+    private ProductCursor(String sortField, Sort.Direction direction, Long lastId, String lastValue) {
+        this.sortField = sortField;
+        this.direction = direction;
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    public static ProductCursor after(Product product, String sortField, Sort.Direction direction) {
+        requireSortable(sortField);
+        return new ProductCursor(sortField, direction, product.getId(), String.valueOf(sortValue(product, sortField)));
+    }
+
+    public static ProductCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+
+        String[] parts = raw.split(SEPARATOR, 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+
+        try {
+            requireSortable(parts[0]);
+            ProductCursor cursor = new ProductCursor(parts[0], Sort.Direction.fromString(parts[1]),
+                    Long.valueOf(parts[2]), parts[3]);
+            cursor.getTypedValue();
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+
+    public String encode() {
+        String raw = sortField + SEPARATOR + direction.name() + SEPARATOR + lastId + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void requireSortable(String sortField) {
+        if (!SORTABLE_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException(
+                "Campo de ordenamiento no soportado para paginación por cursor: " + sortField);
+        }
+    }
+
+    public String getSortField() { return sortField; }
+
+    public Sort.Direction getDirection() { return direction; }
+
+    public Long getLastId() { return lastId; }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Comparable<? super T>> T getTypedValue() {
+        return (T) switch (sortField) {
+            case "id" -> Long.valueOf(lastValue);
+            case "name" -> lastValue;
+            case "price" -> new BigDecimal(lastValue);
+            case "stock" -> Integer.valueOf(lastValue);
+            case "createdAt" -> LocalDateTime.parse(lastValue);
+            default -> throw new IllegalArgumentException("Campo de ordenamiento no soportado: " + sortField);
+        };
+    }
+
+    private static Object sortValue(Product product, String sortField) {
+        return switch (sortField) {
+            case "id" -> product.getId();
+            case "name" -> product.getName();
+            case "price" -> product.getPrice();
+            case "stock" -> product.getStock();
+            case "createdAt" -> product.getCreatedAt();
+            default -> throw new IllegalArgumentException("Campo de ordenamiento no soportado: " + sortField);
+        };
+    }
+}
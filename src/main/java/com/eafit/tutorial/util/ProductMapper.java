@@ -1,14 +1,24 @@
 package com.eafit.tutorial.util;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Component;
 
+import com.eafit.tutorial.dto.BatchCreateResponse;
+import com.eafit.tutorial.dto.CategoryStatsDTO;
 import com.eafit.tutorial.dto.CreateProductDTO;
+import com.eafit.tutorial.dto.PartialProductDTO;
 import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.dto.ProductField;
+import com.eafit.tutorial.dto.ProductLookupResponse;
 import com.eafit.tutorial.dto.UpdateProductDTO;
 import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.service.BatchCreateResult;
+import com.eafit.tutorial.stats.CategoryStats;
 
 @Component
 public class ProductMapper {
@@ -37,6 +47,61 @@ public class ProductMapper {
                 .collect(Collectors.toList());
     }
 
+    public List<PartialProductDTO> toPartialDTOList(List<ProductDTO> products, Set<ProductField> fields) {
+        return products.stream()
+                .map(product -> new PartialProductDTO(product, fields))
+                .collect(Collectors.toList());
+    }
+
+    public List<Product> toEntityList(List<CreateProductDTO> createDTOs) {
+        return createDTOs.stream()
+                .map(this::toEntity)
+                .collect(Collectors.toList());
+    }
+
+    public BatchCreateResponse toBatchResponse(BatchCreateResult result) {
+        List<BatchCreateResponse.ItemResult> items = result.getItems().stream()
+                .map(item -> new BatchCreateResponse.ItemResult(
+                        item.getIndex(),
+                        item.getStatus().name(),
+                        toDTO(item.getProduct()),
+                        item.getMessage()))
+                .collect(Collectors.toList());
+
+        return new BatchCreateResponse(result.getCreatedCount(), result.getFailedCount(), items);
+    }
+
+    /**
+     * Un elemento por ID solicitado, en el mismo orden y con repetidos incluidos.
+     */
+    public ProductLookupResponse toLookupResponse(List<Long> ids, Map<Long, Product> found) {
+        List<ProductLookupResponse.ItemResult> items = new ArrayList<>(ids.size());
+        long foundCount = 0;
+        for (Long id : ids) {
+            Product product = found.get(id);
+            if (product != null) {
+                foundCount++;
+            }
+            items.add(new ProductLookupResponse.ItemResult(
+                    id,
+                    product != null ? "FOUND" : "NOT_FOUND",
+                    toDTO(product)));
+        }
+
+        return new ProductLookupResponse(foundCount, ids.size() - foundCount, items);
+    }
+
+    public CategoryStatsDTO toCategoryStatsDTO(CategoryStats stats) {
+        return new CategoryStatsDTO(stats.category(), stats.productCount(), stats.totalStock(),
+                stats.inventoryValue(), stats.minPrice(), stats.maxPrice(), stats.averagePrice());
+    }
+
+    public List<CategoryStatsDTO> toCategoryStatsDTOList(List<CategoryStats> stats) {
+        return stats.stream()
+                .map(this::toCategoryStatsDTO)
+                .collect(Collectors.toList());
+    }
+
     public Product toEntity(CreateProductDTO createDTO) {
         if (createDTO == null) {
             return null;
@@ -3,19 +3,35 @@ package com.eafit.tutorial.util;
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.eafit.tutorial.dto.CreateProductDTO;
 import com.eafit.tutorial.exception.ValidationException;
+import com.eafit.tutorial.rules.CategoryRules;
 
 @Component
 public class ProductValidator {
 
-    private static final String[] FORBIDDEN_WORDS = {"test", "prueba", "demo", "temporal"};
+    private static final String[] DEFAULT_FORBIDDEN_WORDS = {"test", "prueba", "demo", "temporal"};
     private static final BigDecimal MAX_PRICE = new BigDecimal("100000.00");
     private static final int MAX_STOCK = 10000;
 
+    private final ForbiddenWords forbiddenWords;
+    private final CategoryRules categoryRules;
+
+    public ProductValidator() {
+        this(ForbiddenWords.of(DEFAULT_FORBIDDEN_WORDS), CategoryRules.defaults());
+    }
+
+    @Autowired
+    public ProductValidator(ForbiddenWords forbiddenWords, CategoryRules categoryRules) {
+        this.forbiddenWords = forbiddenWords;
+        this.categoryRules = categoryRules;
+    }
+
     public void validateForCreation(CreateProductDTO productDTO) {
         Map<String, String> errors = new HashMap<>();
 
@@ -23,6 +39,10 @@ public class ProductValidator {
             errors.put("name", "El nombre del producto no puede contener palabras prohibidas como 'test', 'demo', etc.");
         }
 
+        if (containsForbiddenWords(productDTO.getDescription())) {
+            errors.put("description", "La descripción del producto no puede contener palabras prohibidas");
+        }
+
         if (productDTO.getPrice().compareTo(MAX_PRICE) > 0) {
             errors.put("price", "El precio no puede exceder $" + MAX_PRICE);
         }
@@ -38,49 +58,21 @@ public class ProductValidator {
         }
     }
 
-    private boolean containsForbiddenWords(String name) {
-        if (name == null) return false;
+    private boolean containsForbiddenWords(String text) {
+        if (text == null) return false;
 
-        String lowerName = name.toLowerCase();
-        for (String forbidden : FORBIDDEN_WORDS) {
-            if (lowerName.contains(forbidden)) {
-                return true;
-            }
-        }
-        return false;
+        return forbiddenWords.isContainedIn(text);
     }
 
     private void validatePriceCategoryCoherence(BigDecimal price, String category, Map<String, String> errors) {
-        if (price == null || category == null) return;
-
-        String lowerCategory = category.toLowerCase();
-
-        if (lowerCategory.contains("electrón") && price.compareTo(new BigDecimal("50.00")) < 0) {
-            errors.put("price", "Los productos electrónicos deben tener un precio mínimo de $50.00");
-        }
-
-        if (lowerCategory.contains("libro") && price.compareTo(new BigDecimal("200.00")) > 0) {
-            errors.put("price", "Los libros no pueden exceder $200.00");
-        }
-
-        if (lowerCategory.contains("ropa") || lowerCategory.contains("vestimenta")) {
-            if (price.compareTo(new BigDecimal("10.00")) < 0 || price.compareTo(new BigDecimal("1000.00")) > 0) {
-                errors.put("price", "La ropa debe tener un precio entre $10.00 y $1,000.00");
-            }
-        }
+        categoryRules.priceViolation(category, price)
+            .ifPresent(message -> errors.put("price", message));
     }
 
     public void validateStockForCategory(String category, Integer stock) {
-        if (category == null || stock == null) return;
-
-        String lowerCategory = category.toLowerCase();
-
-        if ((lowerCategory.contains("digital") || lowerCategory.contains("software")) && stock < 1000) {
-            throw new ValidationException("Los productos digitales deberían tener stock alto (mínimo 1000)");
-        }
-
-        if ((lowerCategory.contains("comida") || lowerCategory.contains("alimento")) && stock > 100) {
-            throw new ValidationException("Los productos perecederos no deberían tener stock mayor a 100");
+        Optional<String> violation = categoryRules.stockViolation(category, stock);
+        if (violation.isPresent()) {
+            throw new ValidationException(violation.get());
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.eafit.tutorial.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canónica de textos que se comparan sin distinguir mayúsculas ni tildes.
+ */
+public final class TextNormalizer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {}
+
+    /**
+     * Recorta, pasa a minúsculas y elimina las marcas diacríticas: {@code " Cámara "} queda
+     * {@code "camara"}. Devuelve {@code null} si el texto es {@code null}.
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value.trim().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("");
+    }
+}
@@ -0,0 +1,181 @@
+package com.eafit.tutorial.alert;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LowStockAlertsTest {
+
+    private LowStockAlerts alerts;
+
+    @BeforeEach
+    void setUp() {
+        alerts = new LowStockAlerts(Duration.ofMinutes(1), 16, Duration.ofSeconds(10), Runnable::run);
+    }
+
+    @Test
+    void record_WhenStockDropsBelowThreshold_ShouldNotifyOnce() {
+        CapturingEmitter emitter = subscribe(10, null, null);
+
+        alerts.record(change(1L, "Tecnologia", 15, 12));
+        alerts.record(change(1L, "Tecnologia", 12, 9));
+        alerts.record(change(1L, "Tecnologia", 9, 4));
+
+        assertThat(emitter.events).singleElement().satisfies(event -> {
+            assertThat(event.type()).isEqualTo(LowStockEvent.Type.LOW_STOCK);
+            assertThat(event.previousStock()).isEqualTo(12);
+            assertThat(event.currentStock()).isEqualTo(9);
+            assertThat(event.threshold()).isEqualTo(10);
+        });
+    }
+
+    @Test
+    void record_WhenStockRecovers_ShouldNotifyRestocked() {
+        CapturingEmitter emitter = subscribe(10, null, null);
+
+        alerts.record(change(1L, "Tecnologia", 3, 10));
+
+        assertThat(emitter.events).extracting(LowStockEvent::type).containsExactly(LowStockEvent.Type.RESTOCKED);
+    }
+
+    @Test
+    void record_ShouldOnlyNotifyMatchingScopesAndCrossedThresholds() {
+        CapturingEmitter everything = subscribe(5, null, null);
+        CapturingEmitter category = subscribe(20, "tecnologia", null);
+        CapturingEmitter otherCategory = subscribe(20, "Hogar", null);
+        CapturingEmitter product = subscribe(8, null, 1L);
+        CapturingEmitter otherProduct = subscribe(8, null, 2L);
+
+        alerts.record(change(1L, "Tecnologia", 25, 7));
+
+        assertThat(everything.events).isEmpty();
+        assertThat(category.events).hasSize(1);
+        assertThat(otherCategory.events).isEmpty();
+        assertThat(product.events).hasSize(1);
+        assertThat(otherProduct.events).isEmpty();
+    }
+
+    @Test
+    void record_ForNewProduct_ShouldNotifyWhenCreatedBelowThreshold() {
+        CapturingEmitter emitter = subscribe(10, null, null);
+
+        alerts.record(new StockChange(1L, "Nuevo", "Tecnologia", null, null, 50));
+        alerts.record(new StockChange(2L, "Escaso", "Tecnologia", null, null, 2));
+
+        assertThat(emitter.events).extracting(LowStockEvent::productId).containsExactly(2L);
+    }
+
+    @Test
+    void record_WhenLowStockProductChangesCategory_ShouldNotifyOnlyTheNewCategory() {
+        CapturingEmitter oldCategory = subscribe(10, "Tecnologia", null);
+        CapturingEmitter newCategory = subscribe(10, "Oficina", null);
+        CapturingEmitter everything = subscribe(10, null, null);
+
+        alerts.record(new StockChange(1L, "Escaso", "Oficina", "Tecnologia", 3, 3));
+
+        assertThat(oldCategory.events).isEmpty();
+        assertThat(newCategory.events).extracting(LowStockEvent::productId).containsExactly(1L);
+        assertThat(newCategory.events).extracting(LowStockEvent::type).containsExactly(LowStockEvent.Type.LOW_STOCK);
+        assertThat(everything.events).isEmpty();
+    }
+
+    @Test
+    void subscribe_WhenClientDisconnects_ShouldStopNotifying() {
+        CapturingEmitter emitter = subscribe(10, null, null);
+        emitter.failSends = true;
+
+        alerts.record(change(1L, "Tecnologia", 15, 5));
+
+        assertThat(alerts.getSubscriptionCount()).isZero();
+    }
+
+    @Test
+    void record_WhenSubscriberBacklogIsFull_ShouldCloseOnlyThatSubscription() {
+        List<Runnable> scheduled = new ArrayList<>();
+        alerts = new LowStockAlerts(Duration.ofMinutes(1), 2, Duration.ofSeconds(10), scheduled::add);
+        subscribe(10, null, 1L);
+        subscribe(10, null, 2L);
+
+        alerts.record(change(1L, "Tecnologia", 15, 5));
+        alerts.record(change(1L, "Tecnologia", 5, 15));
+
+        assertThat(alerts.getSubscriptionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void record_WhenSendIsStuck_ShouldCloseThatSubscriptionAndKeepServingOthers() throws InterruptedException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            alerts = new LowStockAlerts(Duration.ofMinutes(1), 16, Duration.ofMillis(50), executor);
+            CapturingEmitter slow = subscribe(10, null, 1L);
+            CapturingEmitter fast = subscribe(10, null, 2L);
+            slow.block = new CountDownLatch(1);
+
+            alerts.record(change(1L, "Tecnologia", 15, 5));
+            Thread.sleep(200);
+            alerts.record(change(1L, "Tecnologia", 5, 15));
+            alerts.record(change(2L, "Tecnologia", 15, 5));
+
+            assertThat(alerts.getSubscriptionCount()).isEqualTo(1);
+            slow.block.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(fast.events).extracting(LowStockEvent::productId).containsExactly(2L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void subscribe_WithCategoryAndProduct_ShouldBeRejected() {
+        assertThatThrownBy(() -> alerts.subscribe(10, "Tecnologia", 1L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CapturingEmitter subscribe(int threshold, String category, Long productId) {
+        CapturingEmitter emitter = new CapturingEmitter();
+        alerts.subscribe(threshold, category, productId, emitter);
+        return emitter;
+    }
+
+    private static StockChange change(Long id, String category, int previous, int current) {
+        return new StockChange(id, "Producto " + id, category, category, previous, current);
+    }
+
+    private static final class CapturingEmitter extends SseEmitter {
+        private final List<LowStockEvent> events = new ArrayList<>();
+        private boolean failSends;
+        private volatile CountDownLatch block;
+
+        @Override
+        public void send(SseEventBuilder builder) throws java.io.IOException {
+            if (failSends) {
+                throw new java.io.IOException("Conexión cerrada");
+            }
+            CountDownLatch latch = block;
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            builder.build().stream()
+                .map(DataWithMediaType::getData)
+                .filter(LowStockEvent.class::isInstance)
+                .map(LowStockEvent.class::cast)
+                .forEach(events::add);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.eafit.tutorial.benchmark;
+
+import com.eafit.tutorial.ProductsApiApplication;
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.repository.ProductRepository;
+import com.eafit.tutorial.snapshot.SnapshotWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mide el arranque de la aplicación cargando una instantánea de {@code ROWS} productos (1M por
+ * defecto, {@code -Dbenchmark.snapshot.rows=...} para cambiarlo). Se ejecuta solo con
+ * {@code -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CatalogSnapshotStartupBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshotStartupBenchmarkTest.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.snapshot.rows", 1_000_000);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void startFromSnapshot() throws IOException {
+        Path snapshot = tempDir.resolve("catalog.snapshot");
+        writeSnapshot(snapshot);
+
+        for (boolean mmap : new boolean[] {true, false}) {
+            long start = System.nanoTime();
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductsApiApplication.class).run(
+                    "--server.port=0",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.com.eafit.tutorial=INFO",
+                    "--products.search.rebuild-on-startup=false",
+                    "--products.stats.reconcile-enabled=false",
+                    "--products.snapshot.path=" + snapshot,
+                    "--products.snapshot.mmap=" + mmap,
+                    "--products.snapshot.save-on-shutdown=false",
+                    "--spring.datasource.url=jdbc:h2:mem:snapshotbench" + mmap)) {
+                long startupNanos = System.nanoTime() - start;
+
+                logger.info("Arranque con instantánea de {} productos (mmap={}, {} MB): {} ms",
+                    ROWS, mmap, Files.size(snapshot) >> 20, startupNanos / 1_000_000);
+                assertThat(context.getBean(ProductRepository.class).count()).isEqualTo(ROWS);
+            }
+        }
+    }
+
+    private static void writeSnapshot(Path file) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        try (SnapshotWriter writer = new SnapshotWriter(file)) {
+            for (int i = 1; i <= ROWS; i++) {
+                Product product = new Product("Producto " + i, "Descripción del producto número " + i,
+                    BigDecimal.valueOf(100 + i % 10_000, 2), "Categoria " + (char) ('A' + i % 20), i % 500);
+                product.setId((long) i);
+                product.setVersion(0L);
+                product.setCreatedAt(now);
+                product.setUpdatedAt(now);
+                writer.write(product);
+            }
+        }
+    }
+}
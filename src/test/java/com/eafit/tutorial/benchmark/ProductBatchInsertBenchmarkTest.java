@@ -0,0 +1,67 @@
+package com.eafit.tutorial.benchmark;
+
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.service.BatchCreateResult;
+import com.eafit.tutorial.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara filas/segundo entre {@code createProduct} uno a uno y {@code createProducts} en lote.
+ * Se ejecuta solo con {@code -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.eafit.tutorial=WARN",
+    "logging.level.com.eafit.tutorial.benchmark=INFO"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductBatchInsertBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductBatchInsertBenchmarkTest.class);
+
+    private static final int ROWS = 5000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void compareSingleAndBatchInserts() {
+        productService.createProducts(products("warmup-lote", ROWS));
+        products("warmup-single", ROWS / 5).forEach(productService::createProduct);
+
+        List<Product> single = products("single", ROWS);
+        long start = System.nanoTime();
+        single.forEach(productService::createProduct);
+        long singleNanos = System.nanoTime() - start;
+
+        List<Product> batch = products("lote", ROWS);
+        start = System.nanoTime();
+        BatchCreateResult result = productService.createProducts(batch);
+        long batchNanos = System.nanoTime() - start;
+
+        logger.info("createProduct x{}: {} filas/s", ROWS, Math.round(ROWS / (singleNanos / 1e9)));
+        logger.info("createProducts (lote de {}): {} filas/s", ROWS, Math.round(ROWS / (batchNanos / 1e9)));
+
+        assertThat(result.getCreatedCount()).isEqualTo(ROWS);
+    }
+
+    private static List<Product> products(String prefix, int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new Product(prefix + " producto " + i, "Descripción de carga masiva",
+                new BigDecimal("19.99"), "Bench", 10));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,78 @@
+package com.eafit.tutorial.benchmark;
+
+import com.eafit.tutorial.cache.ProductCache;
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.repository.ProductRepository;
+import com.eafit.tutorial.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara la latencia de {@code getProductById} con la caché frente a la consulta directa
+ * a la base de datos. Se ejecuta solo con {@code -Dbenchmark=true}.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.eafit.tutorial=WARN",
+    "logging.level.com.eafit.tutorial.benchmark=INFO"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductCacheBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductCacheBenchmarkTest.class);
+
+    private static final int HOT_PRODUCTS = 300;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Test
+    void compareCachedAndUncachedLookups() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < HOT_PRODUCTS; i++) {
+            Product product = new Product("Producto bench " + i, "Descripción", new BigDecimal("99.99"), "Bench", 10);
+            ids.add(productRepository.save(product).getId());
+        }
+
+        run(ids, WARMUP, id -> productRepository.findByIdAndActiveTrue(id));
+        long uncached = run(ids, ITERATIONS, id -> productRepository.findByIdAndActiveTrue(id));
+
+        run(ids, WARMUP, id -> productService.getProductById(id));
+        long cached = run(ids, ITERATIONS, id -> productService.getProductById(id));
+
+        logger.info("findByIdAndActiveTrue: {} ns/op", uncached / ITERATIONS);
+        logger.info("getProductById (caché): {} ns/op", cached / ITERATIONS);
+        logger.info("Caché: {}", productCache.getStats());
+
+        assertThat(productCache.getStats().hits()).isGreaterThan(0);
+    }
+
+    private static long run(List<Long> ids, int iterations, LongConsumer lookup) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            lookup.accept(ids.get(random.nextInt(ids.size())));
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,160 @@
+package com.eafit.tutorial.benchmark;
+
+import com.eafit.tutorial.ProductsApiApplication;
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.repository.ProductRepository;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara el modo de hilos de plataforma (pool de 200 hilos de Tomcat) con el de hilos virtuales
+ * ({@code spring.threads.virtual.enabled=true}) bajo {@value #CLIENTS} clientes concurrentes.
+ *
+ * Cada petición espera {@value #BLOCKING_MILLIS} ms dentro de un filtro, en lugar de una consulta
+ * a una base de datos remota (H2 en memoria responde demasiado rápido para saturar el pool).
+ * Mide cuántas peticiones llegan a estar en curso a la vez en el servidor y la latencia p99 vista
+ * por el cliente. Se ejecuta solo con {@code -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadBenchmarkTest.class);
+
+    private static final int CLIENTS = 1000;
+    private static final int REQUESTS = 5000;
+    private static final long BLOCKING_MILLIS = 50;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        logger.info("Hilos de plataforma: máx. en curso={}, p50={} ms, p99={} ms, {} req/s",
+            platform.maxInFlight, platform.p50Millis, platform.p99Millis, Math.round(platform.throughput));
+        logger.info("Hilos virtuales: máx. en curso={}, p50={} ms, p99={} ms, {} req/s",
+            virtual.maxInFlight, virtual.p50Millis, virtual.p99Millis, Math.round(virtual.throughput));
+
+        assertThat(virtual.maxInFlight).isGreaterThan(platform.maxInFlight);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        InFlightCounter counter = new InFlightCounter();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductsApiApplication.class)
+                .initializers(ctx -> ((GenericApplicationContext) ctx)
+                    .registerBean("inFlightCounterFilter", Filter.class, counter::filter))
+                .run(
+                    "--server.port=0",
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--spring.datasource.url=jdbc:h2:mem:vt-" + virtualThreads,
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.com.eafit.tutorial=WARN",
+                    "--logging.level.com.eafit.tutorial.benchmark=INFO")) {
+
+            Long id = context.getBean(ProductRepository.class)
+                .save(new Product("Producto Carga", "Prueba de carga", new BigDecimal("10.00"), "Bench", 100))
+                .getId();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/products/" + id);
+
+            fire(uri, CLIENTS);
+            counter.reset();
+            return fire(uri, REQUESTS).withMaxInFlight(counter.max.get());
+        }
+    }
+
+    private static Result fire(URI uri, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        Semaphore clients = new Semaphore(CLIENTS);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                 .executor(executor)
+                 .connectTimeout(Duration.ofSeconds(30))
+                 .build()) {
+
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(2)).GET().build();
+            List<Future<?>> futures = new ArrayList<>(requests);
+            long begin = System.nanoTime();
+
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                clients.acquire();
+                futures.add(executor.submit(() -> {
+                    try {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[index] = System.nanoTime() - start;
+                        assertThat(response.statusCode()).isEqualTo(200);
+                        return null;
+                    } finally {
+                        clients.release();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - begin;
+
+            Arrays.sort(latencies);
+            return new Result(0,
+                latencies[requests / 2] / 1_000_000,
+                latencies[(int) Math.ceil(requests * 0.99) - 1] / 1_000_000,
+                requests / (elapsed / 1e9));
+        }
+    }
+
+    private static final class InFlightCounter {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        Filter filter() {
+            return (request, response, chain) -> {
+                max.accumulateAndGet(current.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(BLOCKING_MILLIS);
+                    chain.doFilter(request, response);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    current.decrementAndGet();
+                }
+            };
+        }
+
+        void reset() {
+            max.set(current.get());
+        }
+    }
+
+    private record Result(int maxInFlight, long p50Millis, long p99Millis, double throughput) {
+        Result withMaxInFlight(int maxInFlight) {
+            return new Result(maxInFlight, p50Millis, p99Millis, throughput);
+        }
+    }
+}
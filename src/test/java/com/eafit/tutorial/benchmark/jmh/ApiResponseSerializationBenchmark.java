@@ -0,0 +1,60 @@
+package com.eafit.tutorial.benchmark.jmh;
+
+import com.eafit.tutorial.dto.ApiResponse;
+import com.eafit.tutorial.dto.PagedResponse;
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.util.ProductMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización Jackson de la respuesta paginada de GET /api/v1/products, configurada como en
+ * Spring Boot (JavaTimeModule, fechas como texto).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"1", "20", "1000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private ApiResponse<PagedResponse<ProductDTO>> response;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        List<ProductDTO> content = new ProductMapper().toDTOList(BenchmarkData.products(size));
+        PagedResponse<ProductDTO> page = PagedResponse.of(new PageImpl<>(content, PageRequest.of(0, size), 10_000));
+        response = ApiResponse.success(page, "Productos paginados obtenidos exitosamente");
+    }
+
+    @Benchmark
+    public byte[] serializePagedResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,53 @@
+package com.eafit.tutorial.benchmark.jmh;
+
+import com.eafit.tutorial.dto.CreateProductDTO;
+import com.eafit.tutorial.model.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos de prueba con tamaños y contenidos parecidos a los del catálogo real.
+ */
+final class BenchmarkData {
+
+    private static final String DESCRIPTION =
+        "Producto de catálogo con una descripción de longitud media que incluye características, " +
+        "materiales y recomendaciones de uso para el cliente final.";
+
+    private BenchmarkData() {}
+
+    static List<Product> products(int count) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product(
+                "Producto de catálogo " + i,
+                DESCRIPTION,
+                new BigDecimal("1299.99").add(BigDecimal.valueOf(i)),
+                "Electrónicos",
+                10 + (i % 90));
+            product.setId((long) i + 1);
+            product.setCreatedAt(now.minusDays(i % 365));
+            product.setUpdatedAt(now);
+            product.setVersion(0L);
+            products.add(product);
+        }
+        return products;
+    }
+
+    static List<CreateProductDTO> createDTOs(int count) {
+        List<CreateProductDTO> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(new CreateProductDTO(
+                "Producto de catálogo " + i,
+                DESCRIPTION,
+                new BigDecimal("1299.99"),
+                "Electrónicos",
+                10 + (i % 90)));
+        }
+        return dtos;
+    }
+}
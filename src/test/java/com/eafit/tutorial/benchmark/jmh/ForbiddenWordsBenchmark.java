@@ -0,0 +1,84 @@
+package com.eafit.tutorial.benchmark.jmh;
+
+import com.eafit.tutorial.util.ForbiddenWordMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de palabras prohibidas en nombre y descripción de un producto válido (sin
+ * coincidencias, el peor caso del bucle): {@code toLowerCase} + {@code String.contains} por
+ * término, como hacía el validador, frente al autómata Aho-Corasick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForbiddenWordsBenchmark {
+
+    private static final String NAME = "Producto de catálogo 42";
+    private static final String DESCRIPTION =
+        "Producto de catálogo con una descripción de longitud media que incluye características, " +
+        "materiales y recomendaciones de uso para el cliente final.";
+
+    @Param({"4", "1000", "20000"})
+    public int terms;
+
+    private String[] words;
+    private ForbiddenWordMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        List<String> dictionary = new ArrayList<>(List.of("test", "prueba", "demo", "temporal"));
+        Random random = new Random(7);
+        while (dictionary.size() < terms) {
+            // Términos de 6 a 12 letras con la distribución de letras del español; casi nunca aparecen en el texto
+            StringBuilder term = new StringBuilder();
+            int length = 6 + random.nextInt(7);
+            for (int i = 0; i < length; i++) {
+                term.append("eaosrnidlctumpbgvyqhfzjñxkw".charAt(Math.min(26, (int) Math.abs(random.nextGaussian() * 8))));
+            }
+            dictionary.add(term.toString());
+        }
+        words = dictionary.subList(0, terms).toArray(new String[0]);
+        matcher = ForbiddenWordMatcher.compile(List.of(words));
+
+        if (naiveLoop() || ahoCorasick()) {
+            throw new IllegalStateException("El texto de prueba no debe contener términos prohibidos");
+        }
+    }
+
+    @Benchmark
+    public boolean naiveLoop() {
+        return containsAny(NAME.toLowerCase()) || containsAny(DESCRIPTION.toLowerCase());
+    }
+
+    @Benchmark
+    public boolean ahoCorasick() {
+        return matcher.matches(NAME) || matcher.matches(DESCRIPTION);
+    }
+
+    private boolean containsAny(String text) {
+        for (String word : words) {
+            if (text.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package com.eafit.tutorial.benchmark.jmh;
+
+import com.eafit.tutorial.dto.ApiResponse;
+import com.eafit.tutorial.dto.PagedResponse;
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.json.ProductJsonModule;
+import com.eafit.tutorial.util.ProductMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Respuesta paginada de productos con el serializador de beans de Jackson frente a
+ * {@link ProductJsonModule}. El setup aborta si los bytes producidos no son idénticos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializerBenchmark {
+
+    @Param({"1", "20", "1000"})
+    public int size;
+
+    private ObjectWriter reflectiveWriter;
+    private ObjectWriter handWrittenWriter;
+    private ApiResponse<PagedResponse<ProductDTO>> response;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        reflectiveWriter = Jackson2ObjectMapperBuilder.json().build().writer();
+        handWrittenWriter = Jackson2ObjectMapperBuilder.json().modules(new ProductJsonModule()).build().writer();
+
+        List<ProductDTO> content = new ProductMapper().toDTOList(BenchmarkData.products(size));
+        PagedResponse<ProductDTO> page = PagedResponse.of(new PageImpl<>(content, PageRequest.of(0, size), 10_000));
+        response = ApiResponse.success(page, "Productos paginados obtenidos exitosamente");
+
+        if (!Arrays.equals(reflective(), handWritten())) {
+            throw new IllegalStateException("Los serializadores escritos a mano no producen los mismos bytes");
+        }
+    }
+
+    @Benchmark
+    public byte[] reflective() throws JsonProcessingException {
+        return reflectiveWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] handWritten() throws JsonProcessingException {
+        return handWrittenWriter.writeValueAsBytes(response);
+    }
+}
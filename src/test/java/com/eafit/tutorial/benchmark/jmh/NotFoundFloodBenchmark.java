@@ -0,0 +1,86 @@
+package com.eafit.tutorial.benchmark.jmh;
+
+import com.eafit.tutorial.exception.ProductNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ráfaga de búsquedas de IDs inexistentes: el 404 se resuelve lanzando una excepción que captura
+ * la pila (como antes), lanzando la {@link ProductNotFoundException} sin pila, o devolviendo un
+ * {@code Optional} vacío como hace {@code getProductById}. {@code depth} simula los marcos que hay
+ * entre el repositorio y el manejador en una petición real (filtros, proxies, AOP).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundFloodBenchmark {
+
+    @Param({"20", "150"})
+    public int depth;
+
+    public long missingId = 404L;
+
+    @Benchmark
+    public String stackfulException() {
+        try {
+            return throwStackful(depth);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String stacklessException() {
+        try {
+            return throwStackless(depth);
+        } catch (ProductNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String optionalResult() {
+        return lookup(depth).orElse(null);
+    }
+
+    private String throwStackful(int frames) {
+        if (frames == 0) {
+            throw new StackfulNotFoundException("Producto no encontrado con ID: " + missingId);
+        }
+        return throwStackful(frames - 1);
+    }
+
+    private String throwStackless(int frames) {
+        if (frames == 0) {
+            throw new ProductNotFoundException(missingId);
+        }
+        return throwStackless(frames - 1);
+    }
+
+    private Optional<String> lookup(int frames) {
+        if (frames == 0) {
+            return Optional.empty();
+        }
+        return lookup(frames - 1);
+    }
+
+    private static final class StackfulNotFoundException extends RuntimeException {
+        private StackfulNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.eafit.tutorial.benchmark.jmh;
+
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.util.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    @Param({"1", "20", "1000"})
+    public int size;
+
+    private final ProductMapper mapper = new ProductMapper();
+
+    private List<Product> products;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.products(size);
+        product = products.get(0);
+    }
+
+    @Benchmark
+    public ProductDTO toDTO() {
+        return mapper.toDTO(product);
+    }
+
+    @Benchmark
+    public List<ProductDTO> toDTOList() {
+        return mapper.toDTOList(products);
+    }
+}
@@ -0,0 +1,63 @@
+package com.eafit.tutorial.benchmark.jmh;
+
+import com.eafit.tutorial.cache.ProductJsonCache;
+import com.eafit.tutorial.dto.ApiResponse;
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.util.ProductMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cuerpo de GET /api/v1/products/{id}: mapeo a DTO y serialización Jackson completa frente al
+ * sobre armado alrededor del JSON en caché. Con {@code -prof gc} se compara la asignación por
+ * operación ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductResponseBenchmark {
+
+    private static final String MESSAGE = "Producto encontrado exitosamente";
+
+    private Product product;
+    private ProductMapper productMapper;
+    private ObjectWriter writer;
+    private ProductJsonCache jsonCache;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        productMapper = new ProductMapper();
+        writer = objectMapper.writer();
+        jsonCache = new ProductJsonCache(true, 1000, objectMapper, productMapper);
+        product = BenchmarkData.products(1).get(0);
+        jsonCache.getOrSerialize(product);
+    }
+
+    @Benchmark
+    public byte[] jacksonEnvelope() throws JsonProcessingException {
+        return writer.writeValueAsBytes(ApiResponse.success(productMapper.toDTO(product), MESSAGE));
+    }
+
+    @Benchmark
+    public byte[] cachedJsonEnvelope() {
+        return jsonCache.successResponse(product, MESSAGE);
+    }
+}
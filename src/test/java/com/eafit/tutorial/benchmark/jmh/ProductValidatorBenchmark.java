@@ -0,0 +1,51 @@
+package com.eafit.tutorial.benchmark.jmh;
+
+import com.eafit.tutorial.dto.CreateProductDTO;
+import com.eafit.tutorial.util.ProductValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Valida lotes de N productos válidos (el caso común de creación).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductValidatorBenchmark {
+
+    @Param({"1", "20", "1000"})
+    public int size;
+
+    private final ProductValidator validator = new ProductValidator();
+
+    private List<CreateProductDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        dtos = BenchmarkData.createDTOs(size);
+    }
+
+    @Benchmark
+    public void validateForCreation(Blackhole blackhole) {
+        for (CreateProductDTO dto : dtos) {
+            validator.validateForCreation(dto);
+            blackhole.consume(dto);
+        }
+    }
+}
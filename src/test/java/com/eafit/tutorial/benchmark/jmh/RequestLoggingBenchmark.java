@@ -0,0 +1,118 @@
+package com.eafit.tutorial.benchmark.jmh;
+
+import com.eafit.tutorial.logging.AccessLogFilter;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo en el hilo de la petición de los logs de una lectura típica (una línea DEBUG del
+ * controlador, una del servicio y la línea de acceso), con 4 hilos concurrentes escribiendo:
+ * <ul>
+ *   <li>{@code sync}: configuración de desarrollo, DEBUG habilitado y appender síncrono.</li>
+ *   <li>{@code async}: perfil prod, nivel INFO y {@code AsyncAppender} con {@code neverBlock}.</li>
+ *   <li>{@code asyncSampled}: como {@code async}, con el log de acceso muestreado al 1%.</li>
+ * </ul>
+ * El appender escribe a un archivo temporal con flush por evento, como la consola.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final String PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+    @Param({"sync", "async", "asyncSampled"})
+    public String mode;
+
+    private Path logFile;
+    private LoggerContext context;
+    private Logger controllerLogger;
+    private Logger serviceLogger;
+    private Logger accessLogger;
+    private double sampleRate;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("request-logging", ".log");
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.setImmediateFlush(true);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (!mode.equals("sync")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.addAppender(appender);
+        root.setLevel(mode.equals("sync") ? Level.DEBUG : Level.INFO);
+
+        controllerLogger = context.getLogger("com.eafit.tutorial.controller.ProductController");
+        serviceLogger = context.getLogger("com.eafit.tutorial.service.impl.ProductServiceImpl");
+        accessLogger = context.getLogger(AccessLogFilter.ACCESS_LOGGER);
+        sampleRate = mode.equals("asyncSampled") ? 0.01 : 1.0;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void getProductById() {
+        long id = ThreadLocalRandom.current().nextLong(1, 10_000);
+        controllerLogger.debug("GET /api/v1/products/{}", id);
+        serviceLogger.debug("Buscando producto con ID: {}", id);
+        if (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            accessLogger.info("{} {} {} {}ms", "GET", "/api/v1/products/" + id, 200, 3);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.eafit.tutorial.benchmark.jmh;
+
+import com.eafit.tutorial.dto.ApiResponse;
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.dto.ProductField;
+import com.eafit.tutorial.json.ProductJsonModule;
+import com.eafit.tutorial.util.ProductMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listado completo frente a {@code fields=name,price}: armado y serialización del cuerpo de la
+ * respuesta. El setup aborta si la respuesta parcial no es más chica que la completa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparseFieldsetBenchmark {
+
+    private static final Set<ProductField> FIELDS = ProductField.parse("name,price");
+    private static final String MESSAGE = "Productos obtenidos exitosamente";
+
+    @Param({"20", "1000"})
+    public int size;
+
+    private ProductMapper productMapper;
+    private ObjectWriter writer;
+    private List<ProductDTO> products;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        productMapper = new ProductMapper();
+        writer = Jackson2ObjectMapperBuilder.json().modules(new ProductJsonModule()).build().writer();
+        products = productMapper.toDTOList(BenchmarkData.products(size));
+
+        if (sparse().length >= full().length) {
+            throw new IllegalStateException("La respuesta con fields no es más chica que la completa");
+        }
+    }
+
+    @Benchmark
+    public byte[] full() throws JsonProcessingException {
+        return writer.writeValueAsBytes(ApiResponse.success(products, MESSAGE));
+    }
+
+    @Benchmark
+    public byte[] sparse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(ApiResponse.success(productMapper.toPartialDTOList(products, FIELDS), MESSAGE));
+    }
+}
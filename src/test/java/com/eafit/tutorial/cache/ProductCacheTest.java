@@ -0,0 +1,126 @@
+package com.eafit.tutorial.cache;
+
+import com.eafit.tutorial.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ProductCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductCache(true, 2, Duration.ofSeconds(10), clock::get);
+    }
+
+    @Test
+    void getOrLoad_ShouldLoadOnceAndThenHit() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad(1L, id -> { loads.incrementAndGet(); return Optional.of(product(id)); });
+        Optional<Product> result = cache.getOrLoad(1L, id -> { loads.incrementAndGet(); return Optional.of(product(id)); });
+
+        assertThat(result).isPresent();
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getStats().hits()).isEqualTo(1);
+        assertThat(cache.getStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldReturnDefensiveCopies() {
+        cache.getOrLoad(1L, id -> Optional.of(product(id)));
+
+        cache.get(1L).get().setName("Modificado");
+
+        assertThat(cache.get(1L).get().getName()).isEqualTo("Producto 1");
+    }
+
+    @Test
+    void get_AfterTtl_ShouldExpireEntry() {
+        cache.getOrLoad(1L, id -> Optional.of(product(id)));
+
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.getStats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void put_OverMaxSize_ShouldEvictLeastRecentlyUsed() {
+        cache.getOrLoad(1L, id -> Optional.of(product(id)));
+        cache.getOrLoad(2L, id -> Optional.of(product(id)));
+        cache.get(1L);
+        cache.getOrLoad(3L, id -> Optional.of(product(id)));
+
+        assertThat(cache.get(1L)).isPresent();
+        assertThat(cache.get(2L)).isEmpty();
+        assertThat(cache.getStats().size()).isEqualTo(2);
+        assertThat(cache.getStats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_DuringLoad_ShouldNotCacheStaleValue() {
+        cache.getOrLoad(1L, id -> {
+            cache.evict(id);
+            return Optional.of(product(id));
+        });
+
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void getOrLoad_ShouldNotCacheInactiveProducts() {
+        Product inactive = product(1L);
+        inactive.setActive(false);
+
+        cache.getOrLoad(1L, id -> Optional.of(inactive));
+
+        assertThat(cache.get(1L)).isEmpty();
+    }
+
+    @Test
+    void getOrLoadAll_ShouldLoadOnlyMissingIdsInOneCall() {
+        cache.getOrLoad(1L, id -> Optional.of(product(id)));
+        List<List<Long>> loads = new ArrayList<>();
+
+        Map<Long, Product> result = cache.getOrLoadAll(List.of(1L, 2L, 3L, 2L), ids -> {
+            loads.add(ids);
+            return List.of(product(2L));
+        });
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        assertThat(loads).containsExactly(List.of(2L, 3L));
+        assertThat(cache.get(2L)).isPresent();
+    }
+
+    @Test
+    void disabled_ShouldAlwaysDelegateToLoader() {
+        ProductCache disabled = ProductCache.disabled();
+        AtomicInteger loads = new AtomicInteger();
+
+        disabled.getOrLoad(1L, id -> { loads.incrementAndGet(); return Optional.of(product(id)); });
+        disabled.getOrLoad(1L, id -> { loads.incrementAndGet(); return Optional.of(product(id)); });
+
+        assertThat(loads).hasValue(2);
+        assertThat(disabled.getStats().size()).isZero();
+    }
+
+    private static Product product(Long id) {
+        Product product = new Product("Producto " + id, "Descripción", new BigDecimal("10.00"), "General", 5);
+        product.setId(id);
+        return product;
+    }
+}
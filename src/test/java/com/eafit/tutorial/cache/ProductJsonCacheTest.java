@@ -0,0 +1,95 @@
+package com.eafit.tutorial.cache;
+
+import com.eafit.tutorial.dto.ApiResponse;
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.util.ProductMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductJsonCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123456000);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ProductMapper productMapper = new ProductMapper();
+
+    private ProductJsonCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductJsonCache(true, 2, objectMapper, productMapper);
+    }
+
+    @Test
+    void getOrSerialize_ShouldReuseBytesWhileVersionIsUnchanged() {
+        byte[] first = cache.getOrSerialize(product(1L, 0L));
+        byte[] second = cache.getOrSerialize(product(1L, 0L));
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.getStats().hits()).isEqualTo(1);
+        assertThat(cache.getStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrSerialize_ShouldReserializeWhenProductChanged() throws Exception {
+        byte[] before = cache.getOrSerialize(product(1L, 0L));
+
+        Product updated = product(1L, 1L);
+        updated.setStock(3);
+        byte[] after = cache.getOrSerialize(updated);
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(objectMapper.readTree(after).path("stock").asInt()).isEqualTo(3);
+    }
+
+    @Test
+    void getOrSerialize_ShouldEvictLeastRecentlyUsed() {
+        cache.getOrSerialize(product(1L, 0L));
+        cache.getOrSerialize(product(2L, 0L));
+        cache.getOrSerialize(product(1L, 0L));
+        cache.getOrSerialize(product(3L, 0L));
+
+        assertThat(cache.getStats().size()).isEqualTo(2);
+        cache.getOrSerialize(product(2L, 0L));
+        assertThat(cache.getStats().misses()).isEqualTo(4);
+    }
+
+    @Test
+    void successResponse_ShouldMatchJacksonEnvelope() throws Exception {
+        Product product = product(1L, 0L);
+        String message = "Producto encontrado exitosamente";
+
+        byte[] spliced = cache.successResponse(product, message);
+        ApiResponse<?> expected = ApiResponse.success(productMapper.toDTO(product), message);
+
+        JsonNode actual = objectMapper.readTree(spliced);
+        ((ObjectNode) actual).put("timestamp", "");
+        JsonNode reference = objectMapper.readTree(objectMapper.writeValueAsBytes(expected));
+        ((ObjectNode) reference).put("timestamp", "");
+
+        assertThat(actual).isEqualTo(reference);
+        assertThat(new String(spliced, StandardCharsets.UTF_8))
+            .startsWith("{\"success\":true,\"message\":\"" + message + "\",\"data\":{")
+            .endsWith(",\"statusCode\":200}");
+    }
+
+    private static Product product(Long id, Long version) {
+        Product product = new Product("Laptop Gaming", "Laptop de alto rendimiento",
+            new BigDecimal("2999.99"), "Electrónicos", 15);
+        product.setId(id);
+        product.setVersion(version);
+        product.setCreatedAt(UPDATED_AT.minusDays(1));
+        product.setUpdatedAt(UPDATED_AT.plusSeconds(version));
+        return product;
+    }
+}
@@ -0,0 +1,68 @@
+package com.eafit.tutorial.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheus_ShouldExposeRouteHistogramsAndRepositoryTimings() throws Exception {
+        mockMvc.perform(get("/api/v1/products/{id}", 987654))
+                .andExpect(status().isNotFound());
+
+        String scrape = scrape();
+
+        assertThat(scrape).containsPattern(
+            "http_server_requests_seconds_bucket\\{[^}]*status=\"404\"[^}]*uri=\"/api/v1/products/\\{id}\"[^}]*le=\"[^\"]+\"");
+        assertThat(scrape).containsPattern(
+            "spring_data_repository_invocations_seconds_bucket\\{[^}]*method=\"findByIdAndActiveTrue\"[^}]*repository=\"ProductRepository\"");
+    }
+
+    @Test
+    void prometheus_ShouldCountBusinessOutcomes() throws Exception {
+        mockMvc.perform(get("/api/v1/products/{id}", 987655))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/v1/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"\",\"price\":-1}"))
+                .andExpect(status().isBadRequest());
+
+        String scrape = scrape();
+
+        assertThat(scrape).containsPattern(
+            "products_outcomes_total\\{[^}]*operation=\"getProductById\",outcome=\"not_found\"");
+        assertThat(scrape).containsPattern(
+            "products_outcomes_total\\{[^}]*operation=\"createProduct\",outcome=\"validation_failed\"");
+        assertThat(scrape).contains("products_cache_requests_total", "products_search_index_size");
+    }
+
+    @Test
+    void health_ShouldReportActuatorStatus() throws Exception {
+        mockMvc.perform(get("/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
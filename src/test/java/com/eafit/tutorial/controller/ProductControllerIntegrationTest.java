@@ -3,18 +3,24 @@ package com.eafit.tutorial.controller;
 import com.eafit.tutorial.dto.CreateProductDTO;
 import com.eafit.tutorial.model.Product;
 import com.eafit.tutorial.repository.ProductRepository;
+import com.eafit.tutorial.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,6 +36,9 @@ class ProductControllerIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductService productService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,6 +56,7 @@ class ProductControllerIntegrationTest {
             15
         );
         testProduct = productRepository.save(testProduct);
+        productService.rebuildSearchIndex();
     }
 
     @Test
@@ -73,6 +83,90 @@ class ProductControllerIntegrationTest {
             .andExpect(jsonPath("$.data[0].name").value("Laptop Gaming"));
     }
 
+    @Test
+    void getAllProducts_WithCursor_ShouldWalkAllPagesWithoutOverlap() throws Exception {
+        productRepository.save(new Product("Mouse Gamer", "Mouse RGB", new BigDecimal("79.99"), "Tecnologia", 50));
+        productRepository.save(new Product("Teclado Mecánico", "Teclado RGB", new BigDecimal("149.99"), "Tecnologia", 30));
+
+        String body = mockMvc.perform(get("/api/v1/products")
+                .param("cursor", "true")
+                .param("size", "2")
+                .param("sort", "price")
+                .param("direction", "desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.content", hasSize(2)))
+            .andExpect(jsonPath("$.data.content[0].name").value("Laptop Gaming"))
+            .andExpect(jsonPath("$.data.content[1].name").value("Teclado Mecánico"))
+            .andExpect(jsonPath("$.data.hasNext").value(true))
+            .andExpect(jsonPath("$.data.page").doesNotExist())
+            .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = objectMapper.readTree(body).path("data").path("nextCursor").asText();
+
+        mockMvc.perform(get("/api/v1/products")
+                .param("after", nextCursor)
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.content", hasSize(1)))
+            .andExpect(jsonPath("$.data.content[0].name").value("Mouse Gamer"))
+            .andExpect(jsonPath("$.data.hasNext").value(false))
+            .andExpect(jsonPath("$.data.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void getAllProducts_WithInvalidCursor_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/products")
+                .param("after", "no-es-un-cursor"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportProducts_AsNdjson_ShouldStreamOneProductPerLine() throws Exception {
+        try {
+            productRepository.save(new Product("Mouse Gamer", "Mouse RGB", new BigDecimal("79.99"), "Tecnologia", 50));
+
+            MvcResult result = mockMvc.perform(get("/api/v1/products/export")
+                    .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+            String[] lines = body.strip().split("\n");
+            assertThat(lines).hasSize(2);
+            assertThat(objectMapper.readTree(lines[0]).path("name").asText())
+                .isEqualTo("Laptop Gaming");
+            assertThat(objectMapper.readTree(lines[1]).path("name").asText())
+                .isEqualTo("Mouse Gamer");
+        } finally {
+            productRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void exportProducts_AsJsonArray_ShouldStreamArray() throws Exception {
+        try {
+            MvcResult result = mockMvc.perform(get("/api/v1/products/export")
+                    .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("Laptop Gaming"));
+        } finally {
+            productRepository.deleteAll();
+        }
+    }
+
     @Test
     void getProductById_WhenExists_ShouldReturnProduct() throws Exception {
         mockMvc.perform(get("/api/v1/products/{id}", testProduct.getId()))
@@ -90,6 +184,101 @@ class ProductControllerIntegrationTest {
             .andExpect(jsonPath("$.success").value(false));
     }
 
+    @Test
+    void getProductsByIds_ShouldKeepRequestOrderAndMarkMissing() throws Exception {
+        Long id = testProduct.getId();
+
+        mockMvc.perform(get("/api/v1/products")
+                .param("ids", "999," + id + ",999," + id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.found").value(2))
+            .andExpect(jsonPath("$.data.missing").value(2))
+            .andExpect(jsonPath("$.data.items[*].id", contains(999, id.intValue(), 999, id.intValue())))
+            .andExpect(jsonPath("$.data.items[*].status", contains("NOT_FOUND", "FOUND", "NOT_FOUND", "FOUND")))
+            .andExpect(jsonPath("$.data.items[0].product").doesNotExist())
+            .andExpect(jsonPath("$.data.items[1].product.name").value("Laptop Gaming"));
+    }
+
+    @Test
+    void lookupProducts_ShouldResolveIdsFromBody() throws Exception {
+        Product other = productRepository.save(
+            new Product("Mouse Gamer", "Mouse RGB", new BigDecimal("79.99"), "Tecnologia", 50));
+
+        mockMvc.perform(post("/api/v1/products/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(other.getId(), testProduct.getId()))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.found").value(2))
+            .andExpect(jsonPath("$.data.items[0].product.name").value("Mouse Gamer"))
+            .andExpect(jsonPath("$.data.items[1].product.name").value("Laptop Gaming"));
+    }
+
+    @Test
+    void lookupProducts_WithInvalidIds_ShouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/v1/products/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/products/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, null]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void getProductById_WithMatchingETag_ShouldReturn304WithoutBody() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/products/{id}", testProduct.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/products/{id}", testProduct.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+
+        mockMvc.perform(patch("/api/v1/products/{id}/stock", testProduct.getId())
+                .param("stock", "25"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products/{id}", testProduct.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+            .andExpect(jsonPath("$.data.stock").value(25));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void getAllProducts_WithMatchingETag_ShouldReturn304UntilCatalogChanges() throws Exception {
+        try {
+            String etag = mockMvc.perform(get("/api/v1/products").param("unpaged", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get("/api/v1/products").param("unpaged", "true")
+                    .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified());
+
+            CreateProductDTO newProduct = new CreateProductDTO(
+                "Mouse Gamer", "Mouse RGB", new BigDecimal("79.99"), "Tecnologia", 50);
+            mockMvc.perform(post("/api/v1/products")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(newProduct)))
+                .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/api/v1/products").param("unpaged", "true")
+                    .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)));
+        } finally {
+            productRepository.deleteAll();
+        }
+    }
+
     @Test
     void createProduct_WithValidData_ShouldReturnCreated() throws Exception {
         CreateProductDTO newProduct = new CreateProductDTO(
@@ -144,6 +333,42 @@ class ProductControllerIntegrationTest {
             .andExpect(jsonPath("$.success").value(false));
     }
 
+    @Test
+    void createProducts_Batch_ShouldCreateAllAndReturn201() throws Exception {
+        List<CreateProductDTO> batch = List.of(
+            new CreateProductDTO("Monitor 4K", "Monitor UHD", new BigDecimal("499.99"), "Tecnologia", 10),
+            new CreateProductDTO("Teclado Mecánico", "Teclado RGB", new BigDecimal("149.99"), "Tecnologia", 30)
+        );
+
+        mockMvc.perform(post("/api/v1/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.data.created").value(2))
+            .andExpect(jsonPath("$.data.failed").value(0))
+            .andExpect(jsonPath("$.data.items[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.data.items[0].product.id").isNumber())
+            .andExpect(jsonPath("$.data.items[1].product.name").value("Teclado Mecánico"));
+    }
+
+    @Test
+    void createProducts_BatchWithDuplicates_ShouldReturn207WithPerItemReport() throws Exception {
+        List<CreateProductDTO> batch = List.of(
+            new CreateProductDTO("Monitor 4K", "Monitor UHD", new BigDecimal("499.99"), "Tecnologia", 10),
+            new CreateProductDTO("laptop gaming", "Duplicado", new BigDecimal("999.99"), "Tecnologia", 5),
+            new CreateProductDTO("", "Sin nombre", new BigDecimal("10.00"), "Tecnologia", 5)
+        );
+
+        mockMvc.perform(post("/api/v1/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)))
+            .andExpect(status().isMultiStatus())
+            .andExpect(jsonPath("$.data.created").value(1))
+            .andExpect(jsonPath("$.data.failed").value(2))
+            .andExpect(jsonPath("$.data.items[1].status").value("DUPLICATE"))
+            .andExpect(jsonPath("$.data.items[2].status").value("INVALID"));
+    }
+
     @Test
     void updateProduct_WhenExists_ShouldReturnUpdatedProduct() throws Exception {
         CreateProductDTO updatedData = new CreateProductDTO(
@@ -198,12 +423,60 @@ class ProductControllerIntegrationTest {
 
     @Test
     void getProductsByCategory_ShouldReturnFilteredProducts() throws Exception {
-        mockMvc.perform(get("/api/v1/products/category/{category}", "Electrónicos"))
+        mockMvc.perform(get("/api/v1/products/category/{category}", "Tecnologia"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.success").value(true))
             .andExpect(jsonPath("$.data").isArray())
             .andExpect(jsonPath("$.data", hasSize(1)))
-            .andExpect(jsonPath("$.data[0].category").value("Electrónicos"));
+            .andExpect(jsonPath("$.data[0].category").value("Tecnologia"));
+    }
+
+    @Test
+    void getProductsByCategory_WithFields_ShouldReturnOnlyThoseFields() throws Exception {
+        mockMvc.perform(get("/api/v1/products/category/{category}", "tecnologia")
+                .param("fields", "name,price"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(1)))
+            .andExpect(jsonPath("$.data[0].id").value(testProduct.getId()))
+            .andExpect(jsonPath("$.data[0].name").value("Laptop Gaming"))
+            .andExpect(jsonPath("$.data[0].price").value(2999.99))
+            .andExpect(jsonPath("$.data[0].description").doesNotExist())
+            .andExpect(jsonPath("$.data[0].createdAt").doesNotExist());
+    }
+
+    @Test
+    void getAllProducts_WithFields_ShouldProjectPagedAndUnpagedLists() throws Exception {
+        mockMvc.perform(get("/api/v1/products")
+                .param("fields", "name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.content[0].name").value("Laptop Gaming"))
+            .andExpect(jsonPath("$.data.content[0].stock").doesNotExist())
+            .andExpect(jsonPath("$.data.page.totalElements").value(1));
+
+        mockMvc.perform(get("/api/v1/products")
+                .param("unpaged", "true")
+                .param("fields", "stock"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].stock").value(15))
+            .andExpect(jsonPath("$.data[0].name").doesNotExist());
+    }
+
+    @Test
+    void getAllProducts_WithInvalidFields_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/v1/products")
+                .param("fields", "name,secret"))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/products")
+                .param("cursor", "true")
+                .param("fields", "name"))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/products/search")
+                .param("name", "laptop")
+                .param("fields", "secret"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.success").value(false));
     }
 
     @Test
@@ -217,6 +490,26 @@ class ProductControllerIntegrationTest {
             .andExpect(jsonPath("$.data", hasSize(1)));
     }
 
+    @Test
+    void getProductsByPriceRange_WithLimit_ShouldReturnCheapestFirst() throws Exception {
+        for (String price : List.of("2500.00", "2100.00", "3400.00")) {
+            CreateProductDTO dto = new CreateProductDTO("Monitor " + price, "Monitor 4K", new BigDecimal(price), "Tecnologia", 5);
+            mockMvc.perform(post("/api/v1/products")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/v1/products/price-range")
+                .param("minPrice", "2000.00")
+                .param("maxPrice", "3000.00")
+                .param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(2)))
+            .andExpect(jsonPath("$.data[0].price").value(2100.00))
+            .andExpect(jsonPath("$.data[1].price").value(2500.00));
+    }
+
     @Test
     void getProductsByPriceRange_WithInvalidRange_ShouldReturn400() throws Exception {
         mockMvc.perform(get("/api/v1/products/price-range")
@@ -237,6 +530,56 @@ class ProductControllerIntegrationTest {
             .andExpect(jsonPath("$.data[0].name").value(containsString("Laptop")));
     }
 
+    @Test
+    void searchProductsByName_WithFields_ShouldReturnOnlyThoseFields() throws Exception {
+        mockMvc.perform(get("/api/v1/products/search")
+                .param("name", "Laptop")
+                .param("fields", "name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(1)))
+            .andExpect(jsonPath("$.data[0].name").value("Laptop Gaming"))
+            .andExpect(jsonPath("$.data[0].price").doesNotExist());
+    }
+
+    @Test
+    void searchProductsByName_ShouldIgnoreAccentsAndRankNameMatchesFirst() throws Exception {
+        CreateProductDTO described = new CreateProductDTO(
+            "Mochila Urbana", "Compartimento acolchado para laptop", new BigDecimal("59.99"), "Accesorios", 10);
+        CreateProductDTO accented = new CreateProductDTO(
+            "Cámara Réflex", "Sensor completo", new BigDecimal("1500.00"), "Fotografia", 3);
+
+        for (CreateProductDTO dto : List.of(described, accented)) {
+            mockMvc.perform(post("/api/v1/products")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/v1/products/search")
+                .param("name", "laptop"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(2)))
+            .andExpect(jsonPath("$.data[0].name").value("Laptop Gaming"))
+            .andExpect(jsonPath("$.data[1].name").value("Mochila Urbana"));
+
+        mockMvc.perform(get("/api/v1/products/search")
+                .param("name", "CAMARA refl"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(1)))
+            .andExpect(jsonPath("$.data[0].name").value("Cámara Réflex"));
+    }
+
+    @Test
+    void searchProductsByName_AfterDelete_ShouldNotReturnProduct() throws Exception {
+        mockMvc.perform(delete("/api/v1/products/{id}", testProduct.getId()))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products/search")
+                .param("name", "Laptop"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(0)));
+    }
+
     @Test
     void searchProductsByName_WithNoMatches_ShouldReturnEmptyList() throws Exception {
         mockMvc.perform(get("/api/v1/products/search")
@@ -280,5 +623,101 @@ class ProductControllerIntegrationTest {
             .andExpect(status().isNotFound())
             .andExpect(jsonPath("$.success").value(false));
     }
-}
 
+    @Test
+    void categoryStats_AfterReconcile_ShouldReportAggregates() throws Exception {
+        productRepository.save(new Product("Mouse Gamer", "Mouse RGB", new BigDecimal("79.99"), "Tecnologia", 50));
+
+        mockMvc.perform(post("/api/v1/products/categories/stats/reconcile"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products/categories/{category}/stats", "Tecnologia"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.productCount").value(2))
+            .andExpect(jsonPath("$.data.totalStock").value(65))
+            .andExpect(jsonPath("$.data.minPrice").value(79.99))
+            .andExpect(jsonPath("$.data.maxPrice").value(2999.99));
+
+        mockMvc.perform(get("/api/v1/products/categories/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[?(@.category == 'Tecnologia')].inventoryValue").value(48999.35));
+    }
+
+    @Test
+    void categoryStats_ForUnknownCategory_ShouldReturn404() throws Exception {
+        mockMvc.perform(get("/api/v1/products/categories/{category}/stats", "NoExiste"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void subscribeToLowStock_ShouldPushEventWhenStockCrossesThreshold() throws Exception {
+        try {
+            MvcResult subscription = mockMvc.perform(get("/api/v1/products/low-stock/subscribe")
+                    .param("threshold", "10")
+                    .param("productId", testProduct.getId().toString())
+                    .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            mockMvc.perform(patch("/api/v1/products/{id}/stock", testProduct.getId())
+                    .param("stock", "3"))
+                .andExpect(status().isOk());
+
+            long deadline = System.currentTimeMillis() + 5000;
+            String stream = "";
+            while (!stream.contains("event:low-stock") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+                stream = subscription.getResponse().getContentAsString();
+            }
+
+            assertThat(stream).contains("event:subscribed", "event:low-stock", "\"currentStock\":3");
+        } finally {
+            productRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void adjustProductStock_ShouldApplyDelta() throws Exception {
+        mockMvc.perform(patch("/api/v1/products/{id}/stock/adjust", testProduct.getId())
+                .param("delta", "-5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.success").value(true))
+            .andExpect(jsonPath("$.data.stock").value(10));
+
+        mockMvc.perform(patch("/api/v1/products/{id}/stock/adjust", testProduct.getId())
+                .param("delta", "7"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.stock").value(17));
+    }
+
+    @Test
+    void adjustProductStock_WhenStockWouldBeNegative_ShouldReturn409() throws Exception {
+        mockMvc.perform(patch("/api/v1/products/{id}/stock/adjust", testProduct.getId())
+                .param("delta", "-16"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.success").value(false));
+
+        mockMvc.perform(get("/api/v1/products/{id}", testProduct.getId()))
+            .andExpect(jsonPath("$.data.stock").value(15));
+    }
+
+    @Test
+    void adjustProductStock_WhenStockWouldOverflow_ShouldReturn400() throws Exception {
+        mockMvc.perform(patch("/api/v1/products/{id}/stock/adjust", testProduct.getId())
+                .param("delta", String.valueOf(Integer.MAX_VALUE)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.success").value(false));
+
+        mockMvc.perform(get("/api/v1/products/{id}", testProduct.getId()))
+            .andExpect(jsonPath("$.data.stock").value(15));
+    }
+
+    @Test
+    void adjustProductStock_WhenNotExists_ShouldReturn404() throws Exception {
+        mockMvc.perform(patch("/api/v1/products/{id}/stock/adjust", 999L)
+                .param("delta", "1"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.success").value(false));
+    }
+}
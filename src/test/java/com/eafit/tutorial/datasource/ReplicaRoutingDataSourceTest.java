@@ -0,0 +1,132 @@
+package com.eafit.tutorial.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+
+    private DataSource primary;
+    private DataSource firstReplica;
+    private DataSource secondReplica;
+    private ReadYourWrites readYourWrites;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = dataSource(primaryConnection);
+        firstReplica = dataSource(firstReplicaConnection);
+        secondReplica = dataSource(secondReplicaConnection);
+        readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), clock::get);
+        routing = new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica),
+            ReplicaSelection.ROUND_ROBIN, readYourWrites, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void getConnection_OutsideReadOnlyTransaction_ShouldUsePrimary() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void getConnection_InReadOnlyTransaction_ShouldRotateReplicas() throws SQLException {
+        readOnlyTransaction();
+
+        assertThat(routing.getConnection()).isSameAs(firstReplicaConnection);
+        assertThat(routing.getConnection()).isSameAs(secondReplicaConnection);
+        assertThat(routing.getConnection()).isSameAs(firstReplicaConnection);
+    }
+
+    @Test
+    void getConnection_WhenReplicaFails_ShouldFallBackAndSkipItUntilHealthy() throws SQLException {
+        when(firstReplica.getConnection()).thenThrow(new SQLException("conexión rechazada"));
+        readOnlyTransaction();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.healthyReplicas()).isEqualTo(1);
+        assertThat(routing.getConnection()).isSameAs(secondReplicaConnection);
+        assertThat(routing.getConnection()).isSameAs(secondReplicaConnection);
+
+        doReturn(firstReplicaConnection).when(firstReplica).getConnection();
+        when(firstReplicaConnection.isValid(anyInt())).thenReturn(true);
+        when(secondReplicaConnection.isValid(anyInt())).thenReturn(true);
+        routing.checkHealth();
+
+        assertThat(routing.healthyReplicas()).isEqualTo(2);
+    }
+
+    @Test
+    void checkHealth_WithAllReplicasDown_ShouldRouteReadsToPrimary() throws SQLException {
+        when(firstReplicaConnection.isValid(anyInt())).thenReturn(false);
+        when(secondReplicaConnection.isValid(anyInt())).thenReturn(false);
+        routing.checkHealth();
+        readOnlyTransaction();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void getConnection_WithinWindowAfterWrite_ShouldUsePrimaryForEveryRead() throws SQLException {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        routing.getConnection();
+
+        readOnlyTransaction();
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        clock.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertThat(routing.getConnection()).isSameAs(firstReplicaConnection);
+    }
+
+    @Test
+    void getConnection_WithPrimaryReads_ShouldUsePrimaryOnlyInsideTheCall() throws SQLException {
+        readOnlyTransaction();
+
+        Connection pinned = PrimaryReads.call(() -> {
+            try {
+                return routing.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(pinned).isSameAs(primaryConnection);
+        assertThat(routing.getConnection()).isSameAs(firstReplicaConnection);
+    }
+
+    private static void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,136 @@
+package com.eafit.tutorial.datasource;
+
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.repository.ProductRepository;
+import com.eafit.tutorial.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Primario y réplica son dos bases H2 en memoria distintas; la réplica tiene el mismo esquema y
+ * un producto que el primario no tiene, así que el resultado de cada lectura delata a qué base
+ * fue.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+    "products.datasource.read-replicas.enabled=true",
+    "products.datasource.read-replicas.urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+    "products.datasource.read-replicas.read-your-writes-window=PT1M",
+    "spring.datasource.hikari.connection-init-sql=SET @POOL = 'primario'",
+    "products.datasource.read-replicas.hikari.connection-init-sql=SET @POOL = 'replica'",
+    "products.search.rebuild-on-startup=false"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingIntegrationTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate primaryJdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        // JdbcTemplate fuera de una transacción de solo lectura: siempre el primario
+        productRepository.deleteAll();
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        for (String statement : primaryJdbc.queryForList("SCRIPT NODATA", String.class)) {
+            if (!statement.startsWith("CREATE USER")) {
+                replicaJdbc.execute(statement);
+            }
+        }
+        replicaJdbc.update("INSERT INTO products (id, name, normalized_name, description, price, category, stock, active, " +
+            "created_at, updated_at, version) VALUES (1000000, 'Solo en réplica', 'solo en replica', 'd', 10.00, 'General', 5, " +
+            "TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)");
+        // Cada prueba parte sin escrituras recientes, con las lecturas en la réplica
+        readYourWrites.reset();
+    }
+
+    @Test
+    void readOnlyRequests_ShouldBeServedByReplica() throws Exception {
+        primaryJdbc.update("INSERT INTO products (id, name, normalized_name, description, price, category, stock, active, " +
+            "created_at, updated_at, version) VALUES (2000000, 'Solo en primario', 'solo en primario', 'd', 10.00, 'General', 5, " +
+            "TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)");
+
+        mockMvc.perform(get("/api/v1/products").param("unpaged", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[*].name", contains("Solo en réplica")));
+    }
+
+    @Test
+    void readsAfterWrite_ShouldGoToPrimary() throws Exception {
+        mockMvc.perform(post("/api/v1/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Recién creado\",\"description\":\"d\",\"price\":10.00,\"category\":\"General\",\"stock\":5}"))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/products").param("unpaged", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[*].name", contains("Recién creado")));
+    }
+
+    @Test
+    void writes_ShouldNeverReachReplica() {
+        productRepository.save(new Product("Escritura", "d", new BigDecimal("10.00"), "General", 5));
+
+        List<String> replicaNames = replicaJdbc.queryForList("SELECT name FROM products", String.class);
+        assertThat(replicaNames).containsExactly("Solo en réplica");
+    }
+
+    @Test
+    void maintenanceReads_ShouldUsePrimary() {
+        productRepository.save(new Product("Primario uno", "d", new BigDecimal("10.00"), "General", 5));
+        productRepository.save(new Product("Primario dos", "d", new BigDecimal("10.00"), "General", 5));
+
+        assertThat(productService.rebuildSearchIndex()).isEqualTo(2);
+        productService.reconcileCategoryStatistics();
+        assertThat(productService.getCategoryStatistics("General"))
+            .hasValueSatisfying(stats -> assertThat(stats.productCount()).isEqualTo(2));
+    }
+
+    @Test
+    void pools_ShouldBindHikariSettingsForPrimaryAndReplicas() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertThat(primaryJdbc.queryForObject("SELECT @POOL", String.class)).isEqualTo("primario");
+        String readOnlyPool = readOnly.execute(status -> primaryJdbc.queryForObject("SELECT @POOL", String.class));
+        assertThat(readOnlyPool).isEqualTo("replica");
+    }
+}
@@ -0,0 +1,24 @@
+package com.eafit.tutorial.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductFieldTest {
+
+    @Test
+    void parse_ShouldAlwaysIncludeIdAndKeepDeclarationOrder() {
+        assertThat(ProductField.parse(" price, name ,,name"))
+            .containsExactly(ProductField.ID, ProductField.NAME, ProductField.PRICE);
+    }
+
+    @Test
+    void parse_WithUnknownOrEmptyFields_ShouldThrowException() {
+        assertThatThrownBy(() -> ProductField.parse("name,password"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("password");
+        assertThatThrownBy(() -> ProductField.parse(" , "))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.eafit.tutorial.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainExceptionTest {
+
+    @Test
+    void domainExceptions_ShouldNotCaptureStackTrace() {
+        assertThat(new ProductNotFoundException(1L).getStackTrace()).isEmpty();
+        assertThat(new ProductAlreadyExistsException("duplicado").getStackTrace()).isEmpty();
+        assertThat(new InsufficientStockException(1L, -5).getStackTrace()).isEmpty();
+        assertThat(new ValidationException("inválido", Map.of("name", "requerido")).getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void domainExceptions_ShouldKeepMessageAndCause() {
+        IllegalStateException cause = new IllegalStateException("violación");
+        ProductAlreadyExistsException ex = new ProductAlreadyExistsException("Ya existe", cause);
+
+        assertThat(ex).hasMessage("Ya existe").hasCause(cause);
+        assertThat(new ProductNotFoundException(7L)).hasMessage("Producto no encontrado con ID: 7");
+    }
+
+    @Test
+    void domainExceptions_ShouldNotAcceptSuppressed() {
+        ProductNotFoundException ex = new ProductNotFoundException(1L);
+        ex.addSuppressed(new IllegalStateException());
+
+        assertThat(ex.getSuppressed()).isEmpty();
+    }
+}
@@ -0,0 +1,87 @@
+package com.eafit.tutorial.json;
+
+import com.eafit.tutorial.dto.ApiResponse;
+import com.eafit.tutorial.dto.PagedResponse;
+import com.eafit.tutorial.dto.PartialProductDTO;
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.dto.ProductField;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductJsonModuleTest {
+
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper handWritten = Jackson2ObjectMapperBuilder.json().modules(new ProductJsonModule()).build();
+
+    @Test
+    void productDTO_ShouldSerializeToIdenticalBytes() throws Exception {
+        assertSameBytes(product(1L, LocalDateTime.of(2024, 1, 15, 10, 30, 5)));
+    }
+
+    @Test
+    void productDTO_WithNullsAndSpecialCharacters_ShouldSerializeToIdenticalBytes() throws Exception {
+        ProductDTO product = new ProductDTO(null, "Cámara \"4K\"\n", null, null, "Fotografía", null, null, null, null);
+        assertSameBytes(product);
+    }
+
+    @Test
+    void productDTO_WithDatesOutsideFourDigitYears_ShouldSerializeToIdenticalBytes() throws Exception {
+        assertSameBytes(product(1L, LocalDateTime.of(1, 1, 1, 0, 0)));
+        assertSameBytes(product(2L, LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999)));
+        assertSameBytes(product(3L, LocalDateTime.of(10000, 1, 1, 0, 0)));
+        assertSameBytes(product(4L, LocalDateTime.of(0, 6, 1, 12, 0)));
+        assertSameBytes(product(5L, LocalDateTime.of(-44, 3, 15, 12, 0)));
+    }
+
+    @Test
+    void apiResponse_WithPagedProducts_ShouldSerializeToIdenticalBytes() throws Exception {
+        List<ProductDTO> content = List.of(
+            product(1L, LocalDateTime.of(2024, 1, 15, 10, 30)),
+            product(2L, LocalDateTime.of(2024, 2, 29, 23, 59, 59)));
+        PagedResponse<ProductDTO> page = PagedResponse.of(new PageImpl<>(content, PageRequest.of(1, 2), 7));
+
+        assertSameBytes(ApiResponse.success(page, "Productos paginados obtenidos exitosamente"));
+        assertSameBytes(ApiResponse.success(content, "Productos obtenidos exitosamente"));
+        assertSameBytes(new PagedResponse<>(null, null));
+    }
+
+    @Test
+    void apiResponse_WithoutData_ShouldSerializeToIdenticalBytes() throws Exception {
+        assertSameBytes(ApiResponse.error("Producto no encontrado con ID: 9", 404));
+
+        ApiResponse<Object> withoutTimestamp = ApiResponse.error("Error interno del servidor");
+        withoutTimestamp.setTimestamp(null);
+        assertSameBytes(withoutTimestamp);
+    }
+
+    @Test
+    void partialProductDTO_ShouldWriteOnlySelectedFields() throws Exception {
+        ProductDTO product = product(1L, LocalDateTime.of(2024, 1, 15, 10, 30, 5));
+        PartialProductDTO partial = new PartialProductDTO(product,
+            ProductField.parse("updatedAt,price,name"));
+
+        assertThat(handWritten.writeValueAsString(partial))
+            .isEqualTo("{\"id\":1,\"name\":\"Laptop Gaming\",\"price\":2999.990,\"updatedAt\":\"2024-01-15 10:30:06\"}");
+    }
+
+    private void assertSameBytes(Object value) throws Exception {
+        String expected = new String(reflective.writeValueAsBytes(value), StandardCharsets.UTF_8);
+        String actual = new String(handWritten.writeValueAsBytes(value), StandardCharsets.UTF_8);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static ProductDTO product(Long id, LocalDateTime timestamp) {
+        return new ProductDTO(id, "Laptop Gaming", "Laptop de alto rendimiento", new BigDecimal("2999.990"),
+            "Electrónicos", 15, true, timestamp, timestamp.plusSeconds(1));
+    }
+}
@@ -0,0 +1,114 @@
+package com.eafit.tutorial.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessLogFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLogFilter.ACCESS_LOGGER);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_ShouldLogEveryRequestWhenSampleRateIsOne() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(true, 1.0, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(request("/api/v1/products/1"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertThat(appender.list).hasSize(3);
+        assertThat(appender.list.get(0).getLevel()).isEqualTo(Level.INFO);
+        assertThat(appender.list.get(0).getFormattedMessage()).startsWith("GET /api/v1/products/1 200 ");
+    }
+
+    @Test
+    void doFilter_ShouldSkipNormalRequestsWhenSampleRateIsZero() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(true, 0.0, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 100; i++) {
+            filter.doFilter(request("/api/v1/products"), new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void doFilter_ShouldAlwaysLogServerErrors() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(true, 0.0, Duration.ofMinutes(1));
+
+        filter.doFilter(request("/api/v1/products"), new MockHttpServletResponse(), chainWithStatus(500));
+
+        assertThat(appender.list).singleElement()
+            .satisfies(event -> {
+                assertThat(event.getLevel()).isEqualTo(Level.WARN);
+                assertThat(event.getFormattedMessage()).startsWith("GET /api/v1/products 500 ");
+            });
+    }
+
+    @Test
+    void doFilter_ShouldAlwaysLogSlowRequests() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(true, 0.0, Duration.ZERO);
+
+        filter.doFilter(request("/api/v1/products"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(appender.list).singleElement()
+            .extracting(ILoggingEvent::getLevel).isEqualTo(Level.WARN);
+    }
+
+    @Test
+    void doFilter_ShouldNotLogWhenDisabled() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(false, 1.0, Duration.ZERO);
+
+        filter.doFilter(request("/api/v1/products"), new MockHttpServletResponse(), chainWithStatus(500));
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSampleRate() {
+        assertThatThrownBy(() -> new AccessLogFilter(true, 1.5, Duration.ofMillis(500)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static MockFilterChain chainWithStatus(int status) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                response.setStatus(status);
+            }
+        });
+    }
+}
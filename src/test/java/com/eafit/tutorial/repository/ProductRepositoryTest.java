@@ -1,19 +1,28 @@
 package com.eafit.tutorial.repository;
 
+import com.eafit.tutorial.dto.ProductDTO;
+import com.eafit.tutorial.dto.ProductField;
 import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.util.ProductCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 class ProductRepositoryTest {
@@ -21,6 +30,9 @@ class ProductRepositoryTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Product testProduct1;
     private Product testProduct2;
     private Product inactiveProduct;
@@ -79,6 +91,14 @@ class ProductRepositoryTest {
             .containsOnly(true);
     }
 
+    @Test
+    void streamByActiveTrue_ShouldStreamOnlyActiveProductsOrderedById() {
+        try (Stream<Product> products = productRepository.streamByActiveTrue()) {
+            assertThat(products.map(Product::getName))
+                .containsExactly("Laptop Gaming", "Mouse Gamer");
+        }
+    }
+
     @Test
     void findByCategoryIgnoreCaseAndActiveTrue_ShouldReturnProductsByCategory() {
         List<Product> electronics = productRepository
@@ -160,28 +180,20 @@ class ProductRepositoryTest {
     }
 
     @Test
-    void existsByNameIgnoreCaseAndIdNot_WhenNameExists_ShouldReturnTrue() {
-        boolean exists = productRepository
-            .existsByNameIgnoreCaseAndIdNot("Laptop Gaming", 999L);
+    void findExistingNormalizedNames_ShouldMatchIgnoringCaseAndAccents() {
+        List<String> existing = productRepository.findExistingNormalizedNames(
+            List.of("laptop gaming", "producto inactivo", "producto inexistente"));
 
-        assertThat(exists).isTrue();
+        assertThat(existing).containsExactlyInAnyOrder("laptop gaming", "producto inactivo");
     }
 
     @Test
-    void existsByNameIgnoreCaseAndIdNot_WhenNameDoesNotExist_ShouldReturnFalse() {
-        boolean exists = productRepository
-            .existsByNameIgnoreCaseAndIdNot("Producto Inexistente", 999L);
+    void save_WithNameDifferingOnlyInCaseOrAccents_ShouldViolateUniqueIndex() {
+        Product duplicate = new Product("LÁPTOP gaming ", "Otra laptop", new BigDecimal("1999.99"), "Electrónicos", 5);
 
-        assertThat(exists).isFalse();
-    }
-
-    @Test
-    void existsByNameIgnoreCaseAndIdNot_ShouldExcludeOwnId() {
-        Long laptopId = testProduct1.getId();
-        boolean exists = productRepository
-            .existsByNameIgnoreCaseAndIdNot("Laptop Gaming", laptopId);
-
-        assertThat(exists).isFalse();
+        assertThat(duplicate.getNormalizedName()).isEqualTo("laptop gaming");
+        assertThatThrownBy(() -> productRepository.saveAndFlush(duplicate))
+            .isInstanceOf(DataIntegrityViolationException.class);
     }
 
     @Test
@@ -208,6 +220,57 @@ class ProductRepositoryTest {
         assertThat(product).isEmpty();
     }
 
+    @Test
+    void findByIdInAndActiveTrue_ShouldReturnOnlyExistingActiveProducts() {
+        List<Product> products = productRepository.findByIdInAndActiveTrue(
+            List.of(testProduct1.getId(), inactiveProduct.getId(), 999L, testProduct2.getId()));
+
+        assertThat(products).extracting(Product::getName)
+            .containsExactlyInAnyOrder("Laptop Gaming", "Mouse Gamer");
+    }
+
+    @Test
+    void findProjected_ShouldLoadOnlyRequestedFields() {
+        Page<ProductDTO> page = productRepository.findProjected(
+            ProductSpecifications.isActive(),
+            ProductField.parse("name,price"),
+            PageRequest.of(0, 1, Sort.by("name")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).singleElement().satisfies(product -> {
+            assertThat(product.getId()).isEqualTo(testProduct1.getId());
+            assertThat(product.getName()).isEqualTo("Laptop Gaming");
+            assertThat(product.getPrice()).isEqualByComparingTo("2999.99");
+            assertThat(product.getDescription()).isNull();
+            assertThat(product.getCategory()).isNull();
+            assertThat(product.getCreatedAt()).isNull();
+        });
+    }
+
+    @Test
+    void findProjected_WithCategory_ShouldIgnoreCase() {
+        List<ProductDTO> products = productRepository.findProjected(
+            ProductSpecifications.isActive().and(ProductSpecifications.hasCategoryIgnoreCase("PERIFERICOS")),
+            ProductField.parse("category"),
+            Pageable.unpaged()).getContent();
+
+        assertThat(products).extracting(ProductDTO::getCategory).containsExactly("Perifericos");
+    }
+
+    @Test
+    void schema_ShouldIndexEveryKeysetSortField() {
+        List<String> indexedColumns = jdbcTemplate.queryForList(
+            "SELECT LISTAGG(COLUMN_NAME, ',') WITHIN GROUP (ORDER BY ORDINAL_POSITION) " +
+            "FROM INFORMATION_SCHEMA.INDEX_COLUMNS WHERE TABLE_NAME = 'PRODUCTS' GROUP BY INDEX_NAME",
+            String.class);
+
+        for (String field : ProductCursor.SORTABLE_FIELDS) {
+            String column = field.replaceAll("([A-Z])", "_$1").toUpperCase();
+            String expected = "id".equals(field) ? "ACTIVE,ID" : "ACTIVE," + column + ",ID";
+            assertThat(indexedColumns).as("índice para ordenar por %s", field).contains(expected);
+        }
+    }
+
     @Test
     void save_ShouldPersistProduct() {
         Product newProduct = new Product(
@@ -233,7 +296,7 @@ class ProductRepositoryTest {
         Thread.sleep(10); // Asegurar que pase algo de tiempo
         
         product.setPrice(new BigDecimal("3500.00"));
-        Product updated = productRepository.save(product);
+        Product updated = productRepository.saveAndFlush(product);
 
         assertThat(updated.getUpdatedAt()).isAfterOrEqualTo(originalUpdatedAt);
         assertThat(updated.getUpdatedAt()).isAfter(updated.getCreatedAt());
@@ -0,0 +1,98 @@
+package com.eafit.tutorial.rules;
+
+import com.eafit.tutorial.dto.CreateProductDTO;
+import com.eafit.tutorial.exception.ValidationException;
+import com.eafit.tutorial.util.ForbiddenWords;
+import com.eafit.tutorial.util.ProductValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CategoryRulesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final CategoryRules rules = CategoryRules.defaults();
+
+    @Test
+    void defaults_ShouldKeepPreviousPriceRules() {
+        assertThat(rules.priceViolation("Electrónicos", new BigDecimal("49.99")))
+            .contains("Los productos electrónicos deben tener un precio mínimo de $50.00");
+        assertThat(rules.priceViolation("Electrónicos", new BigDecimal("50.00"))).isEmpty();
+        assertThat(rules.priceViolation("Libros técnicos", new BigDecimal("200.01")))
+            .contains("Los libros no pueden exceder $200.00");
+        assertThat(rules.priceViolation("Ropa deportiva", new BigDecimal("9.99")))
+            .contains("La ropa debe tener un precio entre $10.00 y $1,000.00");
+        assertThat(rules.priceViolation("Vestimenta", new BigDecimal("1000.00"))).isEmpty();
+        assertThat(rules.priceViolation("Hogar", new BigDecimal("0.01"))).isEmpty();
+    }
+
+    @Test
+    void defaults_ShouldKeepPreviousStockRules() {
+        assertThat(rules.stockViolation("Software", 999))
+            .contains("Los productos digitales deberían tener stock alto (mínimo 1000)");
+        assertThat(rules.stockViolation("Productos Digitales", 1000)).isEmpty();
+        assertThat(rules.stockViolation("Comida", 101))
+            .contains("Los productos perecederos no deberían tener stock mayor a 100");
+        assertThat(rules.stockViolation("Hogar", 0)).isEmpty();
+        assertThat(rules.stockViolation(null, 0)).isEmpty();
+    }
+
+    @Test
+    void priceViolation_ShouldMatchNormalizedCategoryNames() {
+        assertThat(rules.priceViolation("  ELECTRONICOS ", new BigDecimal("10.00"))).isPresent();
+        assertThat(rules.priceViolation("electrónica de consumo", new BigDecimal("10.00"))).isPresent();
+    }
+
+    @Test
+    void validateStockForCategory_ShouldThrowRuleMessage() {
+        ProductValidator validator = new ProductValidator(ForbiddenWords.of("demo"), rules);
+
+        assertThatThrownBy(() -> validator.validateStockForCategory("Alimentos", 500))
+            .isInstanceOf(ValidationException.class)
+            .hasMessage("Los productos perecederos no deberían tener stock mayor a 100");
+
+        CreateProductDTO dto = new CreateProductDTO("Camiseta básica", "Algodón", new BigDecimal("5.00"), "Ropa", 10);
+        assertThatThrownBy(() -> validator.validateForCreation(dto))
+            .isInstanceOf(ValidationException.class)
+            .satisfies(e -> assertThat(((ValidationException) e).getErrors())
+                .containsEntry("price", "La ropa debe tener un precio entre $10.00 y $1,000.00"));
+    }
+
+    @Test
+    void reloadIfChanged_ShouldSwapRulesAndKeepThemWhenNewFileIsInvalid() throws Exception {
+        Path file = tempDir.resolve("rules.json");
+        Files.writeString(file, """
+            [{"match": ["juguete"], "maxPrice": 100, "priceMessage": "Juguetes hasta $100"}]
+            """);
+        CategoryRules fileRules = new CategoryRules(file.toUri().toString());
+        assertThat(fileRules.priceViolation("Juguetes", new BigDecimal("150"))).contains("Juguetes hasta $100");
+
+        Files.writeString(file, """
+            [{"match": ["juguete"], "maxPrice": 200, "priceMessage": "Juguetes hasta $200"}]
+            """);
+        touch(file, 10_000);
+        fileRules.reloadIfChanged();
+        assertThat(fileRules.priceViolation("Juguetes", new BigDecimal("150"))).isEmpty();
+        assertThat(fileRules.priceViolation("Juguetes", new BigDecimal("250"))).contains("Juguetes hasta $200");
+
+        Files.writeString(file, """
+            [{"match": ["juguete"], "minPrice": 300, "maxPrice": 200, "priceMessage": "Inválida"}]
+            """);
+        touch(file, 20_000);
+        fileRules.reloadIfChanged();
+        assertThat(fileRules.priceViolation("Juguetes", new BigDecimal("250"))).contains("Juguetes hasta $200");
+    }
+
+    private static void touch(Path file, long offsetMillis) throws Exception {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + offsetMillis));
+    }
+}
@@ -0,0 +1,113 @@
+package com.eafit.tutorial.search;
+
+import com.eafit.tutorial.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductPriceIndexTest {
+
+    private ProductPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductPriceIndex();
+        index.indexAll(List.of(
+            product(1L, "300.00"),
+            product(2L, "100.00"),
+            product(3L, "200.00"),
+            product(4L, "100.00")
+        ));
+    }
+
+    @Test
+    void range_ShouldReturnIdsByPriceThenId() {
+        assertThat(index.range(new BigDecimal("0"), new BigDecimal("1000"), 10)).containsExactly(2L, 4L, 3L, 1L);
+    }
+
+    @Test
+    void range_ShouldIncludeBoundsAndRespectLimit() {
+        assertThat(index.range(new BigDecimal("100.00"), new BigDecimal("200.00"), 10)).containsExactly(2L, 4L, 3L);
+        assertThat(index.range(new BigDecimal("100.00"), new BigDecimal("300.00"), 2)).containsExactly(2L, 4L);
+        assertThat(index.range(new BigDecimal("100.001"), new BigDecimal("299.999"), 10)).containsExactly(3L);
+        assertThat(index.range(new BigDecimal("400"), new BigDecimal("500"), 10)).isEmpty();
+    }
+
+    @Test
+    void range_WithBoundsBeyondLongCents_ShouldClampThem() {
+        BigDecimal huge = new BigDecimal("1e30");
+
+        assertThat(index.range(new BigDecimal("150"), huge, 10)).containsExactly(3L, 1L);
+        assertThat(index.range(huge.negate(), new BigDecimal("150"), 10)).containsExactly(2L, 4L);
+        assertThat(index.range(huge, huge, 10)).isEmpty();
+        assertThat(index.range(new BigDecimal("0"), new BigDecimal("1e999999999"), 10)).containsExactly(2L, 4L, 3L, 1L);
+    }
+
+    @Test
+    void index_WhenPriceChanges_ShouldMoveProduct() {
+        index.index(product(1L, "50.00"));
+
+        assertThat(index.range(new BigDecimal("0"), new BigDecimal("1000"), 1)).containsExactly(1L);
+        assertThat(index.range(new BigDecimal("250"), new BigDecimal("1000"), 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void index_WhenProductIsInactive_ShouldRemoveIt() {
+        Product inactive = product(2L, "100.00");
+        inactive.setActive(false);
+
+        index.index(inactive);
+        index.remove(3L);
+
+        assertThat(index.range(new BigDecimal("0"), new BigDecimal("1000"), 10)).containsExactly(4L, 1L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void startRebuild_ShouldKeepServingOldIndexUntilPublish() {
+        try (ProductPriceIndex.Rebuild rebuild = index.startRebuild()) {
+            rebuild.add(product(5L, "150.00"));
+
+            assertThat(index.range(new BigDecimal("0"), new BigDecimal("1000"), 10)).containsExactly(2L, 4L, 3L, 1L);
+
+            rebuild.publish();
+        }
+
+        assertThat(index.range(new BigDecimal("0"), new BigDecimal("1000"), 10)).containsExactly(5L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void startRebuild_WhenWrittenConcurrently_ShouldKeepTheWrite() {
+        try (ProductPriceIndex.Rebuild rebuild = index.startRebuild()) {
+            index.index(product(1L, "50.00"));
+            index.remove(2L);
+            rebuild.add(product(1L, "300.00"));
+            rebuild.add(product(2L, "100.00"));
+            rebuild.add(product(3L, "200.00"));
+            rebuild.publish();
+        }
+
+        assertThat(index.range(new BigDecimal("0"), new BigDecimal("1000"), 10)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void startRebuild_WhenNotPublished_ShouldKeepOldIndex() {
+        try (ProductPriceIndex.Rebuild rebuild = index.startRebuild()) {
+            rebuild.add(product(5L, "150.00"));
+        }
+
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    private static Product product(Long id, String price) {
+        Product product = new Product("Producto " + id, null, new BigDecimal(price), "General", 1);
+        product.setId(id);
+        return product;
+    }
+}
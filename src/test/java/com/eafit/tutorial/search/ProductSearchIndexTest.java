@@ -0,0 +1,157 @@
+package com.eafit.tutorial.search;
+
+import com.eafit.tutorial.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        index = new ProductSearchIndex("", Duration.ofHours(1));
+        index.rebuild(List.of(
+            product(1L, "Laptop Gaming", "Equipo de alto rendimiento"),
+            product(2L, "Mochila Urbana", "Compartimento para laptop"),
+            product(3L, "Cámara Réflex", "Lente intercambiable")
+        ).iterator());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.destroy();
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        assertThat(index.search("laptop", 0, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAndAccents() {
+        assertThat(index.search("CAMARA", 0, 10)).containsExactly(3L);
+        assertThat(index.search("réflex", 0, 10)).containsExactly(3L);
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesAndRequireEveryTerm() {
+        assertThat(index.search("lap gam", 0, 10)).containsExactly(1L);
+        assertThat(index.search("laptop inexistente", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldPage() {
+        assertThat(index.search("laptop", 0, 1)).containsExactly(1L);
+        assertThat(index.search("laptop", 1, 1)).containsExactly(2L);
+        assertThat(index.search("laptop", 2, 1)).isEmpty();
+    }
+
+    @Test
+    void index_WhenProductIsInactive_ShouldRemoveIt() {
+        Product inactive = product(1L, "Laptop Gaming", "Equipo de alto rendimiento");
+        inactive.setActive(false);
+
+        index.index(inactive);
+
+        assertThat(index.search("laptop", 0, 10)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void index_WhenNameChanges_ShouldReplaceDocument() {
+        index.index(product(3L, "Cámara Compacta", "Lente fijo"));
+
+        assertThat(index.search("reflex", 0, 10)).isEmpty();
+        assertThat(index.search("compacta", 0, 10)).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void rebuild_ShouldKeepServingOldIndexUntilLoadFinishes() {
+        List<Long> duringLoad = new ArrayList<>();
+        Iterator<Product> source = List.of(
+            product(4L, "Laptop Oficina", "Liviana"),
+            product(5L, "Teclado", "Mecánico")
+        ).iterator();
+
+        long count = index.rebuild(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Product next() {
+                index.index(product(6L, "Monitor", "Curvo"));
+                duringLoad.addAll(index.search("laptop", 0, 10));
+                return source.next();
+            }
+        });
+
+        assertThat(count).isEqualTo(2);
+        assertThat(duringLoad).containsExactly(1L, 2L, 1L, 2L);
+        assertThat(index.search("laptop", 0, 10)).containsExactly(4L);
+        assertThat(index.search("monitor", 0, 10)).containsExactly(6L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void rebuild_WhenProductWrittenDuringLoad_ShouldKeepTheWrite() {
+        index.rebuild(new Iterator<>() {
+            private final Iterator<Product> source = List.of(
+                product(1L, "Laptop Gaming", "Equipo de alto rendimiento")
+            ).iterator();
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Product next() {
+                index.index(product(1L, "Laptop Renovada", "Reacondicionada"));
+                return source.next();
+            }
+        });
+
+        assertThat(index.search("renovada", 0, 10)).containsExactly(1L);
+        assertThat(index.search("gaming", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void rebuild_WhenLoadFails_ShouldKeepOldIndex() {
+        Iterator<Product> failing = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Product next() {
+                throw new IllegalStateException("fallo de lectura");
+            }
+        };
+
+        assertThatThrownBy(() -> index.rebuild(failing))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(index.search("laptop", 0, 10)).containsExactly(1L, 2L);
+    }
+
+    private static Product product(Long id, String name, String description) {
+        Product product = new Product(name, description, new BigDecimal("100.00"), "General", 1);
+        product.setId(id);
+        return product;
+    }
+}
@@ -0,0 +1,76 @@
+package com.eafit.tutorial.service;
+
+import com.eafit.tutorial.exception.ProductAlreadyExistsException;
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Varios hilos crean a la vez productos cuyo nombre solo difiere en mayúsculas y tildes; el
+ * índice único debe dejar pasar exactamente uno.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.eafit.tutorial=WARN"
+})
+class ProductNameConcurrencyIntegrationTest {
+
+    private static final String[] NAMES = {"Cámara Réflex", "camara reflex", "CÁMARA RÉFLEX", "Camara Réflex"};
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void createProduct_FromManyThreadsWithSameName_ShouldCreateExactlyOne() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            String name = NAMES[t % NAMES.length];
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    productService.createProduct(new Product(name, "Cámara", new BigDecimal("899.00"), "Fotografía", 3));
+                } catch (ProductAlreadyExistsException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(rejected).hasValue(THREADS - 1);
+        assertThat(productRepository.findExistingNormalizedNames(List.of("camara reflex"))).hasSize(1);
+    }
+}
@@ -1,31 +1,61 @@
 package com.eafit.tutorial.service;
 
+import com.eafit.tutorial.alert.LowStockAlerts;
+import com.eafit.tutorial.alert.StockChange;
+import com.eafit.tutorial.cache.ProductCache;
+import com.eafit.tutorial.exception.InsufficientStockException;
 import com.eafit.tutorial.exception.ProductAlreadyExistsException;
 import com.eafit.tutorial.exception.ProductNotFoundException;
+import com.eafit.tutorial.exception.StockOverflowException;
 import com.eafit.tutorial.model.Product;
 import com.eafit.tutorial.repository.ProductRepository;
+import com.eafit.tutorial.search.ProductPriceIndex;
+import com.eafit.tutorial.search.ProductSearchIndex;
+import com.eafit.tutorial.service.BatchCreateResult;
 import com.eafit.tutorial.service.impl.ProductServiceImpl;
+import com.eafit.tutorial.stats.CategoryStatistics;
+import com.eafit.tutorial.stats.CategoryStats;
+import com.eafit.tutorial.stock.StockWriteBehind;
+import com.eafit.tutorial.util.CatalogVersionTracker;
+import com.eafit.tutorial.util.ProductCursor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +64,33 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Spy
+    private ProductCache productCache = ProductCache.disabled();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Spy
+    private ProductPriceIndex productPriceIndex = new ProductPriceIndex();
+
+    @Spy
+    private CategoryStatistics categoryStatistics = new CategoryStatistics();
+
+    @Mock
+    private LowStockAlerts lowStockAlerts;
+
+    @Spy
+    private StockWriteBehind stockWriteBehind = StockWriteBehind.disabled();
+
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -76,6 +133,28 @@ class ProductServiceTest {
         verify(productRepository).findByActiveTrue(pageable);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void getAllProducts_WithCursor_ShouldReturnSliceWithoutCounting() {
+        Slice<Product> slice = new SliceImpl<>(Arrays.asList(testProduct), PageRequest.of(0, 1), true);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(slice);
+
+        ProductCursor after = ProductCursor.after(testProduct, "name", Sort.Direction.ASC);
+        Slice<Product> result = productService.getAllProducts(after, "name", Sort.Direction.ASC, 1);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.hasNext()).isTrue();
+        verify(productRepository, never()).count();
+        verify(productRepository, never()).findByActiveTrue(any(Pageable.class));
+    }
+
+    @Test
+    void getAllProducts_WithUnsupportedCursorField_ShouldThrowException() {
+        assertThatThrownBy(() -> productService.getAllProducts(null, "description", Sort.Direction.ASC, 10))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("no soportado");
+    }
+
     @Test
     void getProductById_WhenExists_ShouldReturnProduct() {
         when(productRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(testProduct));
@@ -97,9 +176,52 @@ class ProductServiceTest {
         verify(productRepository).findByIdAndActiveTrue(99L);
     }
 
+    @Test
+    void getProductById_WithCacheEnabled_ShouldHitDatabaseOnce() {
+        ReflectionTestUtils.setField(productService, "productCache", new ProductCache(true, 10, Duration.ofMinutes(5)));
+        when(productRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(testProduct));
+
+        productService.getProductById(1L);
+        Optional<Product> result = productService.getProductById(1L);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getName()).isEqualTo("Laptop Gaming");
+        verify(productRepository, times(1)).findByIdAndActiveTrue(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getProductsByIds_ShouldQueryInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+        when(productRepository.findByIdInAndActiveTrue(any(Collection.class))).thenReturn(List.of());
+        when(productRepository.findByIdInAndActiveTrue(argThat((Collection<Long> chunk) -> chunk.contains(1L))))
+            .thenReturn(List.of(testProduct));
+
+        Map<Long, Product> result = productService.getProductsByIds(ids);
+
+        assertThat(result).containsOnlyKeys(1L);
+        verify(productRepository, times(3)).findByIdInAndActiveTrue(any(Collection.class));
+        verify(productRepository, never()).findByIdAndActiveTrue(anyLong());
+    }
+
+    @Test
+    void deleteProduct_WithCacheEnabled_ShouldInvalidateCachedProduct() {
+        ReflectionTestUtils.setField(productService, "productCache", new ProductCache(true, 10, Duration.ofMinutes(5)));
+        when(productRepository.findByIdAndActiveTrue(1L))
+            .thenReturn(Optional.of(testProduct))
+            .thenReturn(Optional.of(testProduct))
+            .thenReturn(Optional.empty());
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+
+        assertThat(productService.existsProduct(1L)).isTrue();
+        productService.deleteProduct(1L);
+
+        assertThat(productService.getProductById(1L)).isEmpty();
+        verify(productRepository, times(3)).findByIdAndActiveTrue(1L);
+    }
+
     @Test
     void createProduct_WithValidData_ShouldReturnSavedProduct() {
-        when(productRepository.existsByNameIgnoreCaseAndIdNot(anyString(), anyLong())).thenReturn(false);
         when(productRepository.save(any(Product.class))).thenReturn(testProduct);
 
         Product result = productService.createProduct(testProduct);
@@ -107,17 +229,49 @@ class ProductServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getName()).isEqualTo("Laptop Gaming");
         verify(productRepository).save(testProduct);
+        verify(productRepository).flush();
     }
 
     @Test
     void createProduct_WithDuplicateName_ShouldThrowException() {
-        when(productRepository.existsByNameIgnoreCaseAndIdNot(anyString(), anyLong())).thenReturn(true);
+        when(productRepository.save(any(Product.class))).thenThrow(duplicateNameViolation());
 
         assertThatThrownBy(() -> productService.createProduct(testProduct))
             .isInstanceOf(ProductAlreadyExistsException.class)
             .hasMessageContaining("Ya existe un producto con el nombre");
 
-        verify(productRepository, never()).save(any());
+        verify(productSearchIndex, never()).index(any());
+        verify(lowStockAlerts, never()).record(any());
+    }
+
+    @Test
+    void createProduct_WithOtherIntegrityViolation_ShouldRethrow() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("fk",
+            new ConstraintViolationException("fk", new SQLException(), "fk_otro"));
+        when(productRepository.save(any(Product.class))).thenThrow(violation);
+
+        assertThatThrownBy(() -> productService.createProduct(testProduct)).isSameAs(violation);
+    }
+
+    @Test
+    void createProducts_ShouldCheckNamesInOneQueryAndReportEachItem() {
+        Product fresh = new Product("Monitor 4K", "Monitor", new BigDecimal("499.99"), "Electrónicos", 5);
+        Product existing = new Product("Laptop Gaming", "Otra", new BigDecimal("999.99"), "Electrónicos", 5);
+        Product repeated = new Product("MONITOR 4k", "Repetido en el lote", new BigDecimal("10.00"), "Electrónicos", 5);
+        Product invalid = new Product("X", "Nombre corto", new BigDecimal("10.00"), "Electrónicos", 5);
+
+        when(productRepository.findExistingNormalizedNames(any())).thenReturn(List.of("laptop gaming"));
+        when(productRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchCreateResult result = productService.createProducts(Arrays.asList(fresh, existing, repeated, invalid));
+
+        assertThat(result.getCreatedCount()).isEqualTo(1);
+        assertThat(result.getItems()).extracting(BatchCreateResult.Item::getStatus).containsExactly(
+            BatchCreateResult.Status.CREATED,
+            BatchCreateResult.Status.DUPLICATE,
+            BatchCreateResult.Status.DUPLICATE,
+            BatchCreateResult.Status.INVALID);
+        verify(productRepository, times(1)).findExistingNormalizedNames(any());
     }
 
     @Test
@@ -131,13 +285,23 @@ class ProductServiceTest {
         );
 
         when(productRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(testProduct));
-        when(productRepository.existsByNameIgnoreCaseAndIdNot(anyString(), anyLong())).thenReturn(false);
         when(productRepository.save(any(Product.class))).thenReturn(testProduct);
 
         Product result = productService.updateProduct(1L, updatedData);
 
         assertThat(result).isNotNull();
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).save(argThat(product -> "laptop gaming pro".equals(product.getNormalizedName())));
+    }
+
+    @Test
+    void updateProduct_WithNameTakenByAnotherProduct_ShouldThrowException() {
+        Product updatedData = new Product("Mouse Óptico", "Renombrado", new BigDecimal("25.00"), "Electrónicos", 5);
+        when(productRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenThrow(duplicateNameViolation());
+
+        assertThatThrownBy(() -> productService.updateProduct(1L, updatedData))
+            .isInstanceOf(ProductAlreadyExistsException.class)
+            .hasMessageContaining("Ya existe otro producto con el nombre: Mouse Óptico");
     }
 
     @Test
@@ -198,6 +362,20 @@ class ProductServiceTest {
         verify(productRepository).findByPriceRange(minPrice, maxPrice);
     }
 
+    @Test
+    void getProductsByPriceRange_WithLimit_ShouldUsePriceIndex() {
+        Product cheap = new Product("Mouse", "Mouse óptico", new BigDecimal("25.00"), "Electrónicos", 5);
+        cheap.setId(2L);
+        productPriceIndex.indexAll(List.of(testProduct, cheap));
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testProduct, cheap));
+
+        List<Product> result = productService.getProductsByPriceRange(
+            new BigDecimal("10.00"), new BigDecimal("5000.00"), 5);
+
+        assertThat(result).extracting(Product::getId).containsExactly(2L, 1L);
+        verify(productRepository, never()).findByPriceRange(any(), any());
+    }
+
     @Test
     void getProductsByPriceRange_WithInvalidRange_ShouldThrowException() {
         BigDecimal minPrice = new BigDecimal("5000.00");
@@ -221,6 +399,28 @@ class ProductServiceTest {
         verify(productRepository).findByNameContainingIgnoreCase("Laptop");
     }
 
+    @Test
+    void searchProducts_ShouldReturnProductsInIndexRankOrder() {
+        Product second = new Product("Mochila", "Para laptop", new BigDecimal("59.99"), "Accesorios", 5);
+        second.setId(2L);
+        when(productSearchIndex.search("laptop", 0, 20)).thenReturn(List.of(2L, 1L));
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testProduct, second));
+
+        List<Product> result = productService.searchProducts("laptop", 0, 20);
+
+        assertThat(result).extracting(Product::getId).containsExactly(2L, 1L);
+        verify(productRepository, never()).findByNameContainingIgnoreCase(anyString());
+    }
+
+    @Test
+    void createProduct_ShouldIndexSavedProduct() {
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+
+        productService.createProduct(testProduct);
+
+        verify(productSearchIndex).index(testProduct);
+    }
+
     @Test
     void getProductsWithLowStock_ShouldReturnLowStockProducts() {
         List<Product> products = Arrays.asList(testProduct);
@@ -241,6 +441,7 @@ class ProductServiceTest {
 
         assertThat(result).isNotNull();
         verify(productRepository).save(argThat(product -> product.getStock() == 25));
+        verify(lowStockAlerts).record(new StockChange(1L, "Laptop Gaming", "Electrónicos", "Electrónicos", 15, 25));
     }
 
     @Test
@@ -254,6 +455,64 @@ class ProductServiceTest {
         verify(productRepository, never()).save(any());
     }
 
+    @Test
+    void adjustStock_WhenEnoughStock_ShouldApplySingleUpdate() {
+        when(productRepository.adjustStock(eq(1L), eq(-5), any())).thenReturn(1);
+        testProduct.setStock(10);
+        when(productRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(testProduct));
+
+        Product result = productService.adjustStock(1L, -5);
+
+        assertThat(result.getStock()).isEqualTo(10);
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    void adjustStock_WhenStockWouldBeNegative_ShouldThrowException() {
+        when(productRepository.adjustStock(eq(1L), eq(-50), any())).thenReturn(0);
+        when(productRepository.existsByIdAndActiveTrue(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> productService.adjustStock(1L, -50))
+            .isInstanceOf(InsufficientStockException.class)
+            .hasMessageContaining("Stock insuficiente");
+    }
+
+    @Test
+    void adjustStock_WhenStockWouldOverflow_ShouldThrowException() {
+        when(productRepository.adjustStock(eq(1L), eq(Integer.MAX_VALUE), any())).thenReturn(0);
+        when(productRepository.existsByIdAndActiveTrue(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> productService.adjustStock(1L, Integer.MAX_VALUE))
+            .isInstanceOf(StockOverflowException.class);
+    }
+
+    @Test
+    void adjustStock_WhenNotExists_ShouldThrowException() {
+        when(productRepository.adjustStock(eq(99L), eq(1), any())).thenReturn(0);
+        when(productRepository.existsByIdAndActiveTrue(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> productService.adjustStock(99L, 1))
+            .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    void writes_ShouldMaintainCategoryStatistics() {
+        when(productRepository.save(any(Product.class))).thenReturn(testProduct);
+        when(productRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(testProduct));
+
+        productService.createProduct(testProduct);
+        productService.updateStock(1L, 25);
+
+        CategoryStats stats = productService.getCategoryStatistics("Electrónicos").orElseThrow();
+        assertThat(stats.productCount()).isEqualTo(1);
+        assertThat(stats.totalStock()).isEqualTo(25);
+        assertThat(stats.inventoryValue()).isEqualByComparingTo("74999.75");
+
+        productService.deleteProduct(1L);
+
+        assertThat(productService.getCategoryStatistics("Electrónicos")).isEmpty();
+    }
+
     @Test
     void existsProduct_WhenExists_ShouldReturnTrue() {
         when(productRepository.findByIdAndActiveTrue(1L)).thenReturn(Optional.of(testProduct));
@@ -271,5 +530,9 @@ class ProductServiceTest {
 
         assertThat(result).isFalse();
     }
-}
 
+    private static DataIntegrityViolationException duplicateNameViolation() {
+        return new DataIntegrityViolationException("duplicado",
+            new ConstraintViolationException("duplicado", new SQLException(), "PUBLIC.UK_PRODUCT_NORMALIZED_NAME_INDEX_F"));
+    }
+}
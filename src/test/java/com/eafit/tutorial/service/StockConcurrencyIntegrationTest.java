@@ -0,0 +1,119 @@
+package com.eafit.tutorial.service;
+
+import com.eafit.tutorial.exception.InsufficientStockException;
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Varios hilos ajustan el stock de un mismo producto a la vez; ningún ajuste debe perderse.
+ * Cada corrida registra el throughput obtenido sobre esa única fila caliente.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.eafit.tutorial=WARN",
+    "logging.level.com.eafit.tutorial.service.StockConcurrencyIntegrationTest=INFO"
+})
+class StockConcurrencyIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockConcurrencyIntegrationTest.class);
+
+    private static final int THREADS = 8;
+    private static final int ADJUSTMENTS_PER_THREAD = 100;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        Product product = new Product("Producto Concurrente", "Fila caliente", new BigDecimal("10.00"), "Pruebas", 1000);
+        productId = productRepository.save(product).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteById(productId);
+    }
+
+    @Test
+    void adjustStock_FromManyThreads_ShouldNotLoseUpdates() throws Exception {
+        int total = runConcurrently(threadIndex -> productService.adjustStock(productId, 1));
+
+        assertThat(productRepository.findById(productId).get().getStock()).isEqualTo(1000 + total);
+    }
+
+    @Test
+    void adjustStock_WhenDrainingConcurrently_ShouldNeverGoNegative() throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+
+        int total = runConcurrently(threadIndex -> {
+            try {
+                productService.adjustStock(productId, -2);
+            } catch (InsufficientStockException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        int applied = total - rejected.get();
+        assertThat(applied).isEqualTo(500);
+        assertThat(productRepository.findById(productId).get().getStock()).isZero();
+    }
+
+    private int runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int threadIndex = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ADJUSTMENTS_PER_THREAD; i++) {
+                    task.run(threadIndex);
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        int total = THREADS * ADJUSTMENTS_PER_THREAD;
+        logger.info("adjustStock sobre una fila: {} ajustes, {} hilos, {} ops/s",
+            total, THREADS, Math.round(total / (elapsed / 1e9)));
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int threadIndex);
+    }
+}
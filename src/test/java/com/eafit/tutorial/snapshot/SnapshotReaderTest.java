@@ -0,0 +1,96 @@
+package com.eafit.tutorial.snapshot;
+
+import com.eafit.tutorial.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnapshotReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void next_ShouldReadBackEveryWrittenProduct(boolean mmap) throws IOException {
+        Path file = tempDir.resolve("catalog.snapshot");
+        List<Product> products = List.of(
+            product(1L, "Laptop Gamer", "Portátil de alto rendimiento", "999.99", "Electrónicos", 5),
+            product(51L, "Café de Colombia", null, "12.50", "Alimentos", 0));
+
+        try (SnapshotWriter writer = new SnapshotWriter(file)) {
+            for (Product product : products) {
+                writer.write(product);
+            }
+        }
+
+        try (SnapshotReader reader = new SnapshotReader(file, mmap)) {
+            assertThat(reader.getCount()).isEqualTo(2);
+            for (Product expected : products) {
+                Product actual = reader.next();
+                assertThat(actual.getId()).isEqualTo(expected.getId());
+                assertThat(actual.getName()).isEqualTo(expected.getName());
+                assertThat(actual.getNormalizedName()).isEqualTo(expected.getNormalizedName());
+                assertThat(actual.getDescription()).isEqualTo(expected.getDescription());
+                assertThat(actual.getPrice()).isEqualTo(expected.getPrice());
+                assertThat(actual.getCategory()).isEqualTo(expected.getCategory());
+                assertThat(actual.getStock()).isEqualTo(expected.getStock());
+                assertThat(actual.getActive()).isTrue();
+                assertThat(actual.getCreatedAt()).isEqualTo(expected.getCreatedAt());
+                assertThat(actual.getUpdatedAt()).isEqualTo(expected.getUpdatedAt());
+                assertThat(actual.getVersion()).isEqualTo(expected.getVersion());
+            }
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void next_WhenFileIsTruncated_ShouldFail(boolean mmap) throws IOException {
+        Path file = tempDir.resolve("catalog.snapshot");
+        try (SnapshotWriter writer = new SnapshotWriter(file)) {
+            writer.write(product(1L, "Laptop Gamer", "Portátil", "999.99", "Electrónicos", 5));
+            writer.write(product(2L, "Mouse Inalámbrico", "Ergonómico", "25.00", "Electrónicos", 50));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+
+        try (SnapshotReader reader = new SnapshotReader(file, mmap)) {
+            assertThat(reader.next().getId()).isEqualTo(1L);
+            assertThatThrownBy(reader::next)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("incompleta");
+        }
+    }
+
+    @Test
+    void constructor_WhenFileIsNotSnapshot_ShouldFail() throws IOException {
+        Path file = tempDir.resolve("other.bin");
+        Files.write(file, new byte[64]);
+
+        assertThatThrownBy(() -> new SnapshotReader(file, true))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("no es una instantánea");
+    }
+
+    private static Product product(Long id, String name, String description, String price, String category, int stock) {
+        Product product = new Product(name, description, new BigDecimal(price), category, stock);
+        product.setId(id);
+        product.setVersion(3L);
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_789));
+        product.setUpdatedAt(LocalDateTime.of(2024, 2, 1, 8, 0));
+        return product;
+    }
+}
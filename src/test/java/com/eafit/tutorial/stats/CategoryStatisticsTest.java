@@ -0,0 +1,121 @@
+package com.eafit.tutorial.stats;
+
+import com.eafit.tutorial.stats.CategoryStatistics.Contribution;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryStatisticsTest {
+
+    private final CategoryStatistics statistics = new CategoryStatistics();
+
+    @Test
+    void record_ShouldAggregatePerCategory() {
+        statistics.record(null, contribution("Tecnologia", "100.00", 2));
+        statistics.record(null, contribution("Tecnologia", "300.00", 1));
+        statistics.record(null, contribution("Hogar", "50.00", 10));
+
+        CategoryStats stats = statistics.get("Tecnologia").orElseThrow();
+        assertThat(stats.productCount()).isEqualTo(2);
+        assertThat(stats.totalStock()).isEqualTo(3);
+        assertThat(stats.inventoryValue()).isEqualByComparingTo("500.00");
+        assertThat(stats.minPrice()).isEqualByComparingTo("100.00");
+        assertThat(stats.maxPrice()).isEqualByComparingTo("300.00");
+        assertThat(stats.averagePrice()).isEqualByComparingTo("200.00");
+
+        assertThat(statistics.getAll()).extracting(CategoryStats::category).containsExactly("Hogar", "Tecnologia");
+    }
+
+    @Test
+    void record_WhenProductChangesOrLeaves_ShouldMoveItsContribution() {
+        Contribution cheap = contribution("Tecnologia", "100.00", 2);
+        Contribution expensive = contribution("Tecnologia", "300.00", 1);
+        statistics.record(null, cheap);
+        statistics.record(null, expensive);
+
+        statistics.record(expensive, contribution("Hogar", "300.00", 1));
+        statistics.record(cheap, cheap.withStock(7));
+
+        CategoryStats stats = statistics.get("Tecnologia").orElseThrow();
+        assertThat(stats.productCount()).isEqualTo(1);
+        assertThat(stats.totalStock()).isEqualTo(7);
+        assertThat(stats.maxPrice()).isEqualByComparingTo("100.00");
+        assertThat(statistics.get("Hogar").orElseThrow().productCount()).isEqualTo(1);
+
+        statistics.record(cheap.withStock(7), null);
+
+        assertThat(statistics.get("Tecnologia")).isEmpty();
+    }
+
+    @Test
+    void record_FromManyThreads_ShouldNotLoseUpdates() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            int price = 1 + i % 10;
+            executor.execute(() -> statistics.record(null, new Contribution("Tecnologia", price * 100L, 1)));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        CategoryStats stats = statistics.get("Tecnologia").orElseThrow();
+        assertThat(stats.productCount()).isEqualTo(8_000);
+        assertThat(stats.totalStock()).isEqualTo(8_000);
+        assertThat(stats.minPrice()).isEqualByComparingTo("1.00");
+        assertThat(stats.maxPrice()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void reconcile_ShouldReplaceDriftedCategoriesAndDropMissingOnes() {
+        statistics.record(null, contribution("Tecnologia", "100.00", 2));
+        statistics.record(null, contribution("Obsoleta", "10.00", 1));
+
+        int drifted = statistics.reconcile(List.of(
+            new CategoryPriceBucket("Tecnologia", new BigDecimal("100.00"), 1L, 2L),
+            new CategoryPriceBucket("Tecnologia", new BigDecimal("250.00"), 2L, 4L)));
+
+        assertThat(drifted).isEqualTo(2);
+        CategoryStats stats = statistics.get("Tecnologia").orElseThrow();
+        assertThat(stats.productCount()).isEqualTo(3);
+        assertThat(stats.totalStock()).isEqualTo(6);
+        assertThat(stats.inventoryValue()).isEqualByComparingTo("1200.00");
+        assertThat(stats.averagePrice()).isEqualByComparingTo("200.00");
+        assertThat(statistics.get("Obsoleta")).isEmpty();
+
+        assertThat(statistics.reconcile(List.of(
+            new CategoryPriceBucket("Tecnologia", new BigDecimal("100.00"), 1L, 2L),
+            new CategoryPriceBucket("Tecnologia", new BigDecimal("250.00"), 2L, 4L)))).isZero();
+    }
+
+    @Test
+    void reconcile_WhileApplying_ShouldNotSplitAnyDelta() throws InterruptedException {
+        Contribution cheap = contribution("Tecnologia", "100.00", 1);
+        Contribution expensive = contribution("Tecnologia", "200.00", 1);
+        List<CategoryPriceBucket> baseline = List.of(
+            new CategoryPriceBucket("Tecnologia", new BigDecimal("100.00"), 1L, 1L));
+        statistics.reconcile(baseline);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4_000; i++) {
+            boolean raise = i % 2 == 0;
+            executor.execute(() -> statistics.apply(raise ? cheap : expensive, raise ? expensive : cheap));
+            if (i % 100 == 0) {
+                executor.execute(() -> statistics.reconcile(baseline));
+            }
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Cada delta quita y agrega el mismo producto: la cantidad nunca cambia
+        assertThat(statistics.get("Tecnologia").orElseThrow().productCount()).isEqualTo(1);
+    }
+
+    private static Contribution contribution(String category, String price, int stock) {
+        return new Contribution(category, CategoryStatistics.toCents(new BigDecimal(price)), stock);
+    }
+}
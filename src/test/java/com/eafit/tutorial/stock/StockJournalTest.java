@@ -0,0 +1,120 @@
+package com.eafit.tutorial.stock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void replay_ShouldSumDeltasOfSealedSegmentsPerProduct() throws IOException {
+        try (StockJournal journal = new StockJournal(tempDir, false)) {
+            journal.append(1L, 5);
+            journal.append(2L, -3);
+            journal.rotate();
+            journal.append(1L, -2);
+            journal.rotate();
+        }
+
+        try (StockJournal journal = new StockJournal(tempDir, false)) {
+            StockJournal.Replay replay = journal.replay(0);
+
+            assertThat(replay.deltas()).isEqualTo(Map.of(1L, 3L, 2L, -3L));
+            assertThat(replay.records()).isEqualTo(3);
+            assertThat(replay.lastSegment()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void replay_ShouldSkipSegmentsUpToCheckpoint() throws IOException {
+        try (StockJournal journal = new StockJournal(tempDir, false)) {
+            journal.append(1L, 5);
+            long flushed = journal.rotate();
+            journal.append(1L, 7);
+
+            assertThat(journal.replay(flushed).deltas()).isEmpty();
+        }
+
+        try (StockJournal journal = new StockJournal(tempDir, false)) {
+            assertThat(journal.replay(1).deltas()).isEqualTo(Map.of(1L, 7L));
+        }
+    }
+
+    @Test
+    void replay_ShouldIgnoreTornRecordAtEndOfSegment() throws IOException {
+        try (StockJournal journal = new StockJournal(tempDir, false)) {
+            journal.append(1L, 4);
+        }
+        Files.write(tempDir.resolve("stock-1.journal"), new byte[] {0, 0, 0, 0, 0, 0, 0, 9, 1, 2},
+            StandardOpenOption.APPEND);
+
+        try (StockJournal journal = new StockJournal(tempDir, false)) {
+            StockJournal.Replay replay = journal.replay(0);
+
+            assertThat(replay.deltas()).isEqualTo(Map.of(1L, 4L));
+            assertThat(replay.records()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void deleteUpTo_ShouldKeepCurrentAndLaterSegments() throws IOException {
+        try (StockJournal journal = new StockJournal(tempDir, false)) {
+            journal.append(1L, 1);
+            long first = journal.rotate();
+            journal.append(1L, 2);
+            journal.rotate();
+
+            journal.deleteUpTo(first);
+
+            assertThat(tempDir.resolve("stock-1.journal")).doesNotExist();
+            assertThat(tempDir.resolve("stock-2.journal")).exists();
+            assertThat(tempDir.resolve("stock-" + journal.currentSegment() + ".journal")).exists();
+        }
+    }
+
+    @Test
+    void append_WithFsyncFromSeveralThreads_ShouldKeepEveryRecord() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (StockJournal journal = new StockJournal(tempDir, true)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long productId = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        journal.append(productId, 1);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            journal.rotate();
+        } finally {
+            executor.shutdown();
+        }
+
+        try (StockJournal journal = new StockJournal(tempDir, true)) {
+            StockJournal.Replay replay = journal.replay(0);
+
+            assertThat(replay.records()).isEqualTo(200);
+            assertThat(replay.deltas()).isEqualTo(Map.of(0L, 50L, 1L, 50L, 2L, 50L, 3L, 50L));
+        }
+    }
+}
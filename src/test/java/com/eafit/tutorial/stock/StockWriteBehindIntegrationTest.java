@@ -0,0 +1,215 @@
+package com.eafit.tutorial.stock;
+
+import com.eafit.tutorial.exception.InsufficientStockException;
+import com.eafit.tutorial.exception.StockOverflowException;
+import com.eafit.tutorial.model.Product;
+import com.eafit.tutorial.repository.ProductRepository;
+import com.eafit.tutorial.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Ajustes de stock en modo write-behind: se confirman en memoria y llegan a la base de datos en
+ * el flush. El flush periódico se aleja para que cada prueba lo dispare a mano.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    "logging.level.com.eafit.tutorial=WARN",
+    "products.stock.write-behind.enabled=true",
+    "products.stock.write-behind.flush-interval=1h",
+    "products.stock.write-behind.max-lag=1h"
+})
+class StockWriteBehindIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int ADJUSTMENTS_PER_THREAD = 100;
+
+    private static Path journalDir;
+
+    @DynamicPropertySource
+    static void journalPath(DynamicPropertyRegistry registry) throws IOException {
+        // Fuera de java.io.tmpdir, que el modo write-behind rechaza
+        journalDir = Files.createTempDirectory(Files.createDirectories(Path.of("target")), "stock-journal");
+        registry.add("products.stock.write-behind.journal-path", journalDir::toString);
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StockWriteBehind stockWriteBehind;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        Product product = new Product("Producto Write Behind", "Fila caliente", new BigDecimal("10.00"), "Pruebas", 1000);
+        productId = productRepository.save(product).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockWriteBehind.flush();
+        productService.deleteProduct(productId);
+        productRepository.deleteById(productId);
+    }
+
+    @Test
+    void adjustStock_ShouldAcknowledgeBeforeFlushAndApplyOnFlush() throws IOException {
+        Product adjusted = productService.adjustStock(productId, -3);
+
+        assertThat(adjusted.getStock()).isEqualTo(997);
+        assertThat(productRepository.findById(productId).get().getStock()).isEqualTo(1000);
+        assertThat(stockWriteBehind.getPendingCount()).isEqualTo(1);
+        assertThat(stockWriteBehind.getFlushLag()).isPositive();
+
+        productService.adjustStock(productId, 5);
+        assertThat(stockWriteBehind.flush()).isEqualTo(1);
+
+        Product stored = productRepository.findById(productId).get();
+        assertThat(stored.getStock()).isEqualTo(1002);
+        assertThat(stored.getVersion()).isEqualTo(1);
+        assertThat(stockWriteBehind.getFlushLag()).isZero();
+        assertThat(journalSegments()).hasSize(1);
+    }
+
+    @Test
+    void adjustStock_WhenDrainingConcurrently_ShouldNeverGoNegative() throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ADJUSTMENTS_PER_THREAD; i++) {
+                    try {
+                        productService.adjustStock(productId, -2);
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        stockWriteBehind.flush();
+
+        int total = THREADS * ADJUSTMENTS_PER_THREAD;
+        assertThat(total - rejected.get()).isEqualTo(500);
+        assertThat(productRepository.findById(productId).get().getStock()).isZero();
+    }
+
+    @Test
+    void updateStock_ShouldFlushPendingDeltasAndRestartFromNewValue() {
+        productService.adjustStock(productId, -10);
+
+        productService.updateStock(productId, 40);
+        assertThat(stockWriteBehind.getPendingCount()).isZero();
+        assertThat(productRepository.findById(productId).get().getStock()).isEqualTo(40);
+
+        assertThat(productService.adjustStock(productId, -5).getStock()).isEqualTo(35);
+        assertThatThrownBy(() -> productService.adjustStock(productId, -36))
+            .isInstanceOf(InsufficientStockException.class);
+    }
+
+    @Test
+    void adjustStock_AboveIntegerRange_ShouldBeRejected() {
+        productService.updateStock(productId, Integer.MAX_VALUE - 1);
+
+        assertThat(productService.adjustStock(productId, 1).getStock()).isEqualTo(Integer.MAX_VALUE);
+        assertThatThrownBy(() -> productService.adjustStock(productId, 1))
+            .isInstanceOf(StockOverflowException.class);
+        assertThat(stockWriteBehind.flush()).isEqualTo(1);
+        assertThat(productRepository.findById(productId).get().getStock()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void flush_WhenOneRowOverflows_ShouldRejectOnlyThatRow() {
+        Long otherId = productRepository.save(
+            new Product("Producto Write Behind Vecino", "Otra fila", new BigDecimal("10.00"), "Pruebas", 10)).getId();
+        try {
+            productService.adjustStock(productId, 5);
+            productService.adjustStock(otherId, -1);
+            // Escritura que no pasa por el servicio: el contador ya no sabe que la fila está al máximo
+            jdbcTemplate.update("UPDATE products SET stock = ? WHERE id = ?", Integer.MAX_VALUE, productId);
+
+            assertThat(stockWriteBehind.flush()).isEqualTo(1);
+
+            assertThat(productRepository.findById(productId).get().getStock()).isEqualTo(Integer.MAX_VALUE);
+            assertThat(productRepository.findById(otherId).get().getStock()).isEqualTo(9);
+            assertThat(stockWriteBehind.getStats().rejected()).isPositive();
+            assertThat(stockWriteBehind.getFlushLag()).isZero();
+            assertThatThrownBy(() -> productService.adjustStock(productId, 1))
+                .isInstanceOf(StockOverflowException.class);
+        } finally {
+            stockWriteBehind.flush();
+            productService.deleteProduct(otherId);
+            productRepository.deleteById(otherId);
+        }
+    }
+
+    @Test
+    void reconcileCategoryStatistics_ShouldKeepAcknowledgedDeltas() {
+        productService.reconcileCategoryStatistics();
+        long before = productService.getCategoryStatistics("Pruebas").orElseThrow().totalStock();
+
+        productService.adjustStock(productId, -3);
+        productService.reconcileCategoryStatistics();
+
+        assertThat(productService.getCategoryStatistics("Pruebas").orElseThrow().totalStock()).isEqualTo(before - 3);
+        assertThat(productRepository.findById(productId).get().getStock()).isEqualTo(997);
+    }
+
+    @Test
+    void journalInTemporaryDirectory_ShouldBeRejected() {
+        StockWriteBehind inTmp = new StockWriteBehind(true, Duration.ofMillis(100), Duration.ofSeconds(1), 500,
+            System.getProperty("java.io.tmpdir") + "/products-stock-journal", true, null, null, null, null);
+
+        assertThatThrownBy(inTmp::afterSingletonsInstantiated)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("directorio temporal");
+    }
+
+    private List<Path> journalSegments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.toList();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.eafit.tutorial.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dos instancias sobre la misma base H2 hacen de dos nodos que comparten el primario.
+ */
+class CatalogVersionTrackerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:catalog-version;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS catalog_version");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void bump_OnOneNode_ShouldChangeVersionSeenByAnother() {
+        CatalogVersionTracker nodeA = tracker();
+        CatalogVersionTracker nodeB = tracker();
+        CatalogVersion before = nodeB.current();
+
+        nodeA.bump();
+
+        CatalogVersion after = nodeB.current();
+        assertThat(after.epoch()).isEqualTo(before.epoch());
+        assertThat(after.sequence()).isEqualTo(before.sequence() + 1);
+        assertThat(nodeA.current()).isEqualTo(after);
+    }
+
+    @Test
+    void bump_InTransaction_ShouldApplyOnlyOnCommit() {
+        CatalogVersionTracker tracker = tracker();
+        CatalogVersion before = tracker.current();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            tracker.bump();
+            status.setRollbackOnly();
+        });
+        assertThat(tracker.current()).isEqualTo(before);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            tracker.bump();
+            assertThat(tracker.current()).isEqualTo(before);
+        });
+        assertThat(tracker.current().sequence()).isEqualTo(before.sequence() + 1);
+    }
+
+    private CatalogVersionTracker tracker() {
+        CatalogVersionTracker tracker = new CatalogVersionTracker(jdbcTemplate);
+        tracker.afterPropertiesSet();
+        return tracker;
+    }
+}
@@ -0,0 +1,44 @@
+package com.eafit.tutorial.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagsTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123456789);
+
+    @Test
+    void forProduct_ShouldIgnorePrecisionBeyondMicroseconds() {
+        LocalDateTime stored = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123456000);
+
+        assertThat(ETags.forProduct(1L, UPDATED_AT)).isEqualTo(ETags.forProduct(1L, stored));
+        assertThat(ETags.forProduct(1L, UPDATED_AT)).isNotEqualTo(ETags.forProduct(2L, UPDATED_AT));
+        assertThat(ETags.forProduct(1L, UPDATED_AT)).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void forCatalog_ShouldChangeWithAnyComponent() {
+        String etag = ETags.forCatalog(new CatalogVersion(1714559415000L, 7L));
+
+        assertThat(ETags.forCatalog(new CatalogVersion(1714559415000L, 7L))).isEqualTo(etag);
+        assertThat(ETags.forCatalog(new CatalogVersion(1714559415001L, 7L))).isNotEqualTo(etag);
+        assertThat(ETags.forCatalog(new CatalogVersion(1714559415000L, 8L))).isNotEqualTo(etag);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void matches_ShouldHandleListsWeakTagsAndWildcard() {
+        String etag = ETags.forProduct(1L, UPDATED_AT);
+
+        assertThat(ETags.matches(etag, etag)).isTrue();
+        assertThat(ETags.matches("W/" + etag, etag)).isTrue();
+        assertThat(ETags.matches("\"otro\", " + etag, etag)).isTrue();
+        assertThat(ETags.matches("*", etag)).isTrue();
+        assertThat(ETags.matches("\"otro\"", etag)).isFalse();
+        assertThat(ETags.matches(null, etag)).isFalse();
+        assertThat(ETags.matches(" ", etag)).isFalse();
+    }
+}
@@ -0,0 +1,66 @@
+package com.eafit.tutorial.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ForbiddenWordMatcherTest {
+
+    @Test
+    void matches_ShouldFindTermsAnywhereIgnoringCase() {
+        ForbiddenWordMatcher matcher = ForbiddenWordMatcher.compile(List.of("test", "prueba", "demo", "temporal"));
+
+        assertThat(matcher.matches("Producto DEMO")).isTrue();
+        assertThat(matcher.matches("Contestador automático")).isTrue();
+        assertThat(matcher.matches("Laptop Gaming")).isFalse();
+        assertThat(matcher.matches("")).isFalse();
+        assertThat(matcher.matches(null)).isFalse();
+    }
+
+    @Test
+    void findFirst_ShouldFollowFailureLinksAcrossOverlappingTerms() {
+        ForbiddenWordMatcher matcher = ForbiddenWordMatcher.compile(List.of("he", "she", "his", "hers", "abcx", "bcd"));
+
+        assertThat(matcher.findFirst("ushers")).contains("she");
+        assertThat(matcher.findFirst("ahishe")).contains("his");
+        assertThat(matcher.findFirst("abcd")).contains("bcd");
+        assertThat(matcher.findFirst("abcabx")).isEmpty();
+    }
+
+    @Test
+    void compile_ShouldIgnoreBlankAndDuplicateTerms() {
+        ForbiddenWordMatcher matcher = ForbiddenWordMatcher.compile(List.of(" Demo ", "demo", "", "   "));
+
+        assertThat(matcher.size()).isEqualTo(1);
+        assertThat(matcher.matches("una DEMO")).isTrue();
+        assertThat(ForbiddenWordMatcher.compile(List.of()).matches("cualquier texto")).isFalse();
+    }
+
+    @Test
+    void matches_ShouldAgreeWithNaiveSearchOnLargeDictionary() {
+        Random random = new Random(42);
+        List<String> terms = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            terms.add(randomWord(random, 3 + random.nextInt(4)));
+        }
+        ForbiddenWordMatcher matcher = ForbiddenWordMatcher.compile(terms);
+
+        for (int i = 0; i < 500; i++) {
+            String text = randomWord(random, 40);
+            boolean expected = terms.stream().anyMatch(text::contains);
+            assertThat(matcher.matches(text)).as(text).isEqualTo(expected);
+        }
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(6)));
+        }
+        return word.toString();
+    }
+}
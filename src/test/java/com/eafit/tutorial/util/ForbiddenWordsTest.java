@@ -0,0 +1,63 @@
+package com.eafit.tutorial.util;
+
+import com.eafit.tutorial.dto.CreateProductDTO;
+import com.eafit.tutorial.exception.ValidationException;
+import com.eafit.tutorial.rules.CategoryRules;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ForbiddenWordsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reloadIfChanged_ShouldSwapDictionaryWhenFileChanges() throws Exception {
+        Path file = tempDir.resolve("forbidden.txt");
+        Files.writeString(file, "# términos bloqueados\nréplica\n\n");
+        ForbiddenWords forbiddenWords = new ForbiddenWords(List.of("demo"), file.toUri().toString());
+
+        assertThat(forbiddenWords.size()).isEqualTo(2);
+        assertThat(forbiddenWords.findIn("Reloj RÉPLICA")).contains("réplica");
+
+        Files.writeString(file, "imitación\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        forbiddenWords.reloadIfChanged();
+
+        assertThat(forbiddenWords.isContainedIn("Reloj réplica")).isFalse();
+        assertThat(forbiddenWords.isContainedIn("Bolso imitación")).isTrue();
+        assertThat(forbiddenWords.isContainedIn("Versión demo")).isTrue();
+    }
+
+    @Test
+    void reloadIfChanged_WhenFileDisappears_ShouldKeepPreviousDictionary() throws Exception {
+        Path file = tempDir.resolve("forbidden.txt");
+        Files.writeString(file, "réplica\n");
+        ForbiddenWords forbiddenWords = new ForbiddenWords(List.of(), file.toUri().toString());
+
+        Files.delete(file);
+        forbiddenWords.reloadIfChanged();
+
+        assertThat(forbiddenWords.isContainedIn("réplica")).isTrue();
+    }
+
+    @Test
+    void validateForCreation_ShouldRejectForbiddenWordsInDescription() {
+        ProductValidator validator = new ProductValidator(ForbiddenWords.of("réplica"), CategoryRules.defaults());
+        CreateProductDTO dto = new CreateProductDTO("Reloj clásico", "Réplica exacta del modelo original",
+            new BigDecimal("150.00"), "Accesorios", 10);
+
+        assertThatThrownBy(() -> validator.validateForCreation(dto))
+            .isInstanceOf(ValidationException.class)
+            .satisfies(e -> assertThat(((ValidationException) e).getErrors()).containsOnlyKeys("description"));
+    }
+}